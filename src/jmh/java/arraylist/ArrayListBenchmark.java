@@ -0,0 +1,276 @@
+package arraylist;
+
+import org.arraylistandhashmap.arraylist.ArrayList;
+import org.arraylistandhashmap.arraylist.GapBufferList;
+import org.arraylistandhashmap.arraylist.RingBufferList;
+import org.arraylistandhashmap.arraylist.SegmentedArrayList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Random;
+
+/**
+ * Benchmarks for the hot paths of {@link ArrayList} compared with {@link java.util.ArrayList}.
+ *
+ * <p>Every benchmark comes in a pair: the {@code custom} method exercises our ArrayList
+ * and the {@code jdk} method exercises the same operation on the JDK baseline,
+ * so the numbers can be compared directly within one run. The {@code segmented}
+ * methods measure the price of the chunked {@link SegmentedArrayList} on the same paths,
+ * and the {@code ringBuffer} and {@code gapBuffer} methods the insertions of
+ * {@link RingBufferList} and {@link GapBufferList}.
+ *
+ * <p>The element distribution only matters for the sort benchmarks:
+ * {@code RANDOM} holds shuffled values, {@code FEW_UNIQUE} holds many duplicates
+ * and {@code SORTED_RUNS} holds ascending runs, like partially sorted data.
+ *
+ * @author  rassandev
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ArrayListBenchmark {
+
+    private static final long SEED = 42L;
+    private static final int FEW_UNIQUE_VALUES = 16;
+    private static final int SORTED_RUN_LENGTH = 1000;
+
+    @Param({"1024", "65536", "1048576"})
+    private int size;
+
+    @Param({"RANDOM", "FEW_UNIQUE", "SORTED_RUNS"})
+    private String distribution;
+
+    private Integer[] values;
+    private int[] indices;
+    private int cursor;
+
+    private ArrayList<Integer> custom;
+    private java.util.ArrayList<Integer> jdk;
+    private SegmentedArrayList<Integer> segmented;
+    private RingBufferList<Integer> ring;
+    private GapBufferList<Integer> gap;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(SEED);
+        values = new Integer[size];
+        indices = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            values[i] = switch (distribution) {
+                case "FEW_UNIQUE" -> random.nextInt(FEW_UNIQUE_VALUES);
+                case "SORTED_RUNS" -> i % SORTED_RUN_LENGTH * FEW_UNIQUE_VALUES + random.nextInt(FEW_UNIQUE_VALUES);
+                default -> random.nextInt();
+            };
+            indices[i] = random.nextInt(size);
+        }
+
+        custom = new ArrayList<>();
+        jdk = new java.util.ArrayList<>();
+        segmented = new SegmentedArrayList<>();
+        ring = new RingBufferList<>();
+        gap = new GapBufferList<>();
+        for (Integer value : values) {
+            custom.add(value);
+            jdk.add(value);
+            segmented.add(value);
+            ring.add(value);
+            gap.add(value);
+        }
+    }
+
+    private int nextIndex() {
+        // size is always a power of two, so the mask wraps the cursor around
+        int index = indices[cursor];
+        cursor = (cursor + 1) & (size - 1);
+        return index;
+    }
+
+    @Benchmark
+    public ArrayList<Integer> customAdd() {
+        ArrayList<Integer> list = new ArrayList<>();
+        for (Integer value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public java.util.ArrayList<Integer> jdkAdd() {
+        java.util.ArrayList<Integer> list = new java.util.ArrayList<>();
+        for (Integer value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public SegmentedArrayList<Integer> segmentedAdd() {
+        SegmentedArrayList<Integer> list = new SegmentedArrayList<>();
+        for (Integer value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public Integer customAddAtIndex() {
+        int index = nextIndex();
+        custom.add(index, values[index]);
+        return custom.remove(index);
+    }
+
+    @Benchmark
+    public Integer jdkAddAtIndex() {
+        int index = nextIndex();
+        jdk.add(index, values[index]);
+        return jdk.remove(index);
+    }
+
+    @Benchmark
+    public Integer ringBufferAddAtIndex() {
+        int index = nextIndex();
+        ring.add(index, values[index]);
+        return ring.remove(index);
+    }
+
+    @Benchmark
+    public Integer gapBufferAddAtIndex() {
+        int index = nextIndex();
+        gap.add(index, values[index]);
+        return gap.remove(index);
+    }
+
+    @Benchmark
+    public Integer customAddFirst() {
+        custom.add(0, values[nextIndex()]);
+        return custom.remove(custom.size() - 1);
+    }
+
+    @Benchmark
+    public Integer jdkAddFirst() {
+        jdk.add(0, values[nextIndex()]);
+        return jdk.remove(jdk.size() - 1);
+    }
+
+    @Benchmark
+    public Integer ringBufferAddFirst() {
+        ring.addFirst(values[nextIndex()]);
+        return ring.removeLast();
+    }
+
+    @Benchmark
+    public Integer customGet() {
+        return custom.get(nextIndex());
+    }
+
+    @Benchmark
+    public Integer jdkGet() {
+        return jdk.get(nextIndex());
+    }
+
+    @Benchmark
+    public Integer segmentedGet() {
+        return segmented.get(nextIndex());
+    }
+
+    @Benchmark
+    public boolean customRemoveObject() {
+        int index = nextIndex();
+        Integer value = custom.get(index);
+        boolean removed = custom.remove(value);
+        custom.add(index, value);
+        return removed;
+    }
+
+    @Benchmark
+    public boolean jdkRemoveObject() {
+        int index = nextIndex();
+        Integer value = jdk.get(index);
+        boolean removed = jdk.remove(value);
+        jdk.add(index, value);
+        return removed;
+    }
+
+    @Benchmark
+    public boolean customContains() {
+        return custom.contains(values[nextIndex()]);
+    }
+
+    @Benchmark
+    public boolean jdkContains() {
+        return jdk.contains(values[nextIndex()]);
+    }
+
+    @Benchmark
+    public void customIterator(Blackhole blackhole) {
+        for (Iterator<Integer> it = custom.iterator(); it.hasNext();) {
+            blackhole.consume(it.next());
+        }
+    }
+
+    @Benchmark
+    public void jdkIterator(Blackhole blackhole) {
+        for (Iterator<Integer> it = jdk.iterator(); it.hasNext();) {
+            blackhole.consume(it.next());
+        }
+    }
+
+    @Benchmark
+    public ArrayList<Integer> customQuickSort() {
+        ArrayList<Integer> list = new ArrayList<>(size);
+        for (Integer value : values) {
+            list.add(value);
+        }
+        list.quickSort();
+        return list;
+    }
+
+    @Benchmark
+    public ArrayList<Integer> customStableSort() {
+        ArrayList<Integer> list = new ArrayList<>(size);
+        for (Integer value : values) {
+            list.add(value);
+        }
+        list.sort(null);
+        return list;
+    }
+
+    @Benchmark
+    public java.util.ArrayList<Integer> jdkSort() {
+        java.util.ArrayList<Integer> list = new java.util.ArrayList<>(size);
+        for (Integer value : values) {
+            list.add(value);
+        }
+        list.sort(null);
+        return list;
+    }
+
+    @Benchmark
+    public ArrayList<Integer> customParallelSort() {
+        ArrayList<Integer> list = new ArrayList<>(size);
+        for (Integer value : values) {
+            list.add(value);
+        }
+        list.parallelSort(null);
+        return list;
+    }
+
+    @Benchmark
+    public Integer[] jdkParallelSort() {
+        Integer[] array = values.clone();
+        Arrays.parallelSort(array);
+        return array;
+    }
+}
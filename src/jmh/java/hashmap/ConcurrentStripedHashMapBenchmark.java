@@ -0,0 +1,84 @@
+package hashmap;
+
+import org.arraylistandhashmap.hashmap.ConcurrentStripedHashMap;
+import org.arraylistandhashmap.hashmap.HashMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Read-heavy multi-threaded benchmarks comparing the {@link ConcurrentStripedHashMap}
+ * with a {@link HashMap} behind a global lock and with {@link ConcurrentHashMap}.
+ * Every operation is a read, except for one write per {@code writeRatio} operations.
+ *
+ * @author  rassandev
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(8)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ConcurrentStripedHashMapBenchmark {
+
+    @Param({"65536"})
+    private int size;
+
+    @Param({"10", "100"})
+    private int writeRatio;
+
+    private Integer[] keys;
+
+    private HashMap<Integer, Integer> locked;
+    private ConcurrentStripedHashMap<Integer, Integer> striped;
+    private ConcurrentHashMap<Integer, Integer> jdk;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        keys = HashMapBenchmark.generateKeys("RANDOM", size, 0);
+
+        locked = new HashMap<>();
+        striped = new ConcurrentStripedHashMap<>();
+        jdk = new ConcurrentHashMap<>();
+        for (Integer key : keys) {
+            locked.put(key, key);
+            striped.put(key, key);
+            jdk.put(key, key);
+        }
+    }
+
+    @Benchmark
+    public Integer lockedHashMap() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Integer key = keys[random.nextInt(size)];
+
+        synchronized (locked) {
+            return random.nextInt(writeRatio) == 0 ? locked.put(key, key) : locked.get(key);
+        }
+    }
+
+    @Benchmark
+    public Integer stripedHashMap() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Integer key = keys[random.nextInt(size)];
+
+        return random.nextInt(writeRatio) == 0 ? striped.put(key, key) : striped.get(key);
+    }
+
+    @Benchmark
+    public Integer jdkConcurrentHashMap() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Integer key = keys[random.nextInt(size)];
+
+        return random.nextInt(writeRatio) == 0 ? jdk.put(key, key) : jdk.get(key);
+    }
+}
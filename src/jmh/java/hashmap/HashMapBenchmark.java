@@ -0,0 +1,253 @@
+package hashmap;
+
+import org.arraylistandhashmap.hashmap.HashMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+
+/**
+ * Benchmarks for the hot paths of {@link HashMap} compared with {@link java.util.HashMap}.
+ *
+ * <p>Every benchmark comes in a pair: the {@code custom} method exercises our HashMap
+ * and the {@code jdk} method exercises the same operation on the JDK baseline.
+ *
+ * <p>Key distributions:
+ * <ul>
+ *     <li>{@code SEQUENTIAL} - keys 0, 1, 2, ...</li>
+ *     <li>{@code RANDOM} - uniformly random non-negative keys</li>
+ *     <li>{@code STRIDED} - multiples of 1024, which collide heavily when
+ *     the low bits of the hash code are used for indexing</li>
+ * </ul>
+ *
+ * @author  rassandev
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class HashMapBenchmark {
+
+    private static final long SEED = 42L;
+    private static final int STRIDE = 1024;
+
+    @Param({"1024", "65536", "1048576"})
+    private int size;
+
+    @Param({"SEQUENTIAL", "RANDOM", "STRIDED"})
+    private String distribution;
+
+    private Integer[] keys;
+    private Integer[] missingKeys;
+    private int cursor;
+
+    private HashMap<Integer, Integer> custom;
+    private java.util.HashMap<Integer, Integer> jdk;
+
+    private HashMap<Integer, Integer> growing;
+    private HashMap<Integer, Integer> growingIncremental;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        keys = generateKeys(distribution, size, 0);
+        missingKeys = generateKeys(distribution, size, size);
+
+        custom = new HashMap<>();
+        jdk = new java.util.HashMap<>();
+        for (Integer key : keys) {
+            custom.put(key, key);
+            jdk.put(key, key);
+        }
+
+        growing = new HashMap<>();
+        growingIncremental = new HashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Generates distinct keys of the given distribution.
+     * Keys produced with different offsets never overlap, so they can be used as misses.
+     */
+    static Integer[] generateKeys(String distribution, int count, int offset) {
+        Integer[] result = new Integer[count];
+        Random random = new Random(SEED + offset);
+
+        for (int i = 0; i < count; i++) {
+            int ordinal = i + offset;
+            result[i] = switch (distribution) {
+                case "SEQUENTIAL" -> ordinal;
+                // the ordinal goes into the low bits so the keys stay distinct
+                case "RANDOM" -> (random.nextInt(STRIDE) << 21) ^ ordinal;
+                case "STRIDED" -> ordinal * STRIDE;
+                default -> throw new IllegalArgumentException("Unknown distribution: " + distribution);
+            };
+        }
+
+        return result;
+    }
+
+    private Integer nextKey() {
+        // size is always a power of two, so the mask wraps the cursor around
+        Integer key = keys[cursor];
+        cursor = (cursor + 1) & (size - 1);
+        return key;
+    }
+
+    private Integer nextMissingKey() {
+        Integer key = missingKeys[cursor];
+        cursor = (cursor + 1) & (size - 1);
+        return key;
+    }
+
+    @Benchmark
+    public Integer customPut() {
+        Integer key = nextKey();
+        return custom.put(key, key);
+    }
+
+    @Benchmark
+    public Integer jdkPut() {
+        Integer key = nextKey();
+        return jdk.put(key, key);
+    }
+
+    @Benchmark
+    public Integer customGet() {
+        return custom.get(nextKey());
+    }
+
+    @Benchmark
+    public Integer jdkGet() {
+        return jdk.get(nextKey());
+    }
+
+    @Benchmark
+    public Integer customGetMiss() {
+        return custom.get(nextMissingKey());
+    }
+
+    @Benchmark
+    public Integer jdkGetMiss() {
+        return jdk.get(nextMissingKey());
+    }
+
+    @Benchmark
+    public Integer customRemove() {
+        Integer key = nextKey();
+        Integer value = custom.remove(key);
+        custom.put(key, value);
+        return value;
+    }
+
+    @Benchmark
+    public Integer jdkRemove() {
+        Integer key = nextKey();
+        Integer value = jdk.remove(key);
+        jdk.put(key, value);
+        return value;
+    }
+
+    /**
+     * Increments a counter with a get and a put, which looks the key up twice.
+     */
+    @Benchmark
+    public Integer customGetAndPutIncrement() {
+        Integer key = nextKey();
+        return custom.put(key, custom.getOrDefault(key, 0) + 1);
+    }
+
+    @Benchmark
+    public Integer customMergeIncrement() {
+        return custom.merge(nextKey(), 1, Integer::sum);
+    }
+
+    @Benchmark
+    public Integer jdkMergeIncrement() {
+        return jdk.merge(nextKey(), 1, Integer::sum);
+    }
+
+    @Benchmark
+    public boolean customContainsKey() {
+        return custom.containsKey(nextKey());
+    }
+
+    @Benchmark
+    public boolean jdkContainsKey() {
+        return jdk.containsKey(nextKey());
+    }
+
+    @Benchmark
+    public void customKeySet(Blackhole blackhole) {
+        for (Integer key : custom.keySet()) {
+            blackhole.consume(key);
+        }
+    }
+
+    @Benchmark
+    public void jdkKeySet(Blackhole blackhole) {
+        for (Integer key : jdk.keySet()) {
+            blackhole.consume(key);
+        }
+    }
+
+    @Benchmark
+    public HashMap<Integer, Integer> customResizeHeavyInsert() {
+        HashMap<Integer, Integer> map = new HashMap<>();
+        for (Integer key : keys) {
+            map.put(key, key);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public java.util.HashMap<Integer, Integer> jdkResizeHeavyInsert() {
+        java.util.HashMap<Integer, Integer> map = new java.util.HashMap<>();
+        for (Integer key : keys) {
+            map.put(key, key);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public HashMap<Integer, Integer> customPutAll() {
+        HashMap<Integer, Integer> map = new HashMap<>();
+        map.putAll(custom);
+        return map;
+    }
+
+    @Benchmark
+    public java.util.HashMap<Integer, Integer> jdkPutAll() {
+        java.util.HashMap<Integer, Integer> map = new java.util.HashMap<>();
+        map.putAll(jdk);
+        return map;
+    }
+
+    /**
+     * Inserts one new key per call into a growing map, starting over when all the keys
+     * are inserted. Run in the sample mode to see the latency spikes of the resizes.
+     */
+    @Benchmark
+    public Integer customGrowingPut() {
+        if (growing.size() == size) {
+            growing = new HashMap<>();
+        }
+        Integer key = keys[growing.size()];
+        return growing.put(key, key);
+    }
+
+    @Benchmark
+    public Integer customIncrementalGrowingPut() {
+        if (growingIncremental.size() == size) {
+            growingIncremental = new HashMap<>(16, 0.75f, true);
+        }
+        Integer key = keys[growingIncremental.size()];
+        return growingIncremental.put(key, key);
+    }
+}
@@ -0,0 +1,143 @@
+package hashmap;
+
+import org.arraylistandhashmap.hashmap.HashMap;
+import org.arraylistandhashmap.hashmap.OpenAddressingHashMap;
+import org.arraylistandhashmap.hashmap.SwissHashMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks comparing the chained {@link HashMap} with the open-addressing
+ * {@link OpenAddressingHashMap} and {@link SwissHashMap}.
+ *
+ * @author  rassandev
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class OpenAddressingHashMapBenchmark {
+
+    @Param({"1024", "65536", "1048576"})
+    private int size;
+
+    @Param({"SEQUENTIAL", "RANDOM", "STRIDED"})
+    private String distribution;
+
+    private Integer[] keys;
+    private Integer[] missingKeys;
+    private int cursor;
+
+    private HashMap<Integer, Integer> chained;
+    private OpenAddressingHashMap<Integer, Integer> openAddressing;
+    private SwissHashMap<Integer, Integer> swiss;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        keys = HashMapBenchmark.generateKeys(distribution, size, 0);
+        missingKeys = HashMapBenchmark.generateKeys(distribution, size, size);
+
+        chained = new HashMap<>();
+        openAddressing = new OpenAddressingHashMap<>();
+        swiss = new SwissHashMap<>();
+        for (Integer key : keys) {
+            chained.put(key, key);
+            openAddressing.put(key, key);
+            swiss.put(key, key);
+        }
+    }
+
+    private int nextCursor() {
+        int current = cursor;
+        cursor = (cursor + 1) & (size - 1);
+        return current;
+    }
+
+    @Benchmark
+    public Integer chainedGet() {
+        return chained.get(keys[nextCursor()]);
+    }
+
+    @Benchmark
+    public Integer openAddressingGet() {
+        return openAddressing.get(keys[nextCursor()]);
+    }
+
+    @Benchmark
+    public Integer swissGet() {
+        return swiss.get(keys[nextCursor()]);
+    }
+
+    @Benchmark
+    public Integer chainedGetMiss() {
+        return chained.get(missingKeys[nextCursor()]);
+    }
+
+    @Benchmark
+    public Integer openAddressingGetMiss() {
+        return openAddressing.get(missingKeys[nextCursor()]);
+    }
+
+    @Benchmark
+    public Integer swissGetMiss() {
+        return swiss.get(missingKeys[nextCursor()]);
+    }
+
+    @Benchmark
+    public Integer chainedRemove() {
+        Integer key = keys[nextCursor()];
+        Integer value = chained.remove(key);
+        chained.put(key, value);
+        return value;
+    }
+
+    @Benchmark
+    public Integer openAddressingRemove() {
+        Integer key = keys[nextCursor()];
+        Integer value = openAddressing.remove(key);
+        openAddressing.put(key, value);
+        return value;
+    }
+
+    @Benchmark
+    public Integer swissRemove() {
+        Integer key = keys[nextCursor()];
+        Integer value = swiss.remove(key);
+        swiss.put(key, value);
+        return value;
+    }
+
+    @Benchmark
+    public HashMap<Integer, Integer> chainedResizeHeavyInsert() {
+        HashMap<Integer, Integer> map = new HashMap<>();
+        for (Integer key : keys) {
+            map.put(key, key);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public OpenAddressingHashMap<Integer, Integer> openAddressingResizeHeavyInsert() {
+        OpenAddressingHashMap<Integer, Integer> map = new OpenAddressingHashMap<>();
+        for (Integer key : keys) {
+            map.put(key, key);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public SwissHashMap<Integer, Integer> swissResizeHeavyInsert() {
+        SwissHashMap<Integer, Integer> map = new SwissHashMap<>();
+        for (Integer key : keys) {
+            map.put(key, key);
+        }
+        return map;
+    }
+}
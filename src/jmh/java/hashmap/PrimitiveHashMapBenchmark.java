@@ -0,0 +1,112 @@
+package hashmap;
+
+import org.arraylistandhashmap.hashmap.HashMap;
+import org.arraylistandhashmap.hashmap.Int2ObjectHashMap;
+import org.arraylistandhashmap.hashmap.Long2LongHashMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks comparing the primitive-keyed {@link Int2ObjectHashMap} and {@link Long2LongHashMap}
+ * with the boxed {@link HashMap}. Run with the GC profiler to see the boxing allocations
+ * that the primitive maps avoid.
+ *
+ * @author  rassandev
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PrimitiveHashMapBenchmark {
+
+    @Param({"1024", "65536", "1048576"})
+    private int size;
+
+    @Param({"SEQUENTIAL", "RANDOM", "STRIDED"})
+    private String distribution;
+
+    private int[] keys;
+    private int cursor;
+
+    private HashMap<Integer, Object> boxedInt2Object;
+    private Int2ObjectHashMap<Object> int2Object;
+    private HashMap<Long, Long> boxedLong2Long;
+    private Long2LongHashMap long2Long;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Integer[] generated = HashMapBenchmark.generateKeys(distribution, size, 0);
+        keys = new int[size];
+
+        boxedInt2Object = new HashMap<>();
+        int2Object = new Int2ObjectHashMap<>();
+        boxedLong2Long = new HashMap<>();
+        long2Long = new Long2LongHashMap();
+        for (int i = 0; i < size; i++) {
+            int key = generated[i];
+            keys[i] = key;
+            boxedInt2Object.put(key, generated[i]);
+            int2Object.put(key, generated[i]);
+            boxedLong2Long.put((long) key, (long) key);
+            long2Long.put(key, key);
+        }
+    }
+
+    private int nextKey() {
+        // size is always a power of two, so the mask wraps the cursor around
+        int key = keys[cursor];
+        cursor = (cursor + 1) & (size - 1);
+        return key;
+    }
+
+    @Benchmark
+    public Object boxedInt2ObjectGet() {
+        return boxedInt2Object.get(nextKey());
+    }
+
+    @Benchmark
+    public Object int2ObjectGet() {
+        return int2Object.get(nextKey());
+    }
+
+    @Benchmark
+    public Object boxedInt2ObjectPut() {
+        int key = nextKey();
+        return boxedInt2Object.put(key, keys);
+    }
+
+    @Benchmark
+    public Object int2ObjectPut() {
+        int key = nextKey();
+        return int2Object.put(key, keys);
+    }
+
+    @Benchmark
+    public Long boxedLong2LongGet() {
+        return boxedLong2Long.get((long) nextKey());
+    }
+
+    @Benchmark
+    public long long2LongGet() {
+        return long2Long.get(nextKey());
+    }
+
+    @Benchmark
+    public Long boxedLong2LongPut() {
+        long key = nextKey();
+        return boxedLong2Long.put(key, key + 1);
+    }
+
+    @Benchmark
+    public long long2LongPut() {
+        long key = nextKey();
+        return long2Long.put(key, key + 1);
+    }
+}
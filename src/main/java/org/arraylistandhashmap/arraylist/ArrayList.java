@@ -1,8 +1,20 @@
 package org.arraylistandhashmap.arraylist;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * This is a custom implementation of the LinkedList in Java Collections Framework.
@@ -18,27 +30,44 @@ import java.util.NoSuchElementException;
  *
  * <p>Also, this implementation of ArrayList has an elements iterator
  * that allows to iterate through the ArrayList
- * and quickSort method that allows to sort the elements in this ArrayList
- * using a quicksort algorithm that runs in O(n log n) time.
+ * and sorting methods: quickSort that sorts the elements in this ArrayList
+ * using an introsort that runs in O(n log n) time, and sort that sorts them
+ * stably using a natural merge sort that is faster on partially sorted lists.
+ *
+ * <p>An ArrayList can be streamed without copying: its spliterator splits
+ * the backing array in halves, so {@link #parallelStream()} balances well.
  *
  * @param <T> the type of elements in this list
  *
  * @author  rassandev
  */
-public class ArrayList<T> {
+public class ArrayList<T> implements Iterable<T> {
 
     private static final int DEFAULT_CAPACITY = 10;
-    private static final int MULTIPLIER = 2;
+
+    /**
+     * The maximal array length, some VMs reserve a few header words in an array.
+     */
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    /**
+     * The size above which the argument of removeAll and retainAll is put in a hash set.
+     */
+    private static final int HASH_PROBE_THRESHOLD = 16;
 
     private Object[] array;
 
     private int size;
 
+    private final GrowthPolicy growthPolicy;
+
     /**
-     * Constructs an empty ArrayList with an initial capacity of ten.
+     * Constructs an empty ArrayList with an initial capacity of ten,
+     * which doubles its capacity when it is full.
      */
     public ArrayList() {
         array = new Object[DEFAULT_CAPACITY];
+        growthPolicy = GrowthPolicy.doubling();
     }
 
     /**
@@ -49,12 +78,57 @@ public class ArrayList<T> {
      *         is negative
      */
     public ArrayList(int initialCapacity) {
+        this(initialCapacity, GrowthPolicy.doubling());
+    }
+
+    /**
+     * Constructs an empty ArrayList with the specified initial capacity,
+     * which grows its capacity by the specified policy when it is full.
+     *
+     * @param  initialCapacity  the initial capacity of the ArrayList
+     * @param  growthPolicy  the policy giving the new capacity of a full array
+     * @throws IllegalArgumentException if the specified initial capacity
+     *         is negative
+     */
+    public ArrayList(int initialCapacity, GrowthPolicy growthPolicy) {
         if (initialCapacity > 0) {
             array = new Object[initialCapacity];
         } else {
             throw new IllegalArgumentException("Illegal Capacity: "
                     + initialCapacity);
         }
+        this.growthPolicy = Objects.requireNonNull(growthPolicy);
+    }
+
+    /**
+     * Returns the capacity of this ArrayList, the length of its array.
+     *
+     * @return the number of elements this ArrayList can hold without growing
+     */
+    public final int capacity() {
+        return array.length;
+    }
+
+    /**
+     * Increases the capacity of this ArrayList, if necessary, to exactly
+     * the specified capacity, so a list of a known size is allocated once and takes no slack.
+     *
+     * @param minCapacity the desired minimum capacity
+     */
+    public final void ensureCapacity(final int minCapacity) {
+        if (minCapacity > array.length) {
+            array = Arrays.copyOf(array, minCapacity);
+        }
+    }
+
+    /**
+     * Trims the capacity of this ArrayList to its current size,
+     * to release the slack left by the growth of the array.
+     */
+    public final void trimToSize() {
+        if (size < array.length) {
+            array = Arrays.copyOf(array, size);
+        }
     }
 
     /**
@@ -95,10 +169,42 @@ public class ArrayList<T> {
      *
      * @return an iterator over the elements in this ArrayList in a proper sequence
      */
+    @Override
     public final Iterator<T> iterator() {
         return new ElementsIterator();
     }
 
+    /**
+     * Returns a spliterator over the elements in this ArrayList.
+     * It is ORDERED, SIZED and SUBSIZED: it splits the backing array in halves
+     * without copying it, so a parallel stream balances well over the fork-join workers.
+     * The spliterator is late-binding: the size is read at the first traversal or split.
+     *
+     * @return a spliterator over the elements in this ArrayList
+     */
+    @Override
+    public final Spliterator<T> spliterator() {
+        return new ElementsSpliterator(0, -1);
+    }
+
+    /**
+     * Returns a sequential stream over the elements in this ArrayList.
+     *
+     * @return a sequential stream over the elements in this ArrayList
+     */
+    public final Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Returns a parallel stream over the elements in this ArrayList.
+     *
+     * @return a parallel stream over the elements in this ArrayList
+     */
+    public final Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
     /**
      * Returns an array containing all the elements in this ArrayList
      * in a proper sequence (from first to a last element).
@@ -115,21 +221,45 @@ public class ArrayList<T> {
 
     /**
      * Appends the specified element to the end of this ArrayList.
-     * If the array is full, then it is doubled.
+     * If the array is full, then it grows by the growth policy, it is doubled by default.
      *
      * @param element element to be appended to this list
      * @return true after successful addition
      */
     public final boolean add(final T element) {
         if (array.length == size) {
-            final Object[] oldArray = array;
-            array = new Object[this.size() * MULTIPLIER];
-            System.arraycopy(oldArray, 0, array, 0, oldArray.length);
+            growTo(size + 1);
         }
         array[size++] = element;
         return true;
     }
 
+    /**
+     * Returns the capacity a full array grows to, given by the growth policy
+     * and kept between the needed capacity and the maximal array length.
+     */
+    private int newCapacity(final int minCapacity) {
+        if (minCapacity < 0) {
+            throw new OutOfMemoryError("Required array length too large");
+        }
+
+        final int capacity = growthPolicy.newCapacity(array.length, minCapacity);
+        if (capacity < 0 || capacity > MAX_ARRAY_LENGTH) {
+            return Math.max(minCapacity, MAX_ARRAY_LENGTH);
+        }
+        return Math.max(minCapacity, capacity);
+    }
+
+    /**
+     * Makes sure the array can hold the specified number of elements, growing it at most once
+     * by the growth policy, so that a series of bulk additions stays amortized O(1).
+     */
+    private void growTo(final int minCapacity) {
+        if (minCapacity > array.length) {
+            array = Arrays.copyOf(array, newCapacity(minCapacity));
+        }
+    }
+
     /**
      * Inserts the specified element at the specified position in this
      * ArrayList. Shifts the element currently at that position (if any) and
@@ -147,7 +277,7 @@ public class ArrayList<T> {
             add(element);
         } else if (array.length == size) {
             final Object[] tempArray = array;
-            array = new Object[this.size() * MULTIPLIER];
+            array = new Object[newCapacity(size + 1)];
 
             System.arraycopy(tempArray, 0, array, 0,  index);
             System.arraycopy(tempArray, index, array, index + 1, size() - index);
@@ -163,21 +293,47 @@ public class ArrayList<T> {
         }
     }
 
+    /**
+     * Appends all the elements in the specified ArrayList to the end of
+     * this ArrayList, in their order.  The array grows at most once and
+     * the elements are copied by a single {@link System#arraycopy}, so an ArrayList
+     * can also be appended to itself.
+     *
+     * @param arrayList arrayList containing elements to be added to a current ArrayList
+     * @return true if this list changed as a result of the call
+     */
+    public final boolean addAll(final ArrayList<? extends T> arrayList) {
+        final Object[] elements = arrayList.array;
+        final int count = arrayList.size();
+        if (count == 0) {
+            return false;
+        }
+
+        growTo(size + count);
+        System.arraycopy(elements, 0, array, size, count);
+        size += count;
+        return true;
+    }
+
     /**
      * Appends all the elements in the specified collection to the end of
      * this ArrayList, in the order that they are returned by the
-     * specified collection's Iterator.  The behavior of this operation is
-     * undefined if the specified collection is modified while the operation
-     * is in progress.
+     * specified collection's Iterator.  The elements are taken by a single
+     * {@link Collection#toArray()}, then the array grows at most once and
+     * they are copied by a single {@link System#arraycopy}.
      *
-     * @param arrayList arrayList containing elements to be added to a current ArrayList
+     * @param collection collection containing elements to be added to a current ArrayList
      * @return true if this list changed as a result of the call
      */
-    public final boolean addAll(ArrayList<T> arrayList) {
-        for (Iterator<T> it = arrayList.iterator(); it.hasNext();) {
-            T item = it.next();
-            add(item);
+    public final boolean addAll(final Collection<? extends T> collection) {
+        final Object[] elements = collection.toArray();
+        if (elements.length == 0) {
+            return false;
         }
+
+        growTo(size + elements.length);
+        System.arraycopy(elements, 0, array, size, elements.length);
+        size += elements.length;
         return true;
     }
 
@@ -218,34 +374,113 @@ public class ArrayList<T> {
 
     /**
      * Removes from this ArrayList all of its elements that are contained in the
-     * specified collection.
+     * specified ArrayList, in a single compacting pass.  If the specified ArrayList
+     * is larger than a few elements, its elements are first put in a hash set,
+     * so the whole call takes O(n + m) time instead of O(n * m).
      *
      * @param arrayList arrayList containing elements to be removed from the current ArrayList
      * @return true if this ArrayList changed as a result of the call
      */
-    public final boolean removeAll(ArrayList<T> arrayList) {
-        for (Iterator<T> it = arrayList.iterator(); it.hasNext();) {
-            T item = it.next();
-            remove(item);
-        }
-        return true;
+    public final boolean removeAll(final ArrayList<?> arrayList) {
+        return removeIf(membershipOf(arrayList));
+    }
+
+    /**
+     * Removes from this ArrayList all of its elements that are contained in the
+     * specified collection, in a single compacting pass.  A large collection which
+     * is not a set is first copied into a hash set.
+     *
+     * @param collection collection containing elements to be removed from the current ArrayList
+     * @return true if this ArrayList changed as a result of the call
+     */
+    public final boolean removeAll(final Collection<?> collection) {
+        return removeIf(membershipOf(collection));
     }
 
     /**
      * Retains only the elements in this ArrayList that are contained in
-     * another ArrayList.
+     * another ArrayList, in a single compacting pass.  If the other ArrayList
+     * is larger than a few elements, its elements are first put in a hash set.
      *
      * @param arrayList collection containing elements to be retained in the current ArrayList
      * @return true if this list changed as a result of the call
      */
-    public final boolean retainAll(ArrayList<T> arrayList) {
-        for (Iterator<T> it = this.iterator(); it.hasNext();) {
-            T item = it.next();
-            if (!arrayList.contains(item)) {
-                this.remove(item);
+    public final boolean retainAll(final ArrayList<?> arrayList) {
+        return removeIf(membershipOf(arrayList).negate());
+    }
+
+    /**
+     * Retains only the elements in this ArrayList that are contained in
+     * the specified collection, in a single compacting pass.
+     *
+     * @param collection collection containing elements to be retained in the current ArrayList
+     * @return true if this list changed as a result of the call
+     */
+    public final boolean retainAll(final Collection<?> collection) {
+        return removeIf(membershipOf(collection).negate());
+    }
+
+    /**
+     * Removes all the elements of this ArrayList that satisfy the given predicate.
+     * The kept elements are moved to the front in a single pass, keeping their order,
+     * so the call takes O(n) time whatever the number of removed elements.
+     * If the predicate throws an exception, the elements not tested yet are kept.
+     *
+     * @param filter the predicate which returns true for the elements to be removed
+     * @return true if any elements were removed
+     */
+    public final boolean removeIf(final Predicate<? super T> filter) {
+        Objects.requireNonNull(filter);
+        final int oldSize = size;
+        int read = 0;
+        int write = 0;
+
+        try {
+            for (; read < oldSize; read++) {
+                final T element = (T) array[read];
+                if (!filter.test(element)) {
+                    array[write++] = element;
+                }
+            }
+        } finally {
+            if (read < oldSize) {
+                System.arraycopy(array, read, array, write, oldSize - read);
+                write += oldSize - read;
             }
+            Arrays.fill(array, write, oldSize, null);
+            size = write;
         }
-        return true;
+
+        return write != oldSize;
+    }
+
+    /**
+     * Returns a predicate testing whether an element is contained in the specified ArrayList.
+     */
+    private static Predicate<Object> membershipOf(final ArrayList<?> arrayList) {
+        if (arrayList.size() > HASH_PROBE_THRESHOLD) {
+            return new HashSet<>(Arrays.asList(arrayList.toArray()))::contains;
+        }
+
+        final Object[] elements = arrayList.toArray();
+        return element -> {
+            for (Object candidate : elements) {
+                if (Objects.equals(candidate, element)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    /**
+     * Returns a predicate testing whether an element is contained in the specified collection.
+     */
+    private static Predicate<Object> membershipOf(final Collection<?> collection) {
+        if (collection instanceof Set<?> || collection.size() <= HASH_PROBE_THRESHOLD) {
+            return collection::contains;
+        }
+        return new HashSet<>(collection)::contains;
     }
 
     /**
@@ -284,89 +519,203 @@ public class ArrayList<T> {
         return (T) array[index];
     }
 
+    /**
+     * Sorts the elements in this ArrayList into ascending natural order.
+     * The elements must implement {@link Comparable}.
+     *
+     * <p>The sort is an introsort: a quicksort with a median-of-three pivot, which sorts
+     * the small ranges by insertion sort and switches to heapsort when the recursion gets too deep.
+     * It runs in O(n log n) time in the worst case, including already sorted lists,
+     * and its recursion depth is O(log n). The sort is not stable.
+     *
+     * @throws ClassCastException if the elements are not mutually comparable
+     */
     public final void quickSort() {
-        quickSort(array, 0, size - 1);
+        quickSort(null);
     }
 
     /**
-     * Sorts the elements in this ArrayList using a quicksort algorithm that runs in O(n log n) time.
+     * Sorts the elements in this ArrayList by the order induced by the specified comparator
+     * using the same introsort as {@link #quickSort()}. The sort is not stable.
      *
-     * @param arr the array to be sorted by the quick sort method
-     * @param low the first index of the array to be sorted
-     * @param high the last index of the array to be sorted
+     * @param comparator the comparator to compare the elements, or null for the natural order
+     * @throws ClassCastException if the elements are not mutually comparable
      */
-    private static <T extends Comparable<T>> void quickSort(Object[] arr, int low, int high) {
-        if (low < high) {
-            int pivotIndex = divide(arr, low, high);
-            quickSort(arr, low, pivotIndex - 1);
-            quickSort(arr, pivotIndex + 1, high);
-        }
+    public final void quickSort(final Comparator<? super T> comparator) {
+        Sorting.introSort(array, 0, size, comparatorOrNaturalOrder(comparator));
+    }
+
+    /**
+     * Sorts the elements in this ArrayList by the order induced by the specified comparator.
+     * The sort is stable: equal elements are not reordered.
+     *
+     * <p>The sort is a natural merge sort in the style of TimSort: the ascending and
+     * descending runs already present in the list are found and merged, so sorted and
+     * partially sorted lists are sorted in close to linear time. It runs in O(n log n)
+     * time in the worst case and needs up to n / 2 references of temporary storage.
+     *
+     * @param comparator the comparator to compare the elements, or null for the natural order
+     * @throws ClassCastException if the elements are not mutually comparable
+     */
+    public final void sort(final Comparator<? super T> comparator) {
+        Sorting.timSort(array, 0, size, comparatorOrNaturalOrder(comparator));
+    }
+
+    /**
+     * Sorts the elements in this ArrayList by the order induced by the specified comparator,
+     * using all the threads of the common {@link java.util.concurrent.ForkJoinPool}.
+     * The sort is stable.
+     *
+     * <p>The list is split into chunks sorted in parallel by the same merge sort as
+     * {@link #sort(Comparator)}, then the sorted chunks are merged by parallel merges.
+     * Lists too short to be worth splitting are sorted by the calling thread alone.
+     * The comparator may be called from several threads at once.
+     *
+     * @param comparator the comparator to compare the elements, or null for the natural order
+     * @throws ClassCastException if the elements are not mutually comparable
+     */
+    public final void parallelSort(final Comparator<? super T> comparator) {
+        Sorting.parallelSort(array, 0, size, comparatorOrNaturalOrder(comparator));
+    }
+
+    /**
+     * Performs the given action for every element of this ArrayList, in parallel.
+     * The elements are split into chunks processed by the threads of the common
+     * {@link java.util.concurrent.ForkJoinPool}, so the action is called in no particular
+     * order and from several threads at once. The list must not be modified meanwhile.
+     *
+     * @param action the action to be performed for every element
+     */
+    public final void parallelForEach(final Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        final Object[] elements = array;
+
+        Parallel.forEachChunk(size, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                action.accept((T) elements[i]);
+            }
+        });
+    }
+
+    /**
+     * Replaces every element of this ArrayList with the result of applying
+     * the operator to it, in parallel. The operator is called in no particular
+     * order and from several threads at once.
+     *
+     * @param operator the operator to apply to every element
+     */
+    public final void parallelReplaceAll(final UnaryOperator<T> operator) {
+        Objects.requireNonNull(operator);
+        final Object[] elements = array;
+
+        Parallel.forEachChunk(size, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                elements[i] = operator.apply((T) elements[i]);
+            }
+        });
     }
 
     /**
-     * Divides the elements in this ArrayList.
-     * If a current element is smaller than the pivot, increment the border and do a swap.
-     * In the end, put the pivot element to the place of border and return the index pivot element.
+     * Removes all the elements of this ArrayList that satisfy the given predicate.
+     * The predicate is evaluated in parallel, in no particular order and from several
+     * threads at once, and the elements to be removed are marked in a bitmap.
+     * Then the remaining elements are compacted in a single pass, keeping their order.
      *
-     * @param arr is the array to be separated by pivot element
-     * @param low is the first index of the array to be separated
-     * @param high is the last index of the array to be separated
+     * @param filter the predicate which returns true for the elements to be removed
+     * @return true if any elements were removed
      */
-    private static <T extends Comparable<T>> int divide(Object[] arr, int low, int high) {
-        T pivot = (T) arr[high];
-        int border = low - 1;
-        for (int j = low; j < high; j++) {
-            if (((T) arr[j]).compareTo(pivot) <= 0) {
-                border++;
-                swap(arr, border, j);
+    public final boolean parallelRemoveIf(final Predicate<? super T> filter) {
+        Objects.requireNonNull(filter);
+        final Object[] elements = array;
+        final long[] removed = new long[(size + Long.SIZE - 1) / Long.SIZE];
+
+        // the chunks are aligned to 64 elements, so no two chunks write the same word
+        Parallel.forEachChunk(size, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                if (filter.test((T) elements[i])) {
+                    removed[i / Long.SIZE] |= 1L << i;
+                }
+            }
+        });
+
+        int newSize = 0;
+        for (int i = 0; i < size; i++) {
+            if ((removed[i / Long.SIZE] & (1L << i)) == 0) {
+                array[newSize++] = array[i];
+            }
+        }
+
+        if (newSize == size) {
+            return false;
+        }
+
+        Arrays.fill(array, newSize, size, null);
+        size = newSize;
+        return true;
+    }
+
+    private static Comparator<Object> comparatorOrNaturalOrder(final Comparator<?> comparator) {
+        return (Comparator<Object>) (comparator != null ? comparator : Comparator.naturalOrder());
+    }
+
+    private final class ElementsSpliterator implements Spliterator<T> {
+
+        private int index;
+        private int fence;
+
+        ElementsSpliterator(final int index, final int fence) {
+            this.index = index;
+            this.fence = fence;
+        }
+
+        private int getFence() {
+            if (fence < 0) {
+                fence = ArrayList.this.size();
+            }
+            return fence;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            final int low = index;
+            final int middle = (low + getFence()) >>> 1;
+            if (low >= middle) {
+                return null;
+            }
+            index = middle;
+            return new ElementsSpliterator(low, middle);
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super T> action) {
+            Objects.requireNonNull(action);
+            if (index >= getFence()) {
+                return false;
             }
+            action.accept((T) ArrayList.this.array[index++]);
+            return true;
         }
-        swap(arr, border + 1, high);
-        return border + 1;
-    }
-
-    private static <T> void swap(Object[] arr, int i, int j) {
-        Object temp = arr[i];
-        arr[i] = arr[j];
-        arr[j] = temp;
-    }
-
-//    public <T extends Comparable<T>> void anotherQuickSort(Object[] sortArr, int low, int high) {
-//        //terminate if the array is empty or there is nothing left to divide
-//        if (sortArr.length == 0 || low >= high) return;
-//
-//        //select the pivot element
-//        int middle = low + (high - low) / 2;
-//        T border = (T) sortArr[middle];
-//
-//        //divide into subarrays and swap places
-//        int i = low;
-//        int j = high;
-//
-//        while (i <= j) {
-//            while (((T) sortArr[i]).compareTo(border) < 0) {
-//                i++;
-//            }
-//            while (((T) sortArr[j]).compareTo(border) > 0) {
-//                j--;
-//            }
-//            if (i <= j) {
-//                T swap = (T) sortArr[i];
-//                sortArr[i] = sortArr[j];
-//                sortArr[j] = swap;
-//                i++;
-//                j--;
-//            }
-//        }
-//
-//        //recursion to sort left and right side
-//        if (low < j) {
-//            anotherQuickSort(sortArr, low, j);
-//        }
-//        if (high > i) {
-//            anotherQuickSort(sortArr, i, high);
-//        }
-//    }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super T> action) {
+            Objects.requireNonNull(action);
+            final Object[] elements = ArrayList.this.array;
+            final int end = getFence();
+            for (; index < end; index++) {
+                action.accept((T) elements[index]);
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return getFence() - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
 
     private class ElementsIterator implements ListIterator<T> {
 
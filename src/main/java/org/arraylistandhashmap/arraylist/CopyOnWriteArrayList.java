@@ -0,0 +1,548 @@
+package org.arraylistandhashmap.arraylist;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * This is a thread-safe variant of the {@link ArrayList} for lists which are read
+ * far more often than they are modified, like configuration shared by many threads.
+ *
+ * <p>The elements are held in an array which is never modified once it is published.
+ * A writer takes the lock, copies the array, changes the copy and publishes it by a single
+ * volatile write, so a new version of the list appears atomically to the readers.
+ * Reads take no lock at all: they read the current array once and work on it.
+ *
+ * <p>So {@link #snapshot()} takes O(1) time: it only keeps the current array, which
+ * stays the same whatever the writers do later. An iterator, a stream or a snapshot
+ * sees the list as it was when it was created, never throws a
+ * {@link java.util.ConcurrentModificationException}, and does not support removal.
+ *
+ * <p>Every modification copies the whole list. Several modifications can be published
+ * as one version, at the price of one copy, by {@link #update(Consumer)}.
+ *
+ * @param <T> the type of elements in this list
+ *
+ * @author  rassandev
+ */
+public class CopyOnWriteArrayList<T> implements Iterable<T> {
+
+    private static final Object[] EMPTY_ARRAY = {};
+
+    /**
+     * Serializes the writers, the readers never take it.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * The current version of the list, an array with no unused slots which is never modified.
+     */
+    private volatile Object[] array;
+
+    /**
+     * Constructs an empty CopyOnWriteArrayList.
+     */
+    public CopyOnWriteArrayList() {
+        array = EMPTY_ARRAY;
+    }
+
+    /**
+     * Constructs a CopyOnWriteArrayList containing the elements of the specified collection,
+     * in the order they are returned by the collection's iterator.
+     *
+     * @param collection the collection whose elements are to be placed into this list
+     */
+    public CopyOnWriteArrayList(Collection<? extends T> collection) {
+        final Object[] elements = collection.toArray();
+        array = Arrays.copyOf(elements, elements.length, Object[].class);
+    }
+
+    /**
+     * Returns an immutable snapshot of this CopyOnWriteArrayList in O(1) time.
+     * The snapshot keeps the current version of the list and is not affected
+     * by the later modifications.
+     *
+     * @return a snapshot of the current elements of this list
+     */
+    public final Snapshot<T> snapshot() {
+        return new Snapshot<>(array);
+    }
+
+    /**
+     * Returns the number of elements in this CopyOnWriteArrayList.
+     *
+     * @return the number of elements in this CopyOnWriteArrayList
+     */
+    public final int size() {
+        return array.length;
+    }
+
+    /**
+     * Returns true if this CopyOnWriteArrayList contains no elements.
+     *
+     * @return true if this CopyOnWriteArrayList contains no elements
+     */
+    public final boolean isEmpty() {
+        return this.size() == 0;
+    }
+
+    /**
+     * Returns true if this CopyOnWriteArrayList contains the specified element.
+     *
+     * @param o element whose presence in this CopyOnWriteArrayList is to be tested
+     * @return true if this CopyOnWriteArrayList contains the specified element
+     */
+    public final boolean contains(final Object o) {
+        return indexOf(array, o) >= 0;
+    }
+
+    /**
+     * Returns the element at the specified position in this CopyOnWriteArrayList.
+     *
+     * @param  index index of the element to return
+     * @return the element at the specified position in this CopyOnWriteArrayList
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public final T get(final int index) {
+        return elementAt(array, index);
+    }
+
+    /**
+     * Returns an array containing all the elements in this CopyOnWriteArrayList
+     * in a proper sequence (from first to a last element).
+     *
+     * @return an array containing all the elements in this CopyOnWriteArrayList in
+     *        a proper sequence
+     */
+    public final Object[] toArray() {
+        return array.clone();
+    }
+
+    /**
+     * Returns an iterator over the elements of the current version of this list.
+     * It takes no lock and does not see the later modifications.
+     *
+     * @return an iterator over the elements in this CopyOnWriteArrayList in a proper sequence
+     */
+    @Override
+    public final Iterator<T> iterator() {
+        return new SnapshotIterator<>(array);
+    }
+
+    /**
+     * Returns a spliterator over the elements of the current version of this list.
+     * It is IMMUTABLE, ORDERED, SIZED and SUBSIZED.
+     *
+     * @return a spliterator over the elements in this CopyOnWriteArrayList
+     */
+    @Override
+    public final Spliterator<T> spliterator() {
+        return Spliterators.spliterator(array, Spliterator.IMMUTABLE | Spliterator.ORDERED);
+    }
+
+    /**
+     * Returns a sequential stream over the elements of the current version of this list.
+     *
+     * @return a sequential stream over the elements in this CopyOnWriteArrayList
+     */
+    public final Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Appends the specified element to the end of this CopyOnWriteArrayList.
+     *
+     * @param element element to be appended to this list
+     * @return true after successful addition
+     */
+    public final boolean add(final T element) {
+        lock.lock();
+        try {
+            final Object[] elements = array;
+            final Object[] newElements = Arrays.copyOf(elements, elements.length + 1);
+            newElements[elements.length] = element;
+            array = newElements;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Inserts the specified element at the specified position in this
+     * CopyOnWriteArrayList. Shifts the element currently at that position (if any) and
+     * any subsequent elements to the right (adds one to their indices).
+     *
+     * @param index index at which the specified element is to be inserted
+     * @param element element to be inserted
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public final void add(final int index, final T element) {
+        lock.lock();
+        try {
+            final Object[] elements = array;
+            if (index > elements.length || index < 0) {
+                throw new IndexOutOfBoundsException();
+            }
+            final Object[] newElements = new Object[elements.length + 1];
+            System.arraycopy(elements, 0, newElements, 0, index);
+            System.arraycopy(elements, index, newElements, index + 1, elements.length - index);
+            newElements[index] = element;
+            array = newElements;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Appends all the elements in the specified collection to the end of
+     * this CopyOnWriteArrayList, as a single new version.
+     *
+     * @param collection collection containing elements to be added to a current CopyOnWriteArrayList
+     * @return true if this list changed as a result of the call
+     */
+    public final boolean addAll(final Collection<? extends T> collection) {
+        final Object[] added = collection.toArray();
+        if (added.length == 0) {
+            return false;
+        }
+
+        lock.lock();
+        try {
+            final Object[] elements = array;
+            final Object[] newElements = Arrays.copyOf(elements, elements.length + added.length);
+            System.arraycopy(added, 0, newElements, elements.length, added.length);
+            array = newElements;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the element at the specified position in this CopyOnWriteArrayList with
+     * the specified element.
+     *
+     * @param index index of the element to replace
+     * @param element element to be stored at the specified position
+     * @return the element previously at the specified position
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public final T set(final int index, final T element) {
+        lock.lock();
+        try {
+            final Object[] elements = array;
+            final T previous = elementAt(elements, index);
+            if (previous != element) {
+                final Object[] newElements = elements.clone();
+                newElements[index] = element;
+                array = newElements;
+            }
+            return previous;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the element at the specified position in this CopyOnWriteArrayList.
+     * Shifts any subsequent elements to the left (subtracts one from their
+     * indices).
+     *
+     * @param index the index of the element to be removed
+     * @return the element that was removed from the CopyOnWriteArrayList
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public final T remove(final int index) {
+        lock.lock();
+        try {
+            final Object[] elements = array;
+            final T element = elementAt(elements, index);
+            array = without(elements, index);
+            return element;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the first occurrence of the specified element from this CopyOnWriteArrayList
+     * if it is present.  If the list does not contain the element, it is
+     * unchanged and no copy is made.
+     *
+     * @param element element to be removed from this list, if present
+     * @return true if this list contained the specified element
+     */
+    public final boolean remove(final Object element) {
+        lock.lock();
+        try {
+            final Object[] elements = array;
+            final int index = indexOf(elements, element);
+            if (index < 0) {
+                return false;
+            }
+            array = without(elements, index);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes all the elements of this CopyOnWriteArrayList that satisfy the given predicate,
+     * as a single new version. If no element is removed, no copy is published.
+     *
+     * @param filter the predicate which returns true for the elements to be removed
+     * @return true if any elements were removed
+     */
+    public final boolean removeIf(final Predicate<? super T> filter) {
+        Objects.requireNonNull(filter);
+        lock.lock();
+        try {
+            final Object[] elements = array;
+            final Object[] kept = new Object[elements.length];
+            int count = 0;
+            for (Object element : elements) {
+                if (!filter.test((T) element)) {
+                    kept[count++] = element;
+                }
+            }
+            if (count == elements.length) {
+                return false;
+            }
+            array = Arrays.copyOf(kept, count);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Replaces every element of this CopyOnWriteArrayList with the result of applying
+     * the operator to it, as a single new version.
+     *
+     * @param operator the operator to apply to every element
+     */
+    public final void replaceAll(final UnaryOperator<T> operator) {
+        Objects.requireNonNull(operator);
+        lock.lock();
+        try {
+            final Object[] newElements = array.clone();
+            for (int i = 0; i < newElements.length; i++) {
+                newElements[i] = operator.apply((T) newElements[i]);
+            }
+            array = newElements;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sorts the elements in this CopyOnWriteArrayList by the order induced by the specified
+     * comparator, with the stable sort of {@link ArrayList#sort(Comparator)}.
+     * The readers see either the unsorted or the sorted list, never a partially sorted one.
+     *
+     * @param comparator the comparator to compare the elements, or null for the natural order
+     * @throws ClassCastException if the elements are not mutually comparable
+     */
+    public final void sort(final Comparator<? super T> comparator) {
+        final Comparator<Object> c = (Comparator<Object>) (comparator != null
+                ? comparator
+                : Comparator.naturalOrder());
+        lock.lock();
+        try {
+            final Object[] newElements = array.clone();
+            Sorting.timSort(newElements, 0, newElements.length, c);
+            array = newElements;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Applies several modifications to a private copy of this list and publishes
+     * them as a single new version, so the readers never see a part of them
+     * and the list is copied only once. The editor runs under the writers' lock,
+     * it must not keep the ArrayList it is given.
+     *
+     * @param editor the modifications to apply to the copy of the list
+     */
+    public final void update(final Consumer<? super ArrayList<T>> editor) {
+        Objects.requireNonNull(editor);
+        lock.lock();
+        try {
+            final Object[] elements = array;
+            final ArrayList<T> copy = new ArrayList<>(Math.max(1, elements.length));
+            copy.addAll(Arrays.asList((T[]) elements));
+            editor.accept(copy);
+            array = copy.toArray();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes all the elements from this CopyOnWriteArrayList.  The list will
+     * be empty after this call returns.
+     */
+    public final void clear() {
+        lock.lock();
+        try {
+            array = EMPTY_ARRAY;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static <T> T elementAt(final Object[] elements, final int index) {
+        if (index < 0 || index >= elements.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        return (T) elements[index];
+    }
+
+    private static int indexOf(final Object[] elements, final Object o) {
+        for (int i = 0; i < elements.length; i++) {
+            if (Objects.equals(elements[i], o)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static Object[] without(final Object[] elements, final int index) {
+        final Object[] newElements = new Object[elements.length - 1];
+        System.arraycopy(elements, 0, newElements, 0, index);
+        System.arraycopy(elements, index + 1, newElements, index, elements.length - index - 1);
+        return newElements;
+    }
+
+    /**
+     * An immutable version of a {@link CopyOnWriteArrayList}, taken by {@link #snapshot()}.
+     * It shares the array of the list, which is never modified, so it can be read
+     * by any number of threads without synchronization.
+     *
+     * @param <T> the type of elements in this snapshot
+     */
+    public static final class Snapshot<T> implements Iterable<T> {
+
+        private final Object[] elements;
+
+        private Snapshot(final Object[] elements) {
+            this.elements = elements;
+        }
+
+        /**
+         * Returns the number of elements in this snapshot.
+         *
+         * @return the number of elements in this snapshot
+         */
+        public int size() {
+            return elements.length;
+        }
+
+        /**
+         * Returns true if this snapshot contains no elements.
+         *
+         * @return true if this snapshot contains no elements
+         */
+        public boolean isEmpty() {
+            return elements.length == 0;
+        }
+
+        /**
+         * Returns the element at the specified position in this snapshot.
+         *
+         * @param  index index of the element to return
+         * @return the element at the specified position in this snapshot
+         * @throws IndexOutOfBoundsException if the index is out of range
+         */
+        public T get(final int index) {
+            return elementAt(elements, index);
+        }
+
+        /**
+         * Returns true if this snapshot contains the specified element.
+         *
+         * @param o element whose presence in this snapshot is to be tested
+         * @return true if this snapshot contains the specified element
+         */
+        public boolean contains(final Object o) {
+            return indexOf(elements, o) >= 0;
+        }
+
+        /**
+         * Returns an array containing all the elements in this snapshot
+         * in a proper sequence.
+         *
+         * @return a copy of the elements of this snapshot
+         */
+        public Object[] toArray() {
+            return elements.clone();
+        }
+
+        /**
+         * Returns an iterator over the elements in this snapshot in a proper sequence.
+         *
+         * @return an iterator over the elements in this snapshot
+         */
+        @Override
+        public Iterator<T> iterator() {
+            return new SnapshotIterator<>(elements);
+        }
+
+        /**
+         * Returns a spliterator over the elements in this snapshot.
+         * It is IMMUTABLE, ORDERED, SIZED and SUBSIZED.
+         *
+         * @return a spliterator over the elements in this snapshot
+         */
+        @Override
+        public Spliterator<T> spliterator() {
+            return Spliterators.spliterator(elements, Spliterator.IMMUTABLE | Spliterator.ORDERED);
+        }
+
+        /**
+         * Returns a sequential stream over the elements in this snapshot.
+         *
+         * @return a sequential stream over the elements in this snapshot
+         */
+        public Stream<T> stream() {
+            return StreamSupport.stream(spliterator(), false);
+        }
+    }
+
+    private static final class SnapshotIterator<T> implements Iterator<T> {
+
+        private final Object[] elements;
+        private int index;
+
+        SnapshotIterator(final Object[] elements) {
+            this.elements = elements;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < elements.length;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return (T) elements[index++];
+        }
+    }
+}
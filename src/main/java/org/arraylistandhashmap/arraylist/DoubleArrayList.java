@@ -0,0 +1,273 @@
+package org.arraylistandhashmap.arraylist;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * This is a primitive specialization of the {@link ArrayList} for double elements.
+ *
+ * <p>The elements are stored in a double[] array, so they are never boxed:
+ * an element takes 8 bytes instead of a reference plus a Double object,
+ * and neither add nor get allocates.
+ *
+ * <p>Each DoubleArrayList instance has a <i>capacity</i>.  The capacity is
+ * the size of the array used to store the elements in the list.  It is always
+ * at least as large as the list size.  As elements are added to an DoubleArrayList,
+ * its capacity grows automatically.
+ *
+ * @author  rassandev
+ */
+public class DoubleArrayList {
+
+    private static final int DEFAULT_CAPACITY = 10;
+    private static final int MULTIPLIER = 2;
+
+    private double[] array;
+
+    private int size;
+
+    /**
+     * Constructs an empty DoubleArrayList with an initial capacity of ten.
+     */
+    public DoubleArrayList() {
+        array = new double[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Constructs an empty DoubleArrayList with the specified initial capacity.
+     *
+     * @param  initialCapacity  the initial capacity of the DoubleArrayList
+     * @throws IllegalArgumentException if the specified initial capacity
+     *         is negative
+     */
+    public DoubleArrayList(int initialCapacity) {
+        if (initialCapacity > 0) {
+            array = new double[initialCapacity];
+        } else {
+            throw new IllegalArgumentException("Illegal Capacity: "
+                    + initialCapacity);
+        }
+    }
+
+    /**
+     * Returns the number of elements in this DoubleArrayList.
+     *
+     * @return the number of elements in this DoubleArrayList
+     */
+    public final int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns true if this DoubleArrayList contains no elements.
+     *
+     * @return true if this DoubleArrayList contains no elements
+     */
+    public final boolean isEmpty() {
+        return this.size() == 0;
+    }
+
+    /**
+     * Returns true if this DoubleArrayList contains the specified element.
+     * Elements are compared the same way as {@link Double#equals(Object)} does,
+     * so NaN is found and 0.0 is not equal to -0.0.
+     *
+     * @param element element whose presence in this DoubleArrayList is to be tested
+     * @return true if this DoubleArrayList contains the specified element
+     */
+    public final boolean contains(final double element) {
+        return indexOf(element) >= 0;
+    }
+
+    /**
+     * Returns the index of the first occurrence of the specified element
+     * in this DoubleArrayList, or -1 if this list does not contain the element.
+     *
+     * @param element element to search for
+     * @return the index of the first occurrence of the element, or -1
+     */
+    public final int indexOf(final double element) {
+        for (int i = 0; i < size; i++) {
+            if (Double.doubleToLongBits(array[i]) == Double.doubleToLongBits(element)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns an iterator over the elements in this DoubleArrayList in a proper sequence.
+     *
+     * @return an iterator over the elements in this DoubleArrayList in a proper sequence
+     */
+    public final PrimitiveIterator.OfDouble iterator() {
+        return new ElementsIterator();
+    }
+
+    /**
+     * Returns an array containing all the elements in this DoubleArrayList
+     * in a proper sequence (from first to a last element).
+     *
+     * @return an array containing all the elements in this DoubleArrayList
+     */
+    public final double[] toArray() {
+        final double[] newM = new double[this.size()];
+        System.arraycopy(array, 0, newM, 0, this.size());
+        return newM;
+    }
+
+    private void grow() {
+        final double[] oldArray = array;
+        array = new double[Math.max(1, oldArray.length * MULTIPLIER)];
+        System.arraycopy(oldArray, 0, array, 0, size);
+    }
+
+    /**
+     * Appends the specified element to the end of this DoubleArrayList.
+     * If the array is full, then it is doubled.
+     *
+     * @param element element to be appended to this list
+     * @return true after successful addition
+     */
+    public final boolean add(final double element) {
+        if (array.length == size) {
+            grow();
+        }
+        array[size++] = element;
+        return true;
+    }
+
+    /**
+     * Inserts the specified element at the specified position in this
+     * DoubleArrayList. Shifts the element currently at that position (if any) and
+     * any subsequent elements to the right (adds one to their indices).
+     *
+     * @param index index at which the specified element is to be inserted
+     * @param element element to be inserted
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public final void add(final int index, final double element) {
+        if (index > size || index < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (array.length == size) {
+            grow();
+        }
+        System.arraycopy(array, index, array, index + 1, size - index);
+        array[index] = element;
+        size++;
+    }
+
+    /**
+     * Removes the first occurrence of the specified element from this DoubleArrayList
+     * if it is present.  If the list does not contain the element, it is
+     * unchanged.
+     *
+     * @param element element to be removed from this list, if present
+     * @return true if this list contained the specified element
+     */
+    public final boolean removeValue(final double element) {
+        int index = indexOf(element);
+        if (index < 0) {
+            return false;
+        }
+        remove(index);
+        return true;
+    }
+
+    /**
+     * Removes the element at the specified position in this DoubleArrayList.
+     * Shifts any subsequent elements to the left (subtracts one from their
+     * indices).
+     *
+     * @param index the index of the element to be removed
+     * @return the element that was removed from the DoubleArrayList
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public final double remove(final int index) {
+        final double element = get(index);
+        System.arraycopy(array, index + 1, array, index, size - index - 1);
+        size--;
+        return element;
+    }
+
+    /**
+     * Removes all the elements from this DoubleArrayList.  The list will
+     * be empty after this call returns.
+     */
+    public final void clear() {
+        size = 0;
+    }
+
+    /**
+     * Replaces the element at the specified position in this DoubleArrayList with
+     * the specified element.
+     *
+     * @param index index of the element to replace
+     * @param element element to be stored at the specified position
+     * @return the element previously at the specified position
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public final double set(final int index, final double element) {
+        final double oldElement = get(index);
+        array[index] = element;
+        return oldElement;
+    }
+
+    /**
+     * Returns the element at the specified position in this DoubleArrayList.
+     *
+     * @param  index index of the element to return
+     * @return the element at the specified position in this DoubleArrayList
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public final double get(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException();
+        }
+        return array[index];
+    }
+
+    /**
+     * Sorts the elements in this DoubleArrayList into ascending numerical order.
+     * The order is the one of {@link Double#compare(double, double)}:
+     * -0.0 goes before 0.0 and NaN values go last.
+     * The sort is done in place by a dual-pivot quicksort over the primitive array,
+     * so no element is boxed and no comparator is called.
+     */
+    public final void sort() {
+        Arrays.sort(array, 0, size);
+    }
+
+    private class ElementsIterator implements PrimitiveIterator.OfDouble {
+
+        private static final int LAST_IS_NOT_SET = -1;
+        private int index;
+        private int lastIndex = LAST_IS_NOT_SET;
+
+        @Override
+        public boolean hasNext() {
+            return DoubleArrayList.this.size() > index;
+        }
+
+        @Override
+        public double nextDouble() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastIndex = index++;
+            return DoubleArrayList.this.array[lastIndex];
+        }
+
+        @Override
+        public void remove() {
+            if (lastIndex == LAST_IS_NOT_SET) {
+                throw new IllegalStateException();
+            }
+            DoubleArrayList.this.remove(lastIndex);
+            index--;
+            lastIndex = LAST_IS_NOT_SET;
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package org.arraylistandhashmap.arraylist;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * This is a list over a gap buffer, for the clustered edits in the middle of a list.
+ *
+ * <p>The unused part of the array is not kept at its end like in the {@link ArrayList},
+ * but as a <i>gap</i> at the position of the last edit: the elements before the gap
+ * start the array, and the elements after it end the array. An insertion or a removal
+ * first moves the gap to its index, by copying the elements between the gap and the index,
+ * then it only takes or gives back one slot of the gap. So a series of edits close to each
+ * other, like the typing at a cursor, copies only the elements between the edits instead of
+ * shifting the whole tail of the list every time.
+ *
+ * <p>The element at an index is found by skipping the gap, so get and set take O(1) time.
+ *
+ * <p>As elements are added to a GapBufferList, its capacity doubles automatically.
+ *
+ * @param <T> the type of elements in this list
+ *
+ * @author  rassandev
+ */
+public class GapBufferList<T> implements Iterable<T> {
+
+    private static final int DEFAULT_CAPACITY = 10;
+
+    /**
+     * The maximal array length, some VMs reserve a few header words in an array.
+     */
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    private Object[] array;
+
+    /**
+     * The index of the first slot of the gap.
+     */
+    private int gapStart;
+
+    /**
+     * The index of the first element after the gap.
+     */
+    private int gapEnd;
+
+    /**
+     * Constructs an empty GapBufferList with an initial capacity of ten.
+     */
+    public GapBufferList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty GapBufferList with the specified initial capacity.
+     *
+     * @param  initialCapacity  the initial capacity of the GapBufferList
+     * @throws IllegalArgumentException if the specified initial capacity
+     *         is negative
+     */
+    public GapBufferList(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Illegal Capacity: "
+                    + initialCapacity);
+        }
+        array = new Object[initialCapacity];
+        gapEnd = initialCapacity;
+    }
+
+    /**
+     * Returns the number of elements in this GapBufferList.
+     *
+     * @return the number of elements in this GapBufferList
+     */
+    public final int size() {
+        return array.length - (gapEnd - gapStart);
+    }
+
+    /**
+     * Returns true if this GapBufferList contains no elements.
+     *
+     * @return true if this GapBufferList contains no elements
+     */
+    public final boolean isEmpty() {
+        return this.size() == 0;
+    }
+
+    /**
+     * Returns the capacity of this GapBufferList, the length of its array.
+     *
+     * @return the number of elements this GapBufferList can hold without growing
+     */
+    public final int capacity() {
+        return array.length;
+    }
+
+    /**
+     * Returns true if this GapBufferList contains the specified element.
+     *
+     * @param o element whose presence in this GapBufferList is to be tested
+     * @return true if this GapBufferList contains the specified element
+     */
+    public final boolean contains(final Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    private int indexOf(final Object o) {
+        for (int i = 0; i < gapStart; i++) {
+            if (Objects.equals(array[i], o)) {
+                return i;
+            }
+        }
+        for (int i = gapEnd; i < array.length; i++) {
+            if (Objects.equals(array[i], o)) {
+                return i - (gapEnd - gapStart);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the element at the specified position in this GapBufferList.
+     *
+     * @param  index index of the element to return
+     * @return the element at the specified position in this GapBufferList
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public final T get(final int index) {
+        checkIndex(index);
+        return (T) array[slot(index)];
+    }
+
+    /**
+     * Replaces the element at the specified position in this GapBufferList with
+     * the specified element. The gap is not moved.
+     *
+     * @param index index of the element to replace
+     * @param element element to be stored at the specified position
+     * @return the element previously at the specified position
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public final T set(final int index, final T element) {
+        checkIndex(index);
+        final int slot = slot(index);
+        final T previous = (T) array[slot];
+        array[slot] = element;
+        return previous;
+    }
+
+    /**
+     * Appends the specified element to the end of this GapBufferList.
+     *
+     * @param element element to be appended to this list
+     * @return true after successful addition
+     */
+    public final boolean add(final T element) {
+        add(size(), element);
+        return true;
+    }
+
+    /**
+     * Inserts the specified element at the specified position in this
+     * GapBufferList. The gap is moved to the index first, which copies
+     * the elements between the previous edit and this one.
+     *
+     * @param index index at which the specified element is to be inserted
+     * @param element element to be inserted
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public final void add(final int index, final T element) {
+        if (index > size() || index < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (gapStart == gapEnd) {
+            grow();
+        }
+        moveGap(index);
+        array[gapStart++] = element;
+    }
+
+    /**
+     * Removes the element at the specified position in this GapBufferList.
+     * The gap is moved to the index first, then it takes the slot of the element.
+     *
+     * @param index the index of the element to be removed
+     * @return the element that was removed from the GapBufferList
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public final T remove(final int index) {
+        checkIndex(index);
+        moveGap(index);
+        final T element = (T) array[gapEnd];
+        array[gapEnd++] = null;
+        return element;
+    }
+
+    /**
+     * Removes the first occurrence of the specified element from this GapBufferList
+     * if it is present.  If the list does not contain the element, it is
+     * unchanged.
+     *
+     * @param element element to be removed from this list, if present
+     * @return true if this list contained the specified element
+     */
+    public final boolean remove(final Object element) {
+        final int index = indexOf(element);
+        if (index < 0) {
+            return false;
+        }
+        remove(index);
+        return true;
+    }
+
+    /**
+     * Removes all the elements from this GapBufferList.  The list will
+     * be empty after this call returns.
+     */
+    public final void clear() {
+        Arrays.fill(array, null);
+        gapStart = 0;
+        gapEnd = array.length;
+    }
+
+    /**
+     * Returns an array containing all the elements in this GapBufferList
+     * in a proper sequence (from first to a last element).
+     *
+     * @return an array containing all the elements in this GapBufferList in
+     *        a proper sequence
+     */
+    public final Object[] toArray() {
+        final Object[] elements = new Object[size()];
+        System.arraycopy(array, 0, elements, 0, gapStart);
+        System.arraycopy(array, gapEnd, elements, gapStart, array.length - gapEnd);
+        return elements;
+    }
+
+    /**
+     * Returns an iterator over the elements in this GapBufferList in a proper sequence.
+     *
+     * @return an iterator over the elements in this GapBufferList in a proper sequence
+     */
+    @Override
+    public final Iterator<T> iterator() {
+        return new ElementsIterator();
+    }
+
+    private int slot(final int index) {
+        return index < gapStart ? index : index + (gapEnd - gapStart);
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+
+    /**
+     * Moves the gap so that it starts at the given index, copying the elements
+     * between the gap and the index to the other side of the gap.
+     * The slots left by the copied elements are cleared, so the gap holds no references.
+     */
+    private void moveGap(final int index) {
+        final int gapLength = gapEnd - gapStart;
+        if (index < gapStart) {
+            final int count = gapStart - index;
+            System.arraycopy(array, index, array, index + gapLength, count);
+            Arrays.fill(array, index, Math.min(gapStart, index + gapLength), null);
+        } else if (index > gapStart) {
+            final int count = index - gapStart;
+            System.arraycopy(array, gapEnd, array, gapStart, count);
+            Arrays.fill(array, Math.max(gapEnd, index), gapEnd + count, null);
+        }
+        gapStart = index;
+        gapEnd = index + gapLength;
+    }
+
+    /**
+     * Doubles the array when the gap is empty. The elements after the gap
+     * are moved to the end of the new array, so the gap takes all the new slots.
+     */
+    private void grow() {
+        final int length = array.length;
+        if (length == MAX_ARRAY_LENGTH) {
+            throw new OutOfMemoryError("Required array length too large");
+        }
+
+        final int newLength = (int) Math.min(MAX_ARRAY_LENGTH, Math.max(DEFAULT_CAPACITY, 2L * length));
+        final Object[] newArray = new Object[newLength];
+        final int tail = length - gapEnd;
+        System.arraycopy(array, 0, newArray, 0, gapStart);
+        System.arraycopy(array, gapEnd, newArray, newLength - tail, tail);
+        array = newArray;
+        gapEnd = newLength - tail;
+    }
+
+    private class ElementsIterator implements Iterator<T> {
+
+        private static final int LAST_IS_NOT_SET = -1;
+        private int index;
+        private int lastIndex = LAST_IS_NOT_SET;
+
+        @Override
+        public boolean hasNext() {
+            return GapBufferList.this.size() > index;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastIndex = index++;
+            return GapBufferList.this.get(lastIndex);
+        }
+
+        @Override
+        public void remove() {
+            if (lastIndex == LAST_IS_NOT_SET) {
+                throw new IllegalStateException();
+            }
+            GapBufferList.this.remove(lastIndex);
+            index--;
+            lastIndex = LAST_IS_NOT_SET;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package org.arraylistandhashmap.arraylist;
+
+/**
+ * Decides how much the array of an {@link ArrayList} grows when it is full.
+ *
+ * <p>The policy gives the new capacity for the current one. The ArrayList
+ * never uses less than the capacity it needs, nor more than the maximal array length,
+ * so a policy does not have to care about these bounds nor about int overflows.
+ *
+ * <p>A larger growth factor means fewer copies of the array, a smaller one means less
+ * slack: a list that has just grown has up to a half of its array unused
+ * with {@link #doubling()}, and up to a third with {@link #oneAndAHalf()}.
+ * The {@link #capped(int)} and {@link #chunked(int)} policies bound the slack
+ * of the large lists by a number of elements.
+ *
+ * @author  rassandev
+ */
+@FunctionalInterface
+public interface GrowthPolicy {
+
+    /**
+     * Returns the new capacity of a full array.
+     *
+     * @param currentCapacity the current capacity of the array
+     * @param minCapacity the capacity needed to hold the elements being added
+     * @return the new capacity, it is raised to minCapacity if it is smaller
+     */
+    int newCapacity(int currentCapacity, int minCapacity);
+
+    /**
+     * Returns the policy doubling the capacity, the default one.
+     *
+     * @return the policy doubling the capacity
+     */
+    static GrowthPolicy doubling() {
+        return (currentCapacity, minCapacity) -> currentCapacity * 2;
+    }
+
+    /**
+     * Returns the policy growing the capacity by a half, like {@link java.util.ArrayList}.
+     *
+     * @return the policy growing the capacity by a half
+     */
+    static GrowthPolicy oneAndAHalf() {
+        return (currentCapacity, minCapacity) -> currentCapacity + (currentCapacity >> 1);
+    }
+
+    /**
+     * Returns the policy doubling the capacity until the array grows by maxIncrement
+     * elements at once, and then growing it by maxIncrement elements.
+     *
+     * @param  maxIncrement the maximal number of elements the array grows by
+     * @return the policy doubling the capacity up to the given increment
+     * @throws IllegalArgumentException if the increment is not positive
+     */
+    static GrowthPolicy capped(int maxIncrement) {
+        if (maxIncrement <= 0) {
+            throw new IllegalArgumentException("Illegal increment: " + maxIncrement);
+        }
+        return (currentCapacity, minCapacity) -> currentCapacity + Math.min(currentCapacity, maxIncrement);
+    }
+
+    /**
+     * Returns the policy growing the capacity to the next multiple of chunkSize.
+     *
+     * @param  chunkSize the number of elements the capacity is a multiple of
+     * @return the policy growing the capacity by chunks
+     * @throws IllegalArgumentException if the chunk size is not positive
+     */
+    static GrowthPolicy chunked(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Illegal chunk size: " + chunkSize);
+        }
+        return (currentCapacity, minCapacity) ->
+                (int) Math.min(Integer.MAX_VALUE, ((long) minCapacity + chunkSize - 1) / chunkSize * chunkSize);
+    }
+}
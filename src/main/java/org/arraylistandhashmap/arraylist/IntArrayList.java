@@ -0,0 +1,269 @@
+package org.arraylistandhashmap.arraylist;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * This is a primitive specialization of the {@link ArrayList} for int elements.
+ *
+ * <p>The elements are stored in an int[] array, so they are never boxed:
+ * an element takes 4 bytes instead of a reference plus an Integer object,
+ * and neither add nor get allocates.
+ *
+ * <p>Each IntArrayList instance has a <i>capacity</i>.  The capacity is
+ * the size of the array used to store the elements in the list.  It is always
+ * at least as large as the list size.  As elements are added to an IntArrayList,
+ * its capacity grows automatically.
+ *
+ * @author  rassandev
+ */
+public class IntArrayList {
+
+    private static final int DEFAULT_CAPACITY = 10;
+    private static final int MULTIPLIER = 2;
+
+    private int[] array;
+
+    private int size;
+
+    /**
+     * Constructs an empty IntArrayList with an initial capacity of ten.
+     */
+    public IntArrayList() {
+        array = new int[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Constructs an empty IntArrayList with the specified initial capacity.
+     *
+     * @param  initialCapacity  the initial capacity of the IntArrayList
+     * @throws IllegalArgumentException if the specified initial capacity
+     *         is negative
+     */
+    public IntArrayList(int initialCapacity) {
+        if (initialCapacity > 0) {
+            array = new int[initialCapacity];
+        } else {
+            throw new IllegalArgumentException("Illegal Capacity: "
+                    + initialCapacity);
+        }
+    }
+
+    /**
+     * Returns the number of elements in this IntArrayList.
+     *
+     * @return the number of elements in this IntArrayList
+     */
+    public final int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns true if this IntArrayList contains no elements.
+     *
+     * @return true if this IntArrayList contains no elements
+     */
+    public final boolean isEmpty() {
+        return this.size() == 0;
+    }
+
+    /**
+     * Returns true if this IntArrayList contains the specified element.
+     *
+     * @param element element whose presence in this IntArrayList is to be tested
+     * @return true if this IntArrayList contains the specified element
+     */
+    public final boolean contains(final int element) {
+        return indexOf(element) >= 0;
+    }
+
+    /**
+     * Returns the index of the first occurrence of the specified element
+     * in this IntArrayList, or -1 if this list does not contain the element.
+     *
+     * @param element element to search for
+     * @return the index of the first occurrence of the element, or -1
+     */
+    public final int indexOf(final int element) {
+        for (int i = 0; i < size; i++) {
+            if (array[i] == element) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns an iterator over the elements in this IntArrayList in a proper sequence.
+     *
+     * @return an iterator over the elements in this IntArrayList in a proper sequence
+     */
+    public final PrimitiveIterator.OfInt iterator() {
+        return new ElementsIterator();
+    }
+
+    /**
+     * Returns an array containing all the elements in this IntArrayList
+     * in a proper sequence (from first to a last element).
+     *
+     * @return an array containing all the elements in this IntArrayList
+     */
+    public final int[] toArray() {
+        final int[] newM = new int[this.size()];
+        System.arraycopy(array, 0, newM, 0, this.size());
+        return newM;
+    }
+
+    private void grow() {
+        final int[] oldArray = array;
+        array = new int[Math.max(1, oldArray.length * MULTIPLIER)];
+        System.arraycopy(oldArray, 0, array, 0, size);
+    }
+
+    /**
+     * Appends the specified element to the end of this IntArrayList.
+     * If the array is full, then it is doubled.
+     *
+     * @param element element to be appended to this list
+     * @return true after successful addition
+     */
+    public final boolean add(final int element) {
+        if (array.length == size) {
+            grow();
+        }
+        array[size++] = element;
+        return true;
+    }
+
+    /**
+     * Inserts the specified element at the specified position in this
+     * IntArrayList. Shifts the element currently at that position (if any) and
+     * any subsequent elements to the right (adds one to their indices).
+     *
+     * @param index index at which the specified element is to be inserted
+     * @param element element to be inserted
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public final void add(final int index, final int element) {
+        if (index > size || index < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (array.length == size) {
+            grow();
+        }
+        System.arraycopy(array, index, array, index + 1, size - index);
+        array[index] = element;
+        size++;
+    }
+
+    /**
+     * Removes the first occurrence of the specified element from this IntArrayList
+     * if it is present.  If the list does not contain the element, it is
+     * unchanged.
+     *
+     * @param element element to be removed from this list, if present
+     * @return true if this list contained the specified element
+     */
+    public final boolean removeValue(final int element) {
+        int index = indexOf(element);
+        if (index < 0) {
+            return false;
+        }
+        remove(index);
+        return true;
+    }
+
+    /**
+     * Removes the element at the specified position in this IntArrayList.
+     * Shifts any subsequent elements to the left (subtracts one from their
+     * indices).
+     *
+     * @param index the index of the element to be removed
+     * @return the element that was removed from the IntArrayList
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public final int remove(final int index) {
+        final int element = get(index);
+        System.arraycopy(array, index + 1, array, index, size - index - 1);
+        size--;
+        return element;
+    }
+
+    /**
+     * Removes all the elements from this IntArrayList.  The list will
+     * be empty after this call returns.
+     */
+    public final void clear() {
+        size = 0;
+    }
+
+    /**
+     * Replaces the element at the specified position in this IntArrayList with
+     * the specified element.
+     *
+     * @param index index of the element to replace
+     * @param element element to be stored at the specified position
+     * @return the element previously at the specified position
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public final int set(final int index, final int element) {
+        final int oldElement = get(index);
+        array[index] = element;
+        return oldElement;
+    }
+
+    /**
+     * Returns the element at the specified position in this IntArrayList.
+     *
+     * @param  index index of the element to return
+     * @return the element at the specified position in this IntArrayList
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public final int get(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException();
+        }
+        return array[index];
+    }
+
+    /**
+     * Sorts the elements in this IntArrayList into ascending numerical order.
+     * The sort is done in place by a dual-pivot quicksort over the primitive array,
+     * so no element is boxed and no comparator is called.
+     */
+    public final void sort() {
+        Arrays.sort(array, 0, size);
+    }
+
+    private class ElementsIterator implements PrimitiveIterator.OfInt {
+
+        private static final int LAST_IS_NOT_SET = -1;
+        private int index;
+        private int lastIndex = LAST_IS_NOT_SET;
+
+        @Override
+        public boolean hasNext() {
+            return IntArrayList.this.size() > index;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastIndex = index++;
+            return IntArrayList.this.array[lastIndex];
+        }
+
+        @Override
+        public void remove() {
+            if (lastIndex == LAST_IS_NOT_SET) {
+                throw new IllegalStateException();
+            }
+            IntArrayList.this.remove(lastIndex);
+            index--;
+            lastIndex = LAST_IS_NOT_SET;
+        }
+    }
+}
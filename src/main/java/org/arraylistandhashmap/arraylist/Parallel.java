@@ -0,0 +1,90 @@
+package org.arraylistandhashmap.arraylist;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Splits a range of indices into chunks processed in parallel by the common {@link ForkJoinPool}.
+ *
+ * <p>A range is split in halves until the pieces are not larger than a chunk. There are about
+ * four chunks per worker thread, so that the threads balance their load by stealing the chunks,
+ * but never less than {@link #MIN_CHUNK} indices in a chunk, so that short ranges are processed
+ * by the calling thread alone. The chunk boundaries are multiples of 64, so the chunks can
+ * update the words of a shared bitmap without synchronization.
+ *
+ * @author  rassandev
+ */
+final class Parallel {
+
+    /**
+     * The minimal number of indices in a chunk.
+     */
+    private static final int MIN_CHUNK = 1 << 12;
+
+    /**
+     * The chunk boundaries are multiples of this number.
+     */
+    private static final int CHUNK_ALIGNMENT = Long.SIZE;
+
+    private Parallel() {
+    }
+
+    /**
+     * An action over the indices from, inclusive, to to, exclusive.
+     */
+    @FunctionalInterface
+    interface RangeAction {
+        void apply(int from, int to);
+    }
+
+    /**
+     * Applies the action to the chunks of the range from 0 to the given length, in parallel.
+     * Returns after the action is applied to every chunk, an exception
+     * thrown by the action is rethrown by this method.
+     */
+    static void forEachChunk(int length, RangeAction action) {
+        int chunk = chunkSize(length);
+
+        if (length <= chunk) {
+            action.apply(0, length);
+        } else {
+            ForkJoinPool.commonPool().invoke(new ChunkTask(0, length, chunk, action));
+        }
+    }
+
+    /**
+     * Returns the chunk size for a range of the given length.
+     */
+    static int chunkSize(int length) {
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        int chunk = Math.max(MIN_CHUNK, length / (parallelism * 4));
+        return (chunk + CHUNK_ALIGNMENT - 1) & -CHUNK_ALIGNMENT;
+    }
+
+    private static final class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final int chunk;
+        private final transient RangeAction action;
+
+        private ChunkTask(int from, int to, int chunk, RangeAction action) {
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunk) {
+                action.apply(from, to);
+                return;
+            }
+
+            int middle = from + Math.max(1, (to - from) / 2 / chunk) * chunk;
+            invokeAll(new ChunkTask(from, middle, chunk, action), new ChunkTask(middle, to, chunk, action));
+        }
+    }
+}
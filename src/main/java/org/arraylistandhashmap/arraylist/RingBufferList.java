@@ -0,0 +1,399 @@
+package org.arraylistandhashmap.arraylist;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * This is a list over a circular array, for queue-like usage of an {@link ArrayList}.
+ *
+ * <p>The elements lie in the array from the <i>head</i> index onward, and wrap around
+ * to the start of the array. The length of the array is a power of two, so the
+ * element at an index is found by a mask: {@code array[(head + index) & (length - 1)]},
+ * and get and set take O(1) time. Adding or removing an element at either end
+ * only moves the head or the size, so it takes O(1) time instead of shifting
+ * the whole list like {@link ArrayList#add(int, Object)} does at index 0.
+ *
+ * <p>An insertion or a removal in the middle shifts the elements on the shorter side
+ * of the index, so it moves at most a half of the list.
+ *
+ * <p>As elements are added to a RingBufferList, its capacity doubles automatically.
+ *
+ * @param <T> the type of elements in this list
+ *
+ * @author  rassandev
+ */
+public class RingBufferList<T> implements Iterable<T> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * The maximal capacity, the largest power of two an array can have.
+     */
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private Object[] array;
+
+    private int head;
+
+    private int size;
+
+    /**
+     * Constructs an empty RingBufferList with an initial capacity of sixteen.
+     */
+    public RingBufferList() {
+        array = new Object[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Constructs an empty RingBufferList with the specified initial capacity,
+     * rounded up to a power of two.
+     *
+     * @param  initialCapacity  the initial capacity of the RingBufferList
+     * @throws IllegalArgumentException if the specified initial capacity
+     *         is not positive or larger than 2^30
+     */
+    public RingBufferList(int initialCapacity) {
+        if (initialCapacity <= 0 || initialCapacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Illegal Capacity: "
+                    + initialCapacity);
+        }
+        array = new Object[Integer.highestOneBit(initialCapacity * 2 - 1)];
+    }
+
+    /**
+     * Returns the number of elements in this RingBufferList.
+     *
+     * @return the number of elements in this RingBufferList
+     */
+    public final int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns true if this RingBufferList contains no elements.
+     *
+     * @return true if this RingBufferList contains no elements
+     */
+    public final boolean isEmpty() {
+        return this.size() == 0;
+    }
+
+    /**
+     * Returns the capacity of this RingBufferList, the length of its array.
+     *
+     * @return the number of elements this RingBufferList can hold without growing
+     */
+    public final int capacity() {
+        return array.length;
+    }
+
+    /**
+     * Returns true if this RingBufferList contains the specified element.
+     *
+     * @param o element whose presence in this RingBufferList is to be tested
+     * @return true if this RingBufferList contains the specified element
+     */
+    public final boolean contains(final Object o) {
+        for (int i = 0; i < size; i++) {
+            if (Objects.equals(array[slot(i)], o)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the element at the specified position in this RingBufferList.
+     *
+     * @param  index index of the element to return
+     * @return the element at the specified position in this RingBufferList
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public final T get(final int index) {
+        checkIndex(index);
+        return (T) array[slot(index)];
+    }
+
+    /**
+     * Replaces the element at the specified position in this RingBufferList with
+     * the specified element.
+     *
+     * @param index index of the element to replace
+     * @param element element to be stored at the specified position
+     * @return the element previously at the specified position
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public final T set(final int index, final T element) {
+        checkIndex(index);
+        final int slot = slot(index);
+        final T previous = (T) array[slot];
+        array[slot] = element;
+        return previous;
+    }
+
+    /**
+     * Appends the specified element to the end of this RingBufferList.
+     *
+     * @param element element to be appended to this list
+     * @return true after successful addition
+     */
+    public final boolean add(final T element) {
+        addLast(element);
+        return true;
+    }
+
+    /**
+     * Inserts the specified element at the beginning of this RingBufferList in O(1) time.
+     *
+     * @param element element to be inserted
+     */
+    public final void addFirst(final T element) {
+        growIfFull();
+        head = (head - 1) & (array.length - 1);
+        array[head] = element;
+        size++;
+    }
+
+    /**
+     * Appends the specified element to the end of this RingBufferList in O(1) time.
+     *
+     * @param element element to be appended
+     */
+    public final void addLast(final T element) {
+        growIfFull();
+        array[slot(size)] = element;
+        size++;
+    }
+
+    /**
+     * Inserts the specified element at the specified position in this
+     * RingBufferList. Shifts the elements before or after the position,
+     * whichever are fewer, so the call moves at most a half of the list.
+     *
+     * @param index index at which the specified element is to be inserted
+     * @param element element to be inserted
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public final void add(final int index, final T element) {
+        if (index > size || index < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+        growIfFull();
+
+        final int mask = array.length - 1;
+        if (index < size / 2) {
+            head = (head - 1) & mask;
+            for (int i = 0; i < index; i++) {
+                array[slot(i)] = array[slot(i + 1)];
+            }
+        } else {
+            for (int i = size; i > index; i--) {
+                array[slot(i)] = array[slot(i - 1)];
+            }
+        }
+        array[slot(index)] = element;
+        size++;
+    }
+
+    /**
+     * Returns the first element of this RingBufferList.
+     *
+     * @return the first element of this RingBufferList
+     * @throws NoSuchElementException if this RingBufferList is empty
+     */
+    public final T getFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return (T) array[head];
+    }
+
+    /**
+     * Returns the last element of this RingBufferList.
+     *
+     * @return the last element of this RingBufferList
+     * @throws NoSuchElementException if this RingBufferList is empty
+     */
+    public final T getLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return (T) array[slot(size - 1)];
+    }
+
+    /**
+     * Removes and returns the first element of this RingBufferList in O(1) time.
+     *
+     * @return the first element of this RingBufferList
+     * @throws NoSuchElementException if this RingBufferList is empty
+     */
+    public final T removeFirst() {
+        final T element = getFirst();
+        array[head] = null;
+        head = (head + 1) & (array.length - 1);
+        size--;
+        return element;
+    }
+
+    /**
+     * Removes and returns the last element of this RingBufferList in O(1) time.
+     *
+     * @return the last element of this RingBufferList
+     * @throws NoSuchElementException if this RingBufferList is empty
+     */
+    public final T removeLast() {
+        final T element = getLast();
+        array[slot(size - 1)] = null;
+        size--;
+        return element;
+    }
+
+    /**
+     * Removes the element at the specified position in this RingBufferList.
+     * Shifts the elements before or after the position, whichever are fewer,
+     * so the call moves at most a half of the list.
+     *
+     * @param index the index of the element to be removed
+     * @return the element that was removed from the RingBufferList
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public final T remove(final int index) {
+        final T element = get(index);
+
+        if (index < size / 2) {
+            for (int i = index; i > 0; i--) {
+                array[slot(i)] = array[slot(i - 1)];
+            }
+            array[head] = null;
+            head = (head + 1) & (array.length - 1);
+        } else {
+            for (int i = index; i < size - 1; i++) {
+                array[slot(i)] = array[slot(i + 1)];
+            }
+            array[slot(size - 1)] = null;
+        }
+        size--;
+        return element;
+    }
+
+    /**
+     * Removes the first occurrence of the specified element from this RingBufferList
+     * if it is present.  If the list does not contain the element, it is
+     * unchanged.
+     *
+     * @param element element to be removed from this list, if present
+     * @return true if this list contained the specified element
+     */
+    public final boolean remove(final Object element) {
+        for (int i = 0; i < size; i++) {
+            if (Objects.equals(array[slot(i)], element)) {
+                remove(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes all the elements from this RingBufferList.  The list will
+     * be empty after this call returns.
+     */
+    public final void clear() {
+        Arrays.fill(array, null);
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Returns an array containing all the elements in this RingBufferList
+     * in a proper sequence (from first to a last element).
+     *
+     * @return an array containing all the elements in this RingBufferList in
+     *        a proper sequence
+     */
+    public final Object[] toArray() {
+        final Object[] elements = new Object[size];
+        copyTo(elements);
+        return elements;
+    }
+
+    /**
+     * Returns an iterator over the elements in this RingBufferList in a proper sequence.
+     *
+     * @return an iterator over the elements in this RingBufferList in a proper sequence
+     */
+    @Override
+    public final Iterator<T> iterator() {
+        return new ElementsIterator();
+    }
+
+    private int slot(final int index) {
+        return (head + index) & (array.length - 1);
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+
+    /**
+     * Copies the elements in order to the start of the target array,
+     * by two {@link System#arraycopy} calls when they wrap around.
+     */
+    private void copyTo(final Object[] target) {
+        final int firstPart = Math.min(size, array.length - head);
+        System.arraycopy(array, head, target, 0, firstPart);
+        System.arraycopy(array, 0, target, firstPart, size - firstPart);
+    }
+
+    /**
+     * Doubles the array when it is full, and unwraps the elements to its start.
+     */
+    private void growIfFull() {
+        if (size < array.length) {
+            return;
+        }
+        if (array.length == MAX_CAPACITY) {
+            throw new OutOfMemoryError("Required array length too large");
+        }
+
+        final Object[] newArray = new Object[array.length * 2];
+        copyTo(newArray);
+        array = newArray;
+        head = 0;
+    }
+
+    private class ElementsIterator implements Iterator<T> {
+
+        private static final int LAST_IS_NOT_SET = -1;
+        private int index;
+        private int lastIndex = LAST_IS_NOT_SET;
+
+        @Override
+        public boolean hasNext() {
+            return RingBufferList.this.size() > index;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastIndex = index++;
+            return RingBufferList.this.get(lastIndex);
+        }
+
+        @Override
+        public void remove() {
+            if (lastIndex == LAST_IS_NOT_SET) {
+                throw new IllegalStateException();
+            }
+            RingBufferList.this.remove(lastIndex);
+            index--;
+            lastIndex = LAST_IS_NOT_SET;
+        }
+    }
+}
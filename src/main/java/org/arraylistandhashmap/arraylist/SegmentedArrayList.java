@@ -0,0 +1,890 @@
+package org.arraylistandhashmap.arraylist;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * This is a variant of the {@link ArrayList} for very large lists,
+ * which stores its elements in fixed-size chunks instead of a single array.
+ *
+ * <p>The chunk size is a power of two, so the element at an index is found
+ * by a shift and a mask: {@code chunks[index >>> shift][index & mask]}, and get and set
+ * still take O(1) time. When the list is full, a new chunk is added and no element
+ * is copied: only the spine, the array of the chunks, is copied when it is full,
+ * and it is smaller than the list by the chunk size. So a large list never needs
+ * a contiguous array nor the transient memory of a copy, and its chunks are small
+ * enough not to be humongous objects for the G1 collector.
+ *
+ * <p>A small list does not take a whole chunk: its first chunk grows by doubling,
+ * like the array of an ArrayList, until it reaches the chunk size.
+ *
+ * <p>The SegmentedArrayList has the same methods as the ArrayList. The insertions and removals
+ * in the middle of the list shift the following elements across the chunks, so they take O(n)
+ * time like in the ArrayList. The sorts copy the elements into a temporary array, sort it and
+ * copy them back, so they need a contiguous array while they run.
+ *
+ * @param <T> the type of elements in this list
+ *
+ * @author  rassandev
+ */
+public class SegmentedArrayList<T> implements Iterable<T> {
+
+    private static final int DEFAULT_CAPACITY = 10;
+
+    /**
+     * The default number of elements in a chunk, 64 KB of compressed references.
+     */
+    private static final int DEFAULT_CHUNK_SIZE = 1 << 14;
+
+    /**
+     * The size above which the argument of removeAll and retainAll is put in a hash set.
+     */
+    private static final int HASH_PROBE_THRESHOLD = 16;
+
+    private static final Object[][] EMPTY_SPINE = {};
+
+    private Object[][] chunks;
+
+    private int chunkCount;
+
+    private int size;
+
+    private final int shift;
+
+    private final int mask;
+
+    /**
+     * Constructs an empty SegmentedArrayList with an initial capacity of ten
+     * and chunks of 16384 elements.
+     */
+    public SegmentedArrayList() {
+        this(DEFAULT_CAPACITY, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Constructs an empty SegmentedArrayList with the specified initial capacity
+     * and chunks of 16384 elements.
+     *
+     * @param  initialCapacity  the initial capacity of the SegmentedArrayList
+     * @throws IllegalArgumentException if the specified initial capacity
+     *         is negative
+     */
+    public SegmentedArrayList(int initialCapacity) {
+        this(initialCapacity, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Constructs an empty SegmentedArrayList with the specified initial capacity
+     * and chunk size.
+     *
+     * @param  initialCapacity  the initial capacity of the SegmentedArrayList
+     * @param  chunkSize  the number of elements in a chunk, a power of two
+     * @throws IllegalArgumentException if the specified initial capacity
+     *         is negative, or if the chunk size is not a power of two
+     */
+    public SegmentedArrayList(int initialCapacity, int chunkSize) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Illegal Capacity: "
+                    + initialCapacity);
+        }
+        if (Integer.bitCount(chunkSize) != 1) {
+            throw new IllegalArgumentException("Illegal chunk size: "
+                    + chunkSize);
+        }
+        shift = Integer.numberOfTrailingZeros(chunkSize);
+        mask = chunkSize - 1;
+        chunks = EMPTY_SPINE;
+        growTo(initialCapacity);
+    }
+
+    /**
+     * Returns the capacity of this SegmentedArrayList, the number of elements
+     * its chunks can hold.
+     *
+     * @return the number of elements this SegmentedArrayList can hold without growing
+     */
+    public final int capacity() {
+        if (chunkCount == 0) {
+            return 0;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, ((long) chunkCount - 1 << shift) + chunks[chunkCount - 1].length);
+    }
+
+    /**
+     * Increases the capacity of this SegmentedArrayList, if necessary,
+     * so it can hold at least the specified number of elements.
+     *
+     * @param minCapacity the desired minimum capacity
+     */
+    public final void ensureCapacity(final int minCapacity) {
+        growTo(minCapacity);
+    }
+
+    /**
+     * Trims the capacity of this SegmentedArrayList to its current size.
+     * The chunks after the last element are released; the first chunk
+     * is trimmed to the size if the list fits in it.
+     */
+    public final void trimToSize() {
+        final int needed = chunksFor(size);
+        if (needed == 1 && size < chunks[0].length) {
+            chunks[0] = Arrays.copyOf(chunks[0], size);
+        }
+        if (needed < chunks.length) {
+            chunks = needed == 0 ? EMPTY_SPINE : Arrays.copyOf(chunks, needed);
+            chunkCount = needed;
+        }
+    }
+
+    /**
+     * Returns the number of elements in this SegmentedArrayList.
+     *
+     * @return the number of elements in this SegmentedArrayList
+     */
+    public final int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns true if this SegmentedArrayList contains no elements.
+     *
+     * @return true if this SegmentedArrayList contains no elements
+     */
+    public final boolean isEmpty() {
+        return this.size() == 0;
+    }
+
+    /**
+     * Returns true if this SegmentedArrayList contains the specified element.
+     *
+     * @param o element whose presence in this SegmentedArrayList is to be tested
+     * @return true if this SegmentedArrayList contains the specified element
+     */
+    public final boolean contains(final Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    private int indexOf(final Object o) {
+        for (int c = 0; (long) c << shift < size; c++) {
+            final Object[] chunk = chunks[c];
+            final int base = c << shift;
+            final int end = Math.min(size - base, chunk.length);
+            for (int i = 0; i < end; i++) {
+                if (Objects.equals(chunk[i], o)) {
+                    return base + i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns an iterator over the elements in this SegmentedArrayList in a proper sequence.
+     *
+     * @return an iterator over the elements in this SegmentedArrayList in a proper sequence
+     */
+    @Override
+    public final Iterator<T> iterator() {
+        return new ElementsIterator();
+    }
+
+    /**
+     * Returns a spliterator over the elements in this SegmentedArrayList.
+     * It is ORDERED, SIZED and SUBSIZED: it splits the range of indices in halves,
+     * so a parallel stream balances well over the fork-join workers.
+     * The spliterator is late-binding: the size is read at the first traversal or split.
+     *
+     * @return a spliterator over the elements in this SegmentedArrayList
+     */
+    @Override
+    public final Spliterator<T> spliterator() {
+        return new ElementsSpliterator(0, -1);
+    }
+
+    /**
+     * Returns a sequential stream over the elements in this SegmentedArrayList.
+     *
+     * @return a sequential stream over the elements in this SegmentedArrayList
+     */
+    public final Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Returns a parallel stream over the elements in this SegmentedArrayList.
+     *
+     * @return a parallel stream over the elements in this SegmentedArrayList
+     */
+    public final Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Returns an array containing all the elements in this SegmentedArrayList
+     * in a proper sequence (from first to a last element).
+     *
+     * @return an array containing all the elements in this SegmentedArrayList in
+     *        a proper sequence
+     */
+    public final Object[] toArray() {
+        final Object[] elements = new Object[size];
+        copyOut(0, elements, 0, size);
+        return elements;
+    }
+
+    /**
+     * Appends the specified element to the end of this SegmentedArrayList.
+     * If the list is full, then a new chunk is added and no element is copied.
+     *
+     * @param element element to be appended to this list
+     * @return true after successful addition
+     */
+    public final boolean add(final T element) {
+        if (size == capacity()) {
+            growTo(size + 1);
+        }
+        chunks[size >>> shift][size & mask] = element;
+        size++;
+        return true;
+    }
+
+    /**
+     * Inserts the specified element at the specified position in this
+     * SegmentedArrayList. Shifts the element currently at that position (if any) and
+     * any subsequent elements to the right (adds one to their indices).
+     *
+     * @param index index at which the specified element is to be inserted
+     * @param element element to be inserted
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public final void add(final int index, final T element) {
+        if (index > size || index < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+        growTo(size + 1);
+        move(index, index + 1, size - index);
+        chunks[index >>> shift][index & mask] = element;
+        size++;
+    }
+
+    /**
+     * Appends all the elements in the specified SegmentedArrayList to the end of
+     * this SegmentedArrayList, in their order.  The chunks are added at most once
+     * and the elements are copied chunk by chunk, so a SegmentedArrayList
+     * can also be appended to itself.
+     *
+     * @param list list containing elements to be added to a current SegmentedArrayList
+     * @return true if this list changed as a result of the call
+     */
+    public final boolean addAll(final SegmentedArrayList<? extends T> list) {
+        final int count = list.size();
+        if (count == 0) {
+            return false;
+        }
+
+        growTo(size + count);
+        for (int copied = 0; copied < count;) {
+            final Object[] chunk = list.chunks[copied >>> list.shift];
+            final int offset = copied & list.mask;
+            final int length = Math.min(count - copied, chunk.length - offset);
+            copyIn(chunk, offset, size + copied, length);
+            copied += length;
+        }
+        size += count;
+        return true;
+    }
+
+    /**
+     * Appends all the elements in the specified collection to the end of
+     * this SegmentedArrayList, in the order that they are returned by the
+     * specified collection's Iterator.  The elements are taken by a single
+     * {@link Collection#toArray()}, then the chunks are added at most once.
+     *
+     * @param collection collection containing elements to be added to a current SegmentedArrayList
+     * @return true if this list changed as a result of the call
+     */
+    public final boolean addAll(final Collection<? extends T> collection) {
+        final Object[] elements = collection.toArray();
+        if (elements.length == 0) {
+            return false;
+        }
+
+        growTo(size + elements.length);
+        copyIn(elements, 0, size, elements.length);
+        size += elements.length;
+        return true;
+    }
+
+    /**
+     * Removes the first occurrence of the specified element from this SegmentedArrayList
+     * if it is present.  If the list does not contain the element, it is
+     * unchanged.
+     *
+     * @param element element to be removed from this list, if present
+     * @return true if this list contained the specified element
+     */
+    public final boolean remove(final Object element) {
+        final int index = indexOf(element);
+        if (index < 0) {
+            return false;
+        }
+        remove(index);
+        return true;
+    }
+
+    /**
+     * Removes the element at the specified position in this SegmentedArrayList.
+     * Shifts any subsequent elements to the left (subtracts one from their
+     * indices).
+     *
+     * @param index the index of the element to be removed
+     * @return the element that was removed from the SegmentedArrayList
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public final T remove(final int index) {
+        final T element = get(index);
+        move(index + 1, index, size - index - 1);
+        size--;
+        chunks[size >>> shift][size & mask] = null;
+        return element;
+    }
+
+    /**
+     * Removes from this SegmentedArrayList all of its elements that are contained in the
+     * specified SegmentedArrayList, in a single compacting pass.  If the specified list
+     * is larger than a few elements, its elements are first put in a hash set.
+     *
+     * @param list list containing elements to be removed from the current SegmentedArrayList
+     * @return true if this SegmentedArrayList changed as a result of the call
+     */
+    public final boolean removeAll(final SegmentedArrayList<?> list) {
+        return removeIf(membershipOf(list));
+    }
+
+    /**
+     * Removes from this SegmentedArrayList all of its elements that are contained in the
+     * specified collection, in a single compacting pass.  A large collection which
+     * is not a set is first copied into a hash set.
+     *
+     * @param collection collection containing elements to be removed from the current SegmentedArrayList
+     * @return true if this SegmentedArrayList changed as a result of the call
+     */
+    public final boolean removeAll(final Collection<?> collection) {
+        return removeIf(membershipOf(collection));
+    }
+
+    /**
+     * Retains only the elements in this SegmentedArrayList that are contained in
+     * another SegmentedArrayList, in a single compacting pass.
+     *
+     * @param list list containing elements to be retained in the current SegmentedArrayList
+     * @return true if this list changed as a result of the call
+     */
+    public final boolean retainAll(final SegmentedArrayList<?> list) {
+        return removeIf(membershipOf(list).negate());
+    }
+
+    /**
+     * Retains only the elements in this SegmentedArrayList that are contained in
+     * the specified collection, in a single compacting pass.
+     *
+     * @param collection collection containing elements to be retained in the current SegmentedArrayList
+     * @return true if this list changed as a result of the call
+     */
+    public final boolean retainAll(final Collection<?> collection) {
+        return removeIf(membershipOf(collection).negate());
+    }
+
+    /**
+     * Removes all the elements of this SegmentedArrayList that satisfy the given predicate.
+     * The kept elements are moved to the front in a single pass, keeping their order,
+     * so the call takes O(n) time whatever the number of removed elements.
+     * If the predicate throws an exception, the elements not tested yet are kept.
+     *
+     * @param filter the predicate which returns true for the elements to be removed
+     * @return true if any elements were removed
+     */
+    public final boolean removeIf(final Predicate<? super T> filter) {
+        Objects.requireNonNull(filter);
+        final int oldSize = size;
+        int read = 0;
+        int write = 0;
+
+        try {
+            for (; read < oldSize; read++) {
+                final T element = (T) chunks[read >>> shift][read & mask];
+                if (!filter.test(element)) {
+                    chunks[write >>> shift][write & mask] = element;
+                    write++;
+                }
+            }
+        } finally {
+            if (read < oldSize) {
+                move(read, write, oldSize - read);
+                write += oldSize - read;
+            }
+            clearRange(write, oldSize);
+            size = write;
+        }
+
+        return write != oldSize;
+    }
+
+    /**
+     * Returns a predicate testing whether an element is contained in the specified list.
+     */
+    private static Predicate<Object> membershipOf(final SegmentedArrayList<?> list) {
+        final Object[] elements = list.toArray();
+        if (elements.length > HASH_PROBE_THRESHOLD) {
+            return new HashSet<>(Arrays.asList(elements))::contains;
+        }
+
+        return element -> {
+            for (Object candidate : elements) {
+                if (Objects.equals(candidate, element)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    /**
+     * Returns a predicate testing whether an element is contained in the specified collection.
+     */
+    private static Predicate<Object> membershipOf(final Collection<?> collection) {
+        if (collection instanceof Set<?> || collection.size() <= HASH_PROBE_THRESHOLD) {
+            return collection::contains;
+        }
+        return new HashSet<>(collection)::contains;
+    }
+
+    /**
+     * Removes all the elements from this SegmentedArrayList and releases its chunks.
+     * The list will be empty after this call returns.
+     */
+    public final void clear() {
+        chunks = EMPTY_SPINE;
+        chunkCount = 0;
+        size = 0;
+    }
+
+    /**
+     * Replaces the element at the specified position in this SegmentedArrayList with
+     * the specified element.
+     *
+     * @param index index of the element to replace
+     * @param element element to be stored at the specified position
+     * @return the element previously at the specified position
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public final T set(final int index, final T element) {
+        final T previous = get(index);
+        chunks[index >>> shift][index & mask] = element;
+        return previous;
+    }
+
+    /**
+     * Returns the element at the specified position in this SegmentedArrayList.
+     *
+     * @param  index index of the element to return
+     * @return the element at the specified position in this SegmentedArrayList
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public final T get(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException();
+        }
+        return (T) chunks[index >>> shift][index & mask];
+    }
+
+    /**
+     * Sorts the elements in this SegmentedArrayList into ascending natural order
+     * by the introsort of {@link ArrayList#quickSort()}. The sort is not stable.
+     *
+     * @throws ClassCastException if the elements are not mutually comparable
+     */
+    public final void quickSort() {
+        quickSort(null);
+    }
+
+    /**
+     * Sorts the elements in this SegmentedArrayList by the order induced by the specified
+     * comparator, using the introsort of {@link ArrayList#quickSort()}. The sort is not stable.
+     *
+     * @param comparator the comparator to compare the elements, or null for the natural order
+     * @throws ClassCastException if the elements are not mutually comparable
+     */
+    public final void quickSort(final Comparator<? super T> comparator) {
+        final Object[] elements = toArray();
+        Sorting.introSort(elements, 0, size, comparatorOrNaturalOrder(comparator));
+        copyIn(elements, 0, 0, size);
+    }
+
+    /**
+     * Sorts the elements in this SegmentedArrayList by the order induced by the specified
+     * comparator, using the natural merge sort of {@link ArrayList#sort(Comparator)}.
+     * The sort is stable: equal elements are not reordered.
+     *
+     * @param comparator the comparator to compare the elements, or null for the natural order
+     * @throws ClassCastException if the elements are not mutually comparable
+     */
+    public final void sort(final Comparator<? super T> comparator) {
+        final Object[] elements = toArray();
+        Sorting.timSort(elements, 0, size, comparatorOrNaturalOrder(comparator));
+        copyIn(elements, 0, 0, size);
+    }
+
+    /**
+     * Sorts the elements in this SegmentedArrayList by the order induced by the specified
+     * comparator, using all the threads of the common {@link java.util.concurrent.ForkJoinPool}
+     * like {@link ArrayList#parallelSort(Comparator)}. The sort is stable.
+     *
+     * @param comparator the comparator to compare the elements, or null for the natural order
+     * @throws ClassCastException if the elements are not mutually comparable
+     */
+    public final void parallelSort(final Comparator<? super T> comparator) {
+        final Object[] elements = toArray();
+        Sorting.parallelSort(elements, 0, size, comparatorOrNaturalOrder(comparator));
+        copyIn(elements, 0, 0, size);
+    }
+
+    /**
+     * Performs the given action for every element of this SegmentedArrayList, in parallel.
+     * The action is called in no particular order and from several threads at once.
+     * The list must not be modified meanwhile.
+     *
+     * @param action the action to be performed for every element
+     */
+    public final void parallelForEach(final Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        final Object[][] spine = chunks;
+
+        Parallel.forEachChunk(size, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                action.accept((T) spine[i >>> shift][i & mask]);
+            }
+        });
+    }
+
+    /**
+     * Replaces every element of this SegmentedArrayList with the result of applying
+     * the operator to it, in parallel. The operator is called in no particular
+     * order and from several threads at once.
+     *
+     * @param operator the operator to apply to every element
+     */
+    public final void parallelReplaceAll(final UnaryOperator<T> operator) {
+        Objects.requireNonNull(operator);
+        final Object[][] spine = chunks;
+
+        Parallel.forEachChunk(size, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                final Object[] chunk = spine[i >>> shift];
+                chunk[i & mask] = operator.apply((T) chunk[i & mask]);
+            }
+        });
+    }
+
+    /**
+     * Removes all the elements of this SegmentedArrayList that satisfy the given predicate.
+     * The predicate is evaluated in parallel, in no particular order and from several
+     * threads at once, and the elements to be removed are marked in a bitmap.
+     * Then the remaining elements are compacted in a single pass, keeping their order.
+     *
+     * @param filter the predicate which returns true for the elements to be removed
+     * @return true if any elements were removed
+     */
+    public final boolean parallelRemoveIf(final Predicate<? super T> filter) {
+        Objects.requireNonNull(filter);
+        final Object[][] spine = chunks;
+        final long[] removed = new long[(size + Long.SIZE - 1) / Long.SIZE];
+
+        // the chunks are aligned to 64 elements, so no two chunks write the same word
+        Parallel.forEachChunk(size, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                if (filter.test((T) spine[i >>> shift][i & mask])) {
+                    removed[i / Long.SIZE] |= 1L << i;
+                }
+            }
+        });
+
+        int newSize = 0;
+        for (int i = 0; i < size; i++) {
+            if ((removed[i / Long.SIZE] & (1L << i)) == 0) {
+                chunks[newSize >>> shift][newSize & mask] = chunks[i >>> shift][i & mask];
+                newSize++;
+            }
+        }
+
+        if (newSize == size) {
+            return false;
+        }
+
+        clearRange(newSize, size);
+        size = newSize;
+        return true;
+    }
+
+    private static Comparator<Object> comparatorOrNaturalOrder(final Comparator<?> comparator) {
+        return (Comparator<Object>) (comparator != null ? comparator : Comparator.naturalOrder());
+    }
+
+    /**
+     * Returns the number of chunks needed to hold the given number of elements.
+     */
+    private int chunksFor(final int capacity) {
+        return (int) (((long) capacity + mask) >>> shift);
+    }
+
+    /**
+     * Makes sure the chunks can hold the specified number of elements. While the list
+     * fits in its first chunk, the chunk is at least doubled up to the chunk size;
+     * then whole chunks are added, and only the spine is copied when it is full.
+     */
+    private void growTo(final int minCapacity) {
+        if (minCapacity < 0) {
+            throw new OutOfMemoryError("Required array length too large");
+        }
+        if (minCapacity <= capacity()) {
+            return;
+        }
+
+        final int chunkSize = mask + 1;
+        if (chunkCount == 0) {
+            chunks = new Object[Math.max(1, chunksFor(minCapacity))][];
+            chunks[0] = new Object[Math.min(chunkSize, minCapacity)];
+            chunkCount = 1;
+        } else if (chunkCount == 1 && chunks[0].length < chunkSize) {
+            final int doubled = Math.max(minCapacity, Math.max(DEFAULT_CAPACITY, chunks[0].length * 2));
+            chunks[0] = Arrays.copyOf(chunks[0], Math.min(chunkSize, doubled));
+        }
+
+        final int needed = chunksFor(minCapacity);
+        if (needed > chunks.length) {
+            chunks = Arrays.copyOf(chunks, (int) Math.min(Integer.MAX_VALUE, Math.max(needed, 2L * chunks.length)));
+        }
+        while (chunkCount < needed) {
+            chunks[chunkCount++] = new Object[chunkSize];
+        }
+    }
+
+    /**
+     * Copies length elements from the given index of the list into the array, chunk by chunk.
+     */
+    private void copyOut(final int index, final Object[] target, final int targetPosition, final int length) {
+        for (int copied = 0; copied < length;) {
+            final int from = index + copied;
+            final Object[] chunk = chunks[from >>> shift];
+            final int offset = from & mask;
+            final int count = Math.min(length - copied, chunk.length - offset);
+            System.arraycopy(chunk, offset, target, targetPosition + copied, count);
+            copied += count;
+        }
+    }
+
+    /**
+     * Copies length elements of the array into the list from the given index, chunk by chunk.
+     * The chunks must already hold the range.
+     */
+    private void copyIn(final Object[] source, final int sourcePosition, final int index, final int length) {
+        for (int copied = 0; copied < length;) {
+            final int to = index + copied;
+            final Object[] chunk = chunks[to >>> shift];
+            final int offset = to & mask;
+            final int count = Math.min(length - copied, chunk.length - offset);
+            System.arraycopy(source, sourcePosition + copied, chunk, offset, count);
+            copied += count;
+        }
+    }
+
+    /**
+     * Moves length elements from the index from to the index to, across the chunks.
+     * The ranges may overlap: the elements are moved from the end when they move to the right,
+     * so that no element is overwritten before it is moved.
+     */
+    private void move(final int from, final int to, final int length) {
+        if (length <= 0 || from == to) {
+            return;
+        }
+
+        if (to > from) {
+            int sourceEnd = from + length;
+            int targetEnd = to + length;
+            while (sourceEnd > from) {
+                final int count = Math.min(sourceEnd - from,
+                        Math.min(((sourceEnd - 1) & mask) + 1, ((targetEnd - 1) & mask) + 1));
+                sourceEnd -= count;
+                targetEnd -= count;
+                System.arraycopy(chunks[sourceEnd >>> shift], sourceEnd & mask,
+                        chunks[targetEnd >>> shift], targetEnd & mask, count);
+            }
+        } else {
+            final int chunkSize = mask + 1;
+            for (int moved = 0; moved < length;) {
+                final int source = from + moved;
+                final int target = to + moved;
+                final int count = Math.min(length - moved,
+                        Math.min(chunkSize - (source & mask), chunkSize - (target & mask)));
+                System.arraycopy(chunks[source >>> shift], source & mask,
+                        chunks[target >>> shift], target & mask, count);
+                moved += count;
+            }
+        }
+    }
+
+    /**
+     * Clears the references from the index from, inclusive, to to, exclusive.
+     */
+    private void clearRange(final int from, final int to) {
+        for (int i = from; i < to;) {
+            final Object[] chunk = chunks[i >>> shift];
+            final int offset = i & mask;
+            final int end = Math.min(chunk.length, offset + to - i);
+            Arrays.fill(chunk, offset, end, null);
+            i += end - offset;
+        }
+    }
+
+    private final class ElementsSpliterator implements Spliterator<T> {
+
+        private int index;
+        private int fence;
+
+        ElementsSpliterator(final int index, final int fence) {
+            this.index = index;
+            this.fence = fence;
+        }
+
+        private int getFence() {
+            if (fence < 0) {
+                fence = SegmentedArrayList.this.size();
+            }
+            return fence;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            final int low = index;
+            final int middle = (low + getFence()) >>> 1;
+            if (low >= middle) {
+                return null;
+            }
+            index = middle;
+            return new ElementsSpliterator(low, middle);
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super T> action) {
+            Objects.requireNonNull(action);
+            if (index >= getFence()) {
+                return false;
+            }
+            action.accept((T) chunks[index >>> shift][index & mask]);
+            index++;
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super T> action) {
+            Objects.requireNonNull(action);
+            final int end = getFence();
+            while (index < end) {
+                final Object[] chunk = chunks[index >>> shift];
+                final int offset = index & mask;
+                final int count = Math.min(end - index, chunk.length - offset);
+                for (int i = offset; i < offset + count; i++) {
+                    action.accept((T) chunk[i]);
+                }
+                index += count;
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return getFence() - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+
+    private class ElementsIterator implements ListIterator<T> {
+
+        private static final int LAST_IS_NOT_SET = -1;
+        private int index;
+        private int lastIndex = LAST_IS_NOT_SET;
+
+        @Override
+        public boolean hasNext() {
+            return SegmentedArrayList.this.size() > index;
+        }
+
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastIndex = index++;
+            return SegmentedArrayList.this.get(lastIndex);
+        }
+
+        public int nextIndex() {
+            return index;
+        }
+
+        public boolean hasPrevious() {
+            return index > 0;
+        }
+
+        public T previous() {
+            if (!hasPrevious()) {
+                throw new NoSuchElementException();
+            }
+            lastIndex = --index;
+            return SegmentedArrayList.this.get(lastIndex);
+        }
+
+        public int previousIndex() {
+            return index - 1;
+        }
+
+        public void add(final T element) {
+            SegmentedArrayList.this.add(index, element);
+            index++;
+            lastIndex = LAST_IS_NOT_SET;
+        }
+
+        public void set(final T element) {
+            if (lastIndex == LAST_IS_NOT_SET) {
+                throw new IllegalStateException();
+            }
+            SegmentedArrayList.this.set(lastIndex, element);
+        }
+
+        public void remove() {
+            if (lastIndex == LAST_IS_NOT_SET) {
+                throw new IllegalStateException();
+            }
+            SegmentedArrayList.this.remove(lastIndex);
+            if (lastIndex < index) {
+                index--;
+            }
+            lastIndex = LAST_IS_NOT_SET;
+        }
+    }
+}
@@ -0,0 +1,591 @@
+package org.arraylistandhashmap.arraylist;
+
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The sorting algorithms used by the {@link ArrayList}.
+ *
+ * <p>{@link #introSort} is an introspective quicksort: a quicksort with a median-of-three pivot,
+ * which sorts the small ranges by insertion sort and falls back to heapsort when the recursion
+ * gets too deep, so it runs in O(n log n) time in the worst case and in O(log n) stack.
+ * It is not stable.
+ *
+ * <p>{@link #timSort} is a stable merge sort in the style of TimSort: it finds the natural
+ * ascending and descending runs of the array, extends the short ones by binary insertion sort,
+ * and merges the runs from a stack that keeps their lengths balanced. Before merging two runs,
+ * the elements already in place at their edges are skipped by binary search. Sorted and
+ * partially sorted arrays are sorted in close to linear time.
+ *
+ * <p>{@link #parallelSort} is the same merge sort forked over the common {@link ForkJoinPool}:
+ * the chunks are sorted by {@link #timSort} in parallel, and their merges are split
+ * into independent parallel merges as well. It is stable too.
+ *
+ * @author  rassandev
+ */
+final class Sorting {
+
+    /**
+     * The ranges of this size or smaller are sorted by insertion sort.
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    /**
+     * The minimal length of a run merged by the merge sort,
+     * shorter arrays are sorted by binary insertion sort only.
+     */
+    private static final int MIN_MERGE = 32;
+
+    /**
+     * The maximal number of pending runs, enough for any int length
+     * since the run lengths grow at least as fast as the Fibonacci numbers.
+     */
+    private static final int MAX_RUN_STACK = 49;
+
+    private Sorting() {
+    }
+
+    /**
+     * Sorts the range from the index from, inclusive, to the index to, exclusive,
+     * by an introspective quicksort. The sort is not stable.
+     */
+    static void introSort(Object[] a, int from, int to, Comparator<Object> c) {
+        if (to - from > 1) {
+            introSort(a, from, to - 1, 2 * (31 - Integer.numberOfLeadingZeros(to - from)), c);
+        }
+    }
+
+    private static void introSort(Object[] a, int low, int high, int depth, Comparator<Object> c) {
+        while (high - low >= INSERTION_SORT_THRESHOLD) {
+            if (depth == 0) {
+                heapSort(a, low, high + 1, c);
+                return;
+            }
+            depth--;
+
+            int border = partition(a, low, high, c);
+
+            // recurse into the smaller part and loop over the larger one to bound the stack
+            if (border - low < high - border) {
+                introSort(a, low, border, depth, c);
+                low = border + 1;
+            } else {
+                introSort(a, border + 1, high, depth, c);
+                high = border;
+            }
+        }
+
+        insertionSort(a, low, high + 1, c);
+    }
+
+    /**
+     * Partitions the range around the median of its first, middle and last elements
+     * with the Hoare scheme, and returns the last index of the lower part.
+     * Both parts are never empty, and the elements equal to the pivot are spread
+     * over both of them, so many duplicates do not make the partitioning uneven.
+     */
+    private static int partition(Object[] a, int low, int high, Comparator<Object> c) {
+        int middle = low + (high - low) / 2;
+
+        if (c.compare(a[middle], a[low]) < 0) {
+            swap(a, middle, low);
+        }
+        if (c.compare(a[high], a[middle]) < 0) {
+            swap(a, high, middle);
+            if (c.compare(a[middle], a[low]) < 0) {
+                swap(a, middle, low);
+            }
+        }
+
+        Object pivot = a[middle];
+        int i = low - 1;
+        int j = high + 1;
+
+        while (true) {
+            do {
+                i++;
+            } while (c.compare(a[i], pivot) < 0);
+
+            do {
+                j--;
+            } while (c.compare(a[j], pivot) > 0);
+
+            if (i >= j) {
+                return j;
+            }
+            swap(a, i, j);
+        }
+    }
+
+    private static void insertionSort(Object[] a, int from, int to, Comparator<Object> c) {
+        for (int i = from + 1; i < to; i++) {
+            Object element = a[i];
+            int j = i - 1;
+
+            while (j >= from && c.compare(a[j], element) > 0) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = element;
+        }
+    }
+
+    private static void heapSort(Object[] a, int from, int to, Comparator<Object> c) {
+        int length = to - from;
+
+        for (int i = length / 2 - 1; i >= 0; i--) {
+            siftDown(a, from, i, length, c);
+        }
+        for (int end = length - 1; end > 0; end--) {
+            swap(a, from, from + end);
+            siftDown(a, from, 0, end, c);
+        }
+    }
+
+    /**
+     * Moves the element down the max-heap of the given length stored from the index base.
+     */
+    private static void siftDown(Object[] a, int base, int index, int length, Comparator<Object> c) {
+        Object element = a[base + index];
+
+        while (2 * index + 1 < length) {
+            int child = 2 * index + 1;
+            if (child + 1 < length && c.compare(a[base + child + 1], a[base + child]) > 0) {
+                child++;
+            }
+            if (c.compare(element, a[base + child]) >= 0) {
+                break;
+            }
+            a[base + index] = a[base + child];
+            index = child;
+        }
+
+        a[base + index] = element;
+    }
+
+    private static void swap(Object[] a, int i, int j) {
+        Object temp = a[i];
+        a[i] = a[j];
+        a[j] = temp;
+    }
+
+    /**
+     * Sorts the range from the index from, inclusive, to the index to, exclusive,
+     * by a stable natural merge sort.
+     */
+    static void timSort(Object[] a, int from, int to, Comparator<Object> c) {
+        int remaining = to - from;
+        if (remaining < 2) {
+            return;
+        }
+
+        if (remaining < MIN_MERGE) {
+            int runLength = countRunAndMakeAscending(a, from, to, c);
+            binaryInsertionSort(a, from, to, from + runLength, c);
+            return;
+        }
+
+        MergeState state = new MergeState(a, c);
+        int minRun = minRunLength(remaining);
+        int low = from;
+
+        do {
+            int runLength = countRunAndMakeAscending(a, low, to, c);
+
+            if (runLength < minRun) {
+                int forced = Math.min(remaining, minRun);
+                binaryInsertionSort(a, low, low + forced, low + runLength, c);
+                runLength = forced;
+            }
+
+            state.pushRun(low, runLength);
+            state.mergeCollapse();
+
+            low += runLength;
+            remaining -= runLength;
+        } while (remaining != 0);
+
+        state.mergeForceCollapse();
+    }
+
+    /**
+     * Sorts the range from the index from, inclusive, to the index to, exclusive,
+     * by a stable parallel merge sort in the common {@link ForkJoinPool}.
+     * The range is split in halves down to chunks sorted by {@link #timSort},
+     * and the sorted halves are merged by a parallel merge. Short ranges are
+     * sorted by {@link #timSort} in the calling thread.
+     */
+    static void parallelSort(Object[] a, int from, int to, Comparator<Object> c) {
+        int length = to - from;
+        int chunk = Parallel.chunkSize(length);
+
+        if (length <= chunk || ForkJoinPool.getCommonPoolParallelism() == 1) {
+            timSort(a, from, to, c);
+        } else {
+            ForkJoinPool.commonPool().invoke(new ParallelSorter(a, new Object[a.length], from, to, chunk, c));
+        }
+    }
+
+    /**
+     * Returns the minimal run length for an array of the given length, chosen so that
+     * the number of runs is equal to or a bit less than a power of two.
+     */
+    private static int minRunLength(int length) {
+        int lowBits = 0;
+        while (length >= MIN_MERGE) {
+            lowBits |= length & 1;
+            length >>= 1;
+        }
+        return length + lowBits;
+    }
+
+    /**
+     * Returns the length of the run starting at the index low, reversing it first
+     * if it is descending. Only strictly descending runs are reversed, so the sort stays stable.
+     */
+    private static int countRunAndMakeAscending(Object[] a, int low, int high, Comparator<Object> c) {
+        int runHigh = low + 1;
+        if (runHigh == high) {
+            return 1;
+        }
+
+        if (c.compare(a[runHigh], a[low]) < 0) {
+            runHigh++;
+            while (runHigh < high && c.compare(a[runHigh], a[runHigh - 1]) < 0) {
+                runHigh++;
+            }
+            reverse(a, low, runHigh);
+        } else {
+            runHigh++;
+            while (runHigh < high && c.compare(a[runHigh], a[runHigh - 1]) >= 0) {
+                runHigh++;
+            }
+        }
+
+        return runHigh - low;
+    }
+
+    private static void reverse(Object[] a, int from, int to) {
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            swap(a, i, j);
+        }
+    }
+
+    /**
+     * Sorts the range by binary insertion sort, the elements before the index start are already sorted.
+     */
+    private static void binaryInsertionSort(Object[] a, int from, int to, int start, Comparator<Object> c) {
+        for (; start < to; start++) {
+            Object element = a[start];
+            int position = upperBound(a, from, start, element, c);
+            System.arraycopy(a, position, a, position + 1, start - position);
+            a[position] = element;
+        }
+    }
+
+    /**
+     * Returns the first index of the sorted range whose element is greater than the key.
+     */
+    private static int upperBound(Object[] a, int from, int to, Object key, Comparator<Object> c) {
+        while (from < to) {
+            int middle = (from + to) >>> 1;
+            if (c.compare(a[middle], key) > 0) {
+                to = middle;
+            } else {
+                from = middle + 1;
+            }
+        }
+        return from;
+    }
+
+    /**
+     * Returns the first index of the sorted range whose element is not less than the key.
+     */
+    private static int lowerBound(Object[] a, int from, int to, Object key, Comparator<Object> c) {
+        while (from < to) {
+            int middle = (from + to) >>> 1;
+            if (c.compare(a[middle], key) < 0) {
+                from = middle + 1;
+            } else {
+                to = middle;
+            }
+        }
+        return from;
+    }
+
+    /**
+     * The stack of the pending runs of a merge sort and its merge buffer.
+     */
+    private static final class MergeState {
+        private final Object[] a;
+        private final Comparator<Object> c;
+        private final int[] runBase = new int[MAX_RUN_STACK];
+        private final int[] runLength = new int[MAX_RUN_STACK];
+        private int stackSize;
+        private Object[] buffer = new Object[0];
+
+        private MergeState(Object[] a, Comparator<Object> c) {
+            this.a = a;
+            this.c = c;
+        }
+
+        private void pushRun(int base, int length) {
+            runBase[stackSize] = base;
+            runLength[stackSize] = length;
+            stackSize++;
+        }
+
+        /**
+         * Merges the runs on the top of the stack until every run is longer
+         * than the two runs above it together, so the stack stays logarithmic.
+         */
+        private void mergeCollapse() {
+            while (stackSize > 1) {
+                int n = stackSize - 2;
+
+                if (n > 0 && runLength[n - 1] <= runLength[n] + runLength[n + 1]
+                        || n > 1 && runLength[n - 2] <= runLength[n - 1] + runLength[n]) {
+                    if (runLength[n - 1] < runLength[n + 1]) {
+                        n--;
+                    }
+                } else if (runLength[n] > runLength[n + 1]) {
+                    break;
+                }
+
+                mergeAt(n);
+            }
+        }
+
+        private void mergeForceCollapse() {
+            while (stackSize > 1) {
+                int n = stackSize - 2;
+                if (n > 0 && runLength[n - 1] < runLength[n + 1]) {
+                    n--;
+                }
+                mergeAt(n);
+            }
+        }
+
+        /**
+         * Merges the runs at the indices i and i + 1 of the stack.
+         */
+        private void mergeAt(int i) {
+            int base1 = runBase[i];
+            int length1 = runLength[i];
+            int base2 = runBase[i + 1];
+            int length2 = runLength[i + 1];
+
+            runLength[i] = length1 + length2;
+            if (i == stackSize - 3) {
+                runBase[i + 1] = runBase[i + 2];
+                runLength[i + 1] = runLength[i + 2];
+            }
+            stackSize--;
+
+            // the elements of the first run not greater than the first element of the second are in place
+            int start = upperBound(a, base1, base1 + length1, a[base2], c);
+            length1 -= start - base1;
+            base1 = start;
+            if (length1 == 0) {
+                return;
+            }
+
+            // the elements of the second run not less than the last element of the first are in place
+            length2 = lowerBound(a, base2, base2 + length2, a[base1 + length1 - 1], c) - base2;
+            if (length2 == 0) {
+                return;
+            }
+
+            if (length1 <= length2) {
+                mergeLow(base1, length1, base2, length2);
+            } else {
+                mergeHigh(base1, length1, base2, length2);
+            }
+        }
+
+        private Object[] buffer(int length) {
+            if (buffer.length < length) {
+                buffer = new Object[Math.max(length, Math.min(a.length / 2, 2 * buffer.length))];
+            }
+            return buffer;
+        }
+
+        /**
+         * Merges two adjacent runs from the left, the first run being the shorter one.
+         */
+        private void mergeLow(int base1, int length1, int base2, int length2) {
+            Object[] tmp = buffer(length1);
+            System.arraycopy(a, base1, tmp, 0, length1);
+
+            int destination = base1;
+            int i = 0;
+            int j = base2;
+            int end2 = base2 + length2;
+
+            while (i < length1 && j < end2) {
+                if (c.compare(a[j], tmp[i]) < 0) {
+                    a[destination++] = a[j++];
+                } else {
+                    a[destination++] = tmp[i++];
+                }
+            }
+
+            System.arraycopy(tmp, i, a, destination, length1 - i);
+        }
+
+        /**
+         * Merges two adjacent runs from the right, the second run being the shorter one.
+         */
+        private void mergeHigh(int base1, int length1, int base2, int length2) {
+            Object[] tmp = buffer(length2);
+            System.arraycopy(a, base2, tmp, 0, length2);
+
+            int destination = base2 + length2 - 1;
+            int i = base1 + length1 - 1;
+            int j = length2 - 1;
+
+            while (i >= base1 && j >= 0) {
+                if (c.compare(tmp[j], a[i]) < 0) {
+                    a[destination--] = a[i--];
+                } else {
+                    a[destination--] = tmp[j--];
+                }
+            }
+
+            System.arraycopy(tmp, 0, a, destination - j, j + 1);
+        }
+    }
+
+    /**
+     * Sorts a range by sorting its halves in parallel and merging them through the buffer.
+     */
+    private static final class ParallelSorter extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Object[] a;
+        private final transient Object[] buffer;
+        private final int from;
+        private final int to;
+        private final int chunk;
+        private final transient Comparator<Object> c;
+
+        private ParallelSorter(Object[] a, Object[] buffer, int from, int to, int chunk, Comparator<Object> c) {
+            this.a = a;
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+            this.c = c;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunk) {
+                timSort(a, from, to, c);
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new ParallelSorter(a, buffer, from, middle, chunk, c),
+                    new ParallelSorter(a, buffer, middle, to, chunk, c));
+
+            if (c.compare(a[middle - 1], a[middle]) <= 0) {
+                return;
+            }
+
+            System.arraycopy(a, from, buffer, from, to - from);
+            new ParallelMerger(new MergeArrays(buffer, a, chunk, c), from, middle, middle, to, from).invoke();
+        }
+    }
+
+    /**
+     * The arrays and the settings shared by all the tasks of a parallel merge.
+     */
+    private static final class MergeArrays {
+        private final Object[] source;
+        private final Object[] destination;
+        private final int chunk;
+        private final Comparator<Object> c;
+
+        private MergeArrays(Object[] source, Object[] destination, int chunk, Comparator<Object> c) {
+            this.source = source;
+            this.destination = destination;
+            this.chunk = chunk;
+            this.c = c;
+        }
+    }
+
+    /**
+     * Merges two sorted ranges of the source into the destination. Large merges are split
+     * around the middle element of the longer range, found in the other range by binary search,
+     * into two independent merges run in parallel.
+     */
+    private static final class ParallelMerger extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient MergeArrays arrays;
+        private final int low1;
+        private final int high1;
+        private final int low2;
+        private final int high2;
+        private final int target;
+
+        private ParallelMerger(MergeArrays arrays, int low1, int high1, int low2, int high2, int target) {
+            this.arrays = arrays;
+            this.low1 = low1;
+            this.high1 = high1;
+            this.low2 = low2;
+            this.high2 = high2;
+            this.target = target;
+        }
+
+        @Override
+        protected void compute() {
+            Object[] source = arrays.source;
+            Comparator<Object> c = arrays.c;
+            int length1 = high1 - low1;
+            int length2 = high2 - low2;
+
+            if (length1 + length2 <= arrays.chunk || length1 == 0 || length2 == 0) {
+                merge();
+                return;
+            }
+
+            // the equal elements of the first range stay before the ones of the second range
+            int middle1;
+            int middle2;
+            if (length1 >= length2) {
+                middle1 = (low1 + high1) >>> 1;
+                middle2 = lowerBound(source, low2, high2, source[middle1], c);
+            } else {
+                middle2 = (low2 + high2) >>> 1;
+                middle1 = upperBound(source, low1, high1, source[middle2], c);
+            }
+
+            int middleTarget = target + (middle1 - low1) + (middle2 - low2);
+            invokeAll(new ParallelMerger(arrays, low1, middle1, low2, middle2, target),
+                    new ParallelMerger(arrays, middle1, high1, middle2, high2, middleTarget));
+        }
+
+        private void merge() {
+            Object[] source = arrays.source;
+            Object[] destination = arrays.destination;
+            Comparator<Object> c = arrays.c;
+            int i = low1;
+            int j = low2;
+            int k = target;
+
+            while (i < high1 && j < high2) {
+                if (c.compare(source[j], source[i]) < 0) {
+                    destination[k++] = source[j++];
+                } else {
+                    destination[k++] = source[i++];
+                }
+            }
+
+            System.arraycopy(source, i, destination, k, high1 - i);
+            System.arraycopy(source, j, destination, k + (high1 - i), high2 - j);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.arraylistandhashmap.hashmap;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * The iterator of the views of a {@link HashMap}. It walks the buckets of the table
+ * by their next links, and removes the entries through {@link HashMap#removeEntry}
+ * without reordering the chain it stands in. Every entry is mapped by the given
+ * function, so the same iterator serves the entries, the keys or the values.
+ *
+ * @param  <K> the type of the key.
+ * @param  <V> the type of the value.
+ * @param  <T> the type of the iterated elements.
+ *
+ * @author  rassandev
+ */
+final class BucketIterator<K, V, T> implements Iterator<T> {
+    private final HashMap<K, V> map;
+    private final Entry<K, V>[] tab;
+    private final Function<Entry<K, V>, T> mapper;
+    private Entry<K, V> next;
+    private Entry<K, V> current;
+    private int index;
+    private int expectedModCount;
+
+    BucketIterator(HashMap<K, V> map, Function<Entry<K, V>, T> mapper) {
+        this.map = map;
+        this.mapper = mapper;
+        tab = map.migratedTable();
+        expectedModCount = map.modCount();
+        advance(null);
+    }
+
+    /**
+     * Moves to the entry following the given one, or to the first entry if it is null.
+     */
+    private void advance(Entry<K, V> entry) {
+        next = (entry == null) ? null : entry.next();
+        while (next == null && index < tab.length) {
+            next = tab[index];
+            index++;
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    @Override
+    public T next() {
+        if (map.modCount() != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+        if (next == null) {
+            throw new NoSuchElementException();
+        }
+
+        current = next;
+        advance(current);
+        return mapper.apply(current);
+    }
+
+    @Override
+    public void remove() {
+        if (current == null) {
+            throw new IllegalStateException();
+        }
+        if (map.modCount() != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+
+        map.removeEntry(current.getKey(), false);
+        current = null;
+        expectedModCount = map.modCount();
+    }
+}
@@ -0,0 +1,111 @@
+package org.arraylistandhashmap.hashmap;
+
+import java.util.ConcurrentModificationException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A spliterator over a range of buckets of the table of a {@link HashMap}.
+ * The entries of a bucket, either a chain or a tree, are traversed by their next links.
+ * Every entry is mapped by the given function, so the same spliterator serves
+ * the entries, the keys or the values.
+ *
+ * @param  <K> the type of the key.
+ * @param  <V> the type of the value.
+ * @param  <T> the type of the traversed elements.
+ *
+ * @author  rassandev
+ */
+final class BucketSpliterator<K, V, T> implements Spliterator<T> {
+    private final HashMap<K, V> map;
+    private final Entry<K, V>[] table;
+    private final int expectedModCount;
+    private final Function<Entry<K, V>, T> mapper;
+    private int characteristics;
+    private int index;
+    private final int fence;
+    private int estimate;
+    private Entry<K, V> current;
+
+    BucketSpliterator(HashMap<K, V> map, Entry<K, V>[] table, int origin, int fence, int estimate,
+                      int characteristics, Function<Entry<K, V>, T> mapper) {
+        this.map = map;
+        this.table = table;
+        this.expectedModCount = map.modCount();
+        this.index = origin;
+        this.fence = fence;
+        this.estimate = estimate;
+        this.characteristics = characteristics;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        int low = index;
+        int middle = (low + fence) >>> 1;
+        if (low >= middle || current != null) {
+            return null;
+        }
+
+        index = middle;
+        estimate >>>= 1;
+        characteristics &= ~Spliterator.SIZED;
+        return new BucketSpliterator<>(map, table, low, middle, estimate, characteristics, mapper);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+
+        while (current != null || index < fence) {
+            if (current == null) {
+                current = table[index];
+                index++;
+            } else {
+                Entry<K, V> entry = current;
+                current = current.next();
+                action.accept(mapper.apply(entry));
+                checkForComodification();
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+
+        for (Entry<K, V> entry = current; entry != null; entry = entry.next()) {
+            action.accept(mapper.apply(entry));
+        }
+        current = null;
+
+        for (; index < fence; index++) {
+            for (Entry<K, V> entry = table[index]; entry != null; entry = entry.next()) {
+                action.accept(mapper.apply(entry));
+            }
+        }
+
+        checkForComodification();
+    }
+
+    private void checkForComodification() {
+        if (map.modCount() != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    @Override
+    public long estimateSize() {
+        return estimate;
+    }
+
+    @Override
+    public int characteristics() {
+        return characteristics;
+    }
+}
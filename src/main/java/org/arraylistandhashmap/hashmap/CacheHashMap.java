@@ -0,0 +1,456 @@
+package org.arraylistandhashmap.hashmap;
+
+import java.util.Objects;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * This is a bounded variant of the {@link HashMap}, which evicts mappings
+ * to keep its total weight under a maximum, for a cache in front of a slow backend.
+ *
+ * <p>The entries of the table are also linked in access-order queues: a put
+ * or a successful get moves the entry to the end of its queue, and the eviction
+ * takes the entries from the front, so both take O(1) time and allocate nothing.
+ * The links are threaded through the entries themselves, tree bucket entries included.
+ *
+ * <p>Two eviction policies are supported:
+ * <ul>
+ * <li>{@link Policy#LRU} evicts the least recently used mapping.</li>
+ * <li>{@link Policy#W_TINY_LFU} admits the new mappings into a small LRU <i>window</i>
+ * (1% of the maximum weight). An entry leaving the window competes with the oldest entry of
+ * the main space, and the one requested less often is evicted; the frequencies are estimated
+ * by a count-min sketch of a few bits per key. The main space is a segmented LRU: an entry
+ * requested again moves from its <i>probation</i> queue to the <i>protected</i> queue, which
+ * holds up to 80% of the main space. So the frequently requested mappings survive a scan
+ * of mappings requested only once, which would flush an LRU cache.</li>
+ * </ul>
+ *
+ * <p>Every mapping has a weight, given by a weigher, 1 by default so the maximum weight is
+ * a maximum number of mappings. A mapping which is heavier than the maximum is evicted at once,
+ * without evicting any other mapping to make room for it.
+ *
+ * <p>The cache counts its hits, misses and evictions. Only get and getOrDefault are requests:
+ * containsKey and the views do not change the order of the entries nor the statistics.
+ * Like the HashMap, a CacheHashMap is not thread-safe.
+ *
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of mapped values
+ *
+ * @author  rassandev
+ */
+public class CacheHashMap<K, V> extends HashMap<K, V> {
+
+    /**
+     * The eviction policy of a CacheHashMap.
+     */
+    public enum Policy {
+        /**
+         * Evicts the least recently used mapping.
+         */
+        LRU,
+
+        /**
+         * Admits the new mappings by their frequency, with a small LRU window for the bursts.
+         */
+        W_TINY_LFU
+    }
+
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private static final double WINDOW_SHARE = 0.01;
+    private static final double PROTECTED_SHARE = 0.8;
+
+    private final long maximumWeight;
+
+    private final long windowMaximum;
+
+    private final long protectedMaximum;
+
+    private final ToIntBiFunction<? super K, ? super V> weigher;
+
+    /**
+     * The frequencies of the requested keys, or null for the LRU policy.
+     */
+    private final FrequencySketch sketch;
+
+    private LinkedEntry<K, V> window = LinkedEntry.newList();
+    private LinkedEntry<K, V> probation = LinkedEntry.newList();
+    private LinkedEntry<K, V> protectedQueue = LinkedEntry.newList();
+
+    private long weightedSize;
+    private long windowWeight;
+    private long protectedWeight;
+
+    /**
+     * A new entry heavier than the maximum, left out of the queues and evicted
+     * by {@link #afterInsertion()} once it is in the table.
+     */
+    private LinkedEntry<K, V> oversized;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * Constructs an empty LRU CacheHashMap holding at most the specified number of mappings.
+     *
+     * @param  maximumSize the maximum number of mappings
+     * @throws IllegalArgumentException if the maximum size is negative
+     */
+    public CacheHashMap(long maximumSize) {
+        this(maximumSize, Policy.LRU);
+    }
+
+    /**
+     * Constructs an empty CacheHashMap holding at most the specified number of mappings,
+     * with the specified eviction policy.
+     *
+     * @param  maximumSize the maximum number of mappings
+     * @param  policy the eviction policy
+     * @throws IllegalArgumentException if the maximum size is negative
+     */
+    public CacheHashMap(long maximumSize, Policy policy) {
+        this(maximumSize, policy, (key, value) -> 1);
+    }
+
+    /**
+     * Constructs an empty CacheHashMap whose mappings weigh at most the specified weight,
+     * with the specified eviction policy. The weigher is called once when a mapping is added
+     * or its value is replaced, and must not return a negative weight.
+     *
+     * @param  maximumWeight the maximum total weight of the mappings
+     * @param  policy the eviction policy
+     * @param  weigher the function giving the weight of a mapping
+     * @throws IllegalArgumentException if the maximum weight is negative
+     */
+    public CacheHashMap(long maximumWeight, Policy policy, ToIntBiFunction<? super K, ? super V> weigher) {
+        if (maximumWeight < 0) {
+            throw new IllegalArgumentException("Illegal maximum weight: " + maximumWeight);
+        }
+
+        this.maximumWeight = maximumWeight;
+        this.weigher = Objects.requireNonNull(weigher);
+
+        if (Objects.requireNonNull(policy) == Policy.W_TINY_LFU) {
+            windowMaximum = Math.max(1, (long) (maximumWeight * WINDOW_SHARE));
+            protectedMaximum = (long) ((maximumWeight - windowMaximum) * PROTECTED_SHARE);
+            sketch = new FrequencySketch();
+        } else {
+            windowMaximum = maximumWeight;
+            protectedMaximum = 0;
+            sketch = null;
+        }
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or null if this cache
+     * contains no mapping for the key. A hit moves the mapping to the end of its queue.
+     *
+     * @param key key with which the returning value is to be associated
+     */
+    @Override
+    public V get(Object key) {
+        Entry<K, V> entry = request(key);
+        return entry == null ? null : entry.getValue();
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or
+     * defaultValue if this cache contains no mapping for the key.
+     * A hit moves the mapping to the end of its queue.
+     *
+     * @param key the key whose associated value is to be returned
+     * @param defaultValue the default mapping of the key
+     * @return the value to which the specified key is mapped, or
+     * defaultValue if this cache contains no mapping for the key
+     */
+    @Override
+    public V getOrDefault(Object key, V defaultValue) {
+        Entry<K, V> entry = request(key);
+        return entry == null ? defaultValue : entry.getValue();
+    }
+
+    /**
+     * Removes all of the mappings from this cache. The statistics are kept.
+     */
+    @Override
+    public void clear() {
+        super.clear();
+        window = LinkedEntry.newList();
+        probation = LinkedEntry.newList();
+        protectedQueue = LinkedEntry.newList();
+        weightedSize = 0;
+        windowWeight = 0;
+        protectedWeight = 0;
+    }
+
+    /**
+     * Returns the maximum total weight of the mappings of this cache.
+     *
+     * @return the maximum weight
+     */
+    public long maximumWeight() {
+        return maximumWeight;
+    }
+
+    /**
+     * Returns the total weight of the mappings of this cache.
+     *
+     * @return the weighted size, which is the size with the default weigher
+     */
+    public long weightedSize() {
+        return weightedSize;
+    }
+
+    /**
+     * Returns the number of get and getOrDefault calls which found a mapping.
+     *
+     * @return the number of hits
+     */
+    public long hitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of get and getOrDefault calls which found no mapping.
+     *
+     * @return the number of misses
+     */
+    public long missCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the number of mappings evicted to respect the maximum weight.
+     * The mappings removed by remove or clear are not counted.
+     *
+     * @return the number of evictions
+     */
+    public long evictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Returns the ratio of the requests which were hits, or 1 if there was no request.
+     *
+     * @return the hit rate, between 0 and 1
+     */
+    public double hitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    @Override
+    Entry<K, V> newEntry(int hash, K key, V value) {
+        return newLinkedEntry(hash, key, value);
+    }
+
+    @Override
+    void linkEntry(LinkedEntry<K, V> entry) {
+        int weight = weigh(entry);
+        if (weight > maximumWeight) {
+            oversized = entry;
+            return;
+        }
+
+        entry.setWeight(weight);
+        entry.setQueue(WINDOW);
+        entry.linkLast(window);
+        weightedSize += weight;
+        windowWeight += weight;
+
+        if (sketch != null) {
+            sketch.increment(Objects.hashCode(entry.getKey()));
+        }
+    }
+
+    @Override
+    void afterAccess(Entry<K, V> entry) {
+        LinkedEntry<K, V> linked = (LinkedEntry<K, V>) entry;
+        int weight = weigh(linked);
+        if (weight > maximumWeight) {
+            evictEntry(linked);
+            return;
+        }
+
+        addWeight(linked, weight - linked.weight());
+        linked.setWeight(weight);
+
+        onAccess(linked);
+        evict();
+    }
+
+    @Override
+    void afterInsertion() {
+        if (oversized != null) {
+            LinkedEntry<K, V> entry = oversized;
+            oversized = null;
+            evictEntry(entry);
+            return;
+        }
+
+        if (sketch != null) {
+            sketch.ensureCapacity(size());
+        }
+        evict();
+    }
+
+    @Override
+    void afterRemoval(Entry<K, V> entry) {
+        // an oversized entry is never linked, and not even a linked entry if a resize split its tree
+        if (entry instanceof LinkedEntry<K, V> linked && linked.isLinked()) {
+            addWeight(linked, -linked.weight());
+            linked.unlink();
+        }
+    }
+
+    /**
+     * Looks the key up as a request: counts a hit or a miss, and records the access.
+     */
+    private Entry<K, V> request(Object key) {
+        Entry<K, V> entry = getEntry(key);
+
+        if (entry == null) {
+            missCount++;
+            if (sketch != null) {
+                sketch.increment(Objects.hashCode(key));
+            }
+            return null;
+        }
+
+        hitCount++;
+        onAccess((LinkedEntry<K, V>) entry);
+        return entry;
+    }
+
+    private int weigh(LinkedEntry<K, V> entry) {
+        int weight = weigher.applyAsInt(entry.getKey(), entry.getValue());
+        if (weight < 0) {
+            throw new IllegalArgumentException("Illegal weight: " + weight);
+        }
+        return weight;
+    }
+
+    /**
+     * Adds the weight difference to the total weight and to the weight of the queue of the entry.
+     */
+    private void addWeight(LinkedEntry<K, V> entry, long delta) {
+        weightedSize += delta;
+        if (entry.queue() == WINDOW) {
+            windowWeight += delta;
+        } else if (entry.queue() == PROTECTED) {
+            protectedWeight += delta;
+        }
+    }
+
+    /**
+     * Moves the entry to the end of its queue, or promotes it from probation to protected.
+     */
+    private void onAccess(LinkedEntry<K, V> entry) {
+        if (sketch != null) {
+            sketch.increment(Objects.hashCode(entry.getKey()));
+        }
+
+        entry.unlink();
+        if (entry.queue() == WINDOW) {
+            entry.linkLast(window);
+        } else if (entry.queue() == PROTECTED) {
+            entry.linkLast(protectedQueue);
+        } else {
+            entry.setQueue(PROTECTED);
+            entry.linkLast(protectedQueue);
+            protectedWeight += entry.weight();
+            demoteProtected();
+        }
+    }
+
+    /**
+     * Moves the oldest protected entries back to probation while the protected queue is too heavy.
+     */
+    private void demoteProtected() {
+        while (protectedWeight > protectedMaximum) {
+            LinkedEntry<K, V> first = protectedQueue.after();
+            if (first == protectedQueue) {
+                return;
+            }
+
+            first.unlink();
+            first.setQueue(PROBATION);
+            first.linkLast(probation);
+            protectedWeight -= first.weight();
+        }
+    }
+
+    /**
+     * Moves the entries overflowing the window to probation, as candidates, then evicts
+     * until the cache is under its maximum weight. A candidate is admitted if its key was
+     * requested more often than the key of the oldest probation entry, the victim,
+     * otherwise the candidate is evicted instead of the victim.
+     */
+    private void evict() {
+        LinkedEntry<K, V> candidate = null;
+
+        while (windowWeight > windowMaximum) {
+            LinkedEntry<K, V> first = window.after();
+            if (first == window) {
+                break;
+            }
+
+            first.unlink();
+            first.setQueue(PROBATION);
+            first.linkLast(probation);
+            windowWeight -= first.weight();
+            if (candidate == null) {
+                candidate = first;
+            }
+        }
+
+        while (weightedSize > maximumWeight) {
+            LinkedEntry<K, V> victim = oldestEntry();
+            if (victim == null) {
+                return;
+            }
+
+            LinkedEntry<K, V> evicted = victim;
+            if (candidate != null && candidate != victim && victim.queue() == PROBATION && !admit(candidate, victim)) {
+                evicted = candidate;
+            }
+            if (evicted == candidate) {
+                candidate = (candidate.after() == probation) ? null : candidate.after();
+            }
+
+            evictEntry(evicted);
+        }
+    }
+
+    /**
+     * Returns the entry to be evicted first: the oldest of probation,
+     * then of protected, then of the window.
+     */
+    private LinkedEntry<K, V> oldestEntry() {
+        if (probation.after() != probation) {
+            return probation.after();
+        }
+        if (protectedQueue.after() != protectedQueue) {
+            return protectedQueue.after();
+        }
+        if (window.after() != window) {
+            return window.after();
+        }
+        return null;
+    }
+
+    private boolean admit(LinkedEntry<K, V> candidate, LinkedEntry<K, V> victim) {
+        if (sketch == null) {
+            return true;
+        }
+        return sketch.frequency(Objects.hashCode(candidate.getKey()))
+                > sketch.frequency(Objects.hashCode(victim.getKey()));
+    }
+
+    private void evictEntry(LinkedEntry<K, V> entry) {
+        removeLinked(entry);
+        evictionCount++;
+    }
+}
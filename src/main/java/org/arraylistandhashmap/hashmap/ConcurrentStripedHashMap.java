@@ -0,0 +1,463 @@
+package org.arraylistandhashmap.hashmap;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * This is a thread-safe variant of the {@link HashMap} with the same public API
+ * and the same semantics, including support for null keys and values.
+ *
+ * <p>The map is split into a fixed number of <i>stripes</i>, each one being a small
+ * chained hash table guarded by its own lock. A key always belongs to the same stripe,
+ * chosen by the higher bits of its hash, so writers of different stripes never
+ * contend with each other, and a stripe is resized on its own.
+ *
+ * <p>Reads take no lock at all: the buckets are read through an
+ * {@link AtomicReferenceArray}, the links and values of the entries are volatile,
+ * and a resized table is filled with fresh entries before it is published, so a
+ * reader always sees a consistent chain. As a result read-heavy workloads
+ * scale with the number of cores.
+ *
+ * <p>The number of mappings is counted with a {@link LongAdder}, whose cells
+ * are spread across threads, so the size counter does not become a contention point.
+ * Consequently {@link #size()} as well as {@link #containsValue(Object)} and
+ * {@link #keySet()} are only weakly consistent while the map is being modified.
+ *
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of mapped values
+ *
+ * @author  rassandev
+ */
+public class ConcurrentStripedHashMap<K, V> {
+    /**
+     * The default initial capacity - MUST be a power of two.
+     */
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    /**
+     * The load factor used when none specified in constructor.
+     */
+    private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+    /**
+     * The default number of stripes - MUST be a power of two.
+     */
+    private static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+    /**
+     * The maximum number of stripes.
+     */
+    private static final int MAXIMUM_STRIPES = 1 << 16;
+
+    /**
+     * The maximum capacity of a stripe table.
+     */
+    private static final int MAXIMUM_STRIPE_CAPACITY = 1 << 30;
+
+    /**
+     * Stands in for the null key, so the hash of a key can always be computed.
+     */
+    private static final Object NULL_KEY = new Object();
+
+    /**
+     * The stripes, each one guarding its own part of the mappings.
+     */
+    private final Stripe<K, V>[] stripes;
+
+    /**
+     * The shift turning a hash into a stripe index.
+     */
+    private final int stripeShift;
+
+    /**
+     * The number of key-value mappings contained in this map.
+     */
+    private final LongAdder size = new LongAdder();
+
+    /**
+     * Constructs an empty ConcurrentStripedHashMap with the default initial capacity (16),
+     * the default load factor (0.75) and the default concurrency level (16).
+     */
+    public ConcurrentStripedHashMap() {
+        this(DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * Constructs an empty ConcurrentStripedHashMap with the specified initial capacity,
+     * the default load factor (0.75) and the default concurrency level (16).
+     *
+     * @param  initialCapacity the initial capacity.
+     * @throws IllegalArgumentException if the initial capacity is negative.
+     */
+    public ConcurrentStripedHashMap(int initialCapacity) {
+        this(initialCapacity, DEFAULT_LOAD_FACTOR, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * Constructs an empty ConcurrentStripedHashMap with the specified initial capacity,
+     * load factor and concurrency level.
+     *
+     * @param  initialCapacity the initial capacity
+     * @param  loadFactor the load factor
+     * @param  concurrencyLevel the estimated number of concurrently updating threads,
+     *         it is rounded up to a power of two to get the number of stripes
+     * @throws IllegalArgumentException if the initial capacity is negative,
+     *         the load factor is nonpositive or not a number,
+     *         or the concurrency level is nonpositive
+     */
+    public ConcurrentStripedHashMap(int initialCapacity, float loadFactor, int concurrencyLevel) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal initial capacity: " + initialCapacity);
+        }
+
+        if (loadFactor <= 0 || Float.isNaN(loadFactor)) {
+            throw new IllegalArgumentException("Illegal load factor: " + loadFactor);
+        }
+
+        if (concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("Illegal concurrency level: " + concurrencyLevel);
+        }
+
+        int stripeCount = powerOfTwoFor(Math.min(concurrencyLevel, MAXIMUM_STRIPES));
+        int stripeCapacity = powerOfTwoFor(Math.max(1, initialCapacity / stripeCount));
+
+        this.stripes = newStripes(stripeCount);
+        this.stripeShift = Integer.SIZE - Integer.numberOfTrailingZeros(stripeCount);
+
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe<>(stripeCapacity, loadFactor);
+        }
+    }
+
+    /**
+     * Returns the smallest power of two that is not less than the given number.
+     */
+    private static int powerOfTwoFor(int n) {
+        return n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+    }
+
+    /**
+     * Computes the hashcode for key of this map and mixes all of its bits,
+     * because the stripe is chosen by the higher bits and the bucket by the lower ones.
+     */
+    private static int keyHash(Object key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        return h ^ (h >>> 16);
+    }
+
+    private static Object maskNull(Object key) {
+        return key == null ? NULL_KEY : key;
+    }
+
+    private Stripe<K, V> stripeFor(int hash) {
+        // with a single stripe the shift is 32, which Java treats as 0, so mask it as well
+        return stripes[(hash >>> stripeShift) & (stripes.length - 1)];
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     *
+     * @return the number of key-value mappings in this map
+     */
+    public int size() {
+        long sum = size.sum();
+        return sum < 0 ? 0 : (int) Math.min(sum, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns true if this map contains no key-value mappings.
+     *
+     * @return true, if this map contains no key-value mappings, otherwise returns false
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Removes all of the mappings from this map.
+     * The stripes are cleared one by one, so a concurrent reader may still
+     * see some mappings of a stripe that has not been cleared yet.
+     */
+    public void clear() {
+        for (Stripe<K, V> stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                size.add(-stripe.count);
+                stripe.table = new AtomicReferenceArray<>(stripe.table.length());
+                stripe.count = 0;
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map.
+     * If the map previously contained a mapping for the key, the old
+     * value is replaced.
+     *
+     * @param key key with which the specified value is to be associated
+     * @param value value to be associated with the specified key
+     * @return the previous value associated with a key, or
+     *         null if there was no mapping for a key.
+     */
+    public V put(K key, V value) {
+        Object k = maskNull(key);
+        int hash = keyHash(k);
+        return stripeFor(hash).put(k, hash, value, size);
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped,
+     * or null if this map contains no mapping for the key.
+     * This method never blocks.
+     *
+     * @param key key with which the returning value is to be associated
+     */
+    public V get(Object key) {
+        Object k = maskNull(key);
+        int hash = keyHash(k);
+        Node<K, V> node = stripeFor(hash).find(k, hash);
+        return node == null ? null : node.value;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or
+     * defaultValue if this map contains no mapping for the key.
+     * This method never blocks.
+     *
+     * @param key the key whose associated value is to be returned
+     * @param defaultValue the default mapping of the key
+     * @return the value to which the specified key is mapped, or
+     * defaultValue if this map contains no mapping for the key
+     */
+    public V getOrDefault(Object key, V defaultValue) {
+        Object k = maskNull(key);
+        int hash = keyHash(k);
+        Node<K, V> node = stripeFor(hash).find(k, hash);
+        return node == null ? defaultValue : node.value;
+    }
+
+    /**
+     * Removes the mapping for the specified key from this map if present.
+     *
+     * @param  key key whose mapping is to be removed from the map
+     * @return the previous value associated with a key, or
+     *         null if there was no mapping for key.
+     */
+    public V remove(Object key) {
+        Object k = maskNull(key);
+        int hash = keyHash(k);
+        return stripeFor(hash).remove(k, hash, size);
+    }
+
+    /**
+     * Returns true if this map contains a mapping for the
+     * specified key. This method never blocks.
+     *
+     * @param   key   The key whose presence in this map is to be tested
+     * @return true if this map contains a mapping for the specified
+     * key.
+     */
+    public boolean containsKey(Object key) {
+        Object k = maskNull(key);
+        int hash = keyHash(k);
+        return stripeFor(hash).find(k, hash) != null;
+    }
+
+    /**
+     * Returns true if this map maps one or more keys to the
+     * specified value. This method never blocks.
+     *
+     * @param value value whose presence in this map is to be tested
+     * @return true if this map maps one or more keys to the
+     *         specified value
+     */
+    public boolean containsValue(Object value) {
+        for (Stripe<K, V> stripe : stripes) {
+            AtomicReferenceArray<Node<K, V>> table = stripe.table;
+
+            for (int i = 0; i < table.length(); i++) {
+                for (Node<K, V> node = table.get(i); node != null; node = node.next) {
+                    V nodeValue = node.value;
+                    if ((nodeValue == value) || (nodeValue != null && nodeValue.equals(value))) {
+                        return true;
+                    }
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns a {@link Set} of the keys contained in this map.
+     * This method never blocks.
+     *
+     * @return a set of the keys contained in this map
+     */
+    public Set<K> keySet() {
+        Set<K> keys = new HashSet<>();
+
+        for (Stripe<K, V> stripe : stripes) {
+            AtomicReferenceArray<Node<K, V>> table = stripe.table;
+
+            for (int i = 0; i < table.length(); i++) {
+                for (Node<K, V> node = table.get(i); node != null; node = node.next) {
+                    keys.add(node.key == NULL_KEY ? null : (K) node.key);
+                }
+            }
+        }
+
+        return keys;
+    }
+
+    /**
+     * Creates the array of the stripes, typed without going through a raw Stripe array.
+     */
+    private static <K, V> Stripe<K, V>[] newStripes(int length) {
+        return (Stripe<K, V>[]) new Stripe<?, ?>[length];
+    }
+
+    /**
+     * A stripe is a chained hash table guarded by its own lock.
+     * Writers hold the lock, readers only read the volatile table reference,
+     * buckets, links and values.
+     */
+    private static final class Stripe<K, V> {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final float loadFactor;
+        private volatile AtomicReferenceArray<Node<K, V>> table;
+        private int count;
+        private int threshold;
+
+        private Stripe(int capacity, float loadFactor) {
+            this.loadFactor = loadFactor;
+            this.table = new AtomicReferenceArray<>(capacity);
+            this.threshold = (int) (capacity * loadFactor);
+        }
+
+        private Node<K, V> find(Object key, int hash) {
+            AtomicReferenceArray<Node<K, V>> tab = table;
+
+            for (Node<K, V> node = tab.get(hash & (tab.length() - 1)); node != null; node = node.next) {
+                if (node.hash == hash && (node.key == key || node.key.equals(key))) {
+                    return node;
+                }
+            }
+
+            return null;
+        }
+
+        private V put(Object key, int hash, V value, LongAdder size) {
+            lock.lock();
+            try {
+                Node<K, V> node = find(key, hash);
+
+                if (node != null) {
+                    V currentValue = node.value;
+                    node.value = value;
+                    return currentValue;
+                }
+
+                if (count >= threshold) {
+                    resize();
+                }
+
+                AtomicReferenceArray<Node<K, V>> tab = table;
+                int index = hash & (tab.length() - 1);
+                tab.set(index, new Node<>(hash, key, value, tab.get(index)));
+                count++;
+                size.increment();
+
+                return null;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private V remove(Object key, int hash, LongAdder size) {
+            lock.lock();
+            try {
+                AtomicReferenceArray<Node<K, V>> tab = table;
+                int index = hash & (tab.length() - 1);
+                Node<K, V> previous = null;
+
+                for (Node<K, V> node = tab.get(index); node != null; node = node.next) {
+                    if (node.hash == hash && (node.key == key || node.key.equals(key))) {
+                        if (previous == null) {
+                            tab.set(index, node.next);
+                        } else {
+                            previous.next = node.next;
+                        }
+
+                        count--;
+                        size.decrement();
+
+                        return node.value;
+                    }
+
+                    previous = node;
+                }
+
+                return null;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Doubles the table. The entries are copied instead of relinked,
+         * so the readers still traversing the old table are not disturbed.
+         */
+        private void resize() {
+            AtomicReferenceArray<Node<K, V>> oldTable = table;
+            int oldCapacity = oldTable.length();
+
+            if (oldCapacity >= MAXIMUM_STRIPE_CAPACITY) {
+                threshold = Integer.MAX_VALUE;
+                return;
+            }
+
+            int newCapacity = oldCapacity * 2;
+            AtomicReferenceArray<Node<K, V>> newTable = new AtomicReferenceArray<>(newCapacity);
+
+            for (int i = 0; i < oldCapacity; i++) {
+                for (Node<K, V> node = oldTable.get(i); node != null; node = node.next) {
+                    int index = node.hash & (newCapacity - 1);
+                    newTable.set(index, new Node<>(node.hash, node.key, node.value, newTable.get(index)));
+                }
+            }
+
+            threshold = (int) (newCapacity * loadFactor);
+            table = newTable;
+        }
+    }
+
+    /**
+     * This class represents a basic entity(entry) of this map.
+     *
+     * @param  <K> the type of the key.
+     * @param  <V> the type of the value.
+     */
+    private static final class Node<K, V> {
+        private final int hash;
+        private final Object key;
+        private volatile V value;
+        private volatile Node<K, V> next;
+
+        private Node(int hash, Object key, V value, Node<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.arraylistandhashmap.hashmap;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * This class represents a basic entity(entry) of a {@link HashMap}.
+ * It keeps the spread hash of its key, so lookups compare the hashes before calling
+ * equals, and resizes find the new bucket without calling hashCode again.
+ *
+ * @param  <K> the type of the key.
+ * @param  <V> the type of the value.
+ *
+ * @author  rassandev
+ */
+class Entry<K, V> implements Map.Entry<K, V> {
+    private final int hash;
+    private final K key;
+    private V value;
+    private Entry<K, V> next;
+
+    Entry(int hash, K key, V value) {
+        this.hash = hash;
+        this.key = key;
+        this.value = value;
+        this.next = null;
+    }
+
+    /**
+     * Returns the spread hash of the key, computed once when the entry was created.
+     */
+    final int hash() {
+        return hash;
+    }
+
+    /**
+     * Returns the next entry of the bucket, in the chain or in the tree.
+     */
+    final Entry<K, V> next() {
+        return next;
+    }
+
+    final void setNext(Entry<K, V> next) {
+        this.next = next;
+    }
+
+    @Override
+    public K getKey() {
+        return key;
+    }
+
+    @Override
+    public V getValue() {
+        return value;
+    }
+
+    @Override
+    public V setValue(V newValue) {
+        V oldValue = value;
+        value = newValue;
+        return oldValue;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Map.Entry<?, ?> entry)) {
+            return false;
+        }
+
+        return Objects.equals(this.getKey(), entry.getKey()) && Objects.equals(this.getValue(), entry.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(this.getKey()) ^ Objects.hashCode(this.getValue());
+    }
+
+    @Override
+    public String toString() {
+        return key + "=" + value;
+    }
+}
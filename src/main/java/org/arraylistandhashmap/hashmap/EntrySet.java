@@ -0,0 +1,60 @@
+package org.arraylistandhashmap.hashmap;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Spliterator;
+
+/**
+ * The entry set view of a {@link HashMap}, see {@link HashMap#entrySet()}.
+ *
+ * @param  <K> the type of the key.
+ * @param  <V> the type of the value.
+ *
+ * @author  rassandev
+ */
+final class EntrySet<K, V> extends AbstractSet<Map.Entry<K, V>> {
+    private final HashMap<K, V> map;
+
+    EntrySet(HashMap<K, V> map) {
+        this.map = map;
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public void clear() {
+        map.clear();
+    }
+
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        return new BucketIterator<>(map, entry -> entry);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof Map.Entry<?, ?> entry)) {
+            return false;
+        }
+        Entry<K, V> candidate = map.getEntry(entry.getKey());
+        return candidate != null && candidate.equals(entry);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (!contains(o)) {
+            return false;
+        }
+        map.removeEntry(((Map.Entry<?, ?>) o).getKey(), true);
+        return true;
+    }
+
+    @Override
+    public Spliterator<Map.Entry<K, V>> spliterator() {
+        return map.spliterator();
+    }
+}
@@ -0,0 +1,501 @@
+package org.arraylistandhashmap.hashmap;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * This is a variant of the {@link HashMap} whose mappings expire after a duration,
+ * for the short-lived values like the session tokens.
+ *
+ * <p>A mapping expires a duration after it was written, by default, or after it was
+ * last read with the {@link Expiration#AFTER_ACCESS} option. The duration is given
+ * to the constructor, and can be set for a single mapping by {@link #put(Object, Object, long, TimeUnit)}.
+ *
+ * <p>An expired mapping is never returned by get, getOrDefault and containsKey: it is
+ * removed lazily when it is looked up. The writes treat it as absent, so put returns null
+ * and computeIfAbsent computes a new value. The other expired mappings are removed proactively
+ * by a hierarchical timer wheel, advanced by the writes and by {@link #cleanUp()}.
+ * The wheel has five levels of 64 buckets, each bucket spanning about 16 milliseconds
+ * on the first level, 1 second, 1 minute, 1 hour and 3 days on the next ones. An entry
+ * is linked in the bucket of its expiration time, on the finest level whose buckets cover
+ * its remaining duration, and moves to a finer level when the time reaches its bucket.
+ * So scheduling, rescheduling and removing an entry take O(1) time, and advancing the wheel
+ * only visits the buckets whose time has passed, instead of sweeping the whole table.
+ * An entry keeps its expiration time and its links in the wheel in its own fields,
+ * so scheduling a mapping allocates nothing.
+ *
+ * <p>A mapping may outlive its expiration time by up to a bucket of the first level, and
+ * until the next write when the map is not written to. Until then, it is still counted
+ * by size and seen by the views, so {@link #cleanUp()} should be called before them
+ * when the exact number of live mappings matters.
+ *
+ * <p>An ExpiringHashMap is not thread-safe, and even its reads must not run concurrently:
+ * a get may remove the expired mapping it finds, or reschedule a live one.
+ *
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of mapped values
+ *
+ * @author  rassandev
+ */
+public class ExpiringHashMap<K, V> extends HashMap<K, V> {
+
+    /**
+     * The event which starts the duration of a mapping.
+     */
+    public enum Expiration {
+        /**
+         * The mapping expires a duration after its value was put.
+         */
+        AFTER_WRITE,
+
+        /**
+         * The mapping expires a duration after its value was put or last read
+         * by get or getOrDefault.
+         */
+        AFTER_ACCESS
+    }
+
+    /**
+     * The number of bits of the time in nanoseconds dropped by the buckets of each level.
+     * Each level spans 64 buckets of the level below it.
+     */
+    private static final int[] SHIFTS = {24, 30, 36, 42, 48};
+
+    private static final int BUCKETS = 64;
+
+    /**
+     * The longest duration, about 146 years, so that the expiration time does not overflow.
+     */
+    private static final long MAX_DURATION = Long.MAX_VALUE >> 1;
+
+    private final long duration;
+
+    private final Expiration expiration;
+
+    private final LongSupplier ticker;
+
+    private final LinkedEntry<K, V>[][] wheel;
+
+    /**
+     * The entries taken from a bucket while the bucket is expired.
+     */
+    private final LinkedEntry<K, V> pending = LinkedEntry.newList();
+
+    /**
+     * The time up to which the wheel was advanced.
+     */
+    private long nanos;
+
+    /**
+     * The duration in nanoseconds of the mapping being put.
+     */
+    private long writeDuration;
+
+    private long expiredCount;
+
+    /**
+     * Constructs an empty ExpiringHashMap whose mappings expire the specified
+     * duration after they are written.
+     *
+     * @param  duration the time after which a mapping expires
+     * @param  unit the unit of the duration
+     * @throws IllegalArgumentException if the duration is not positive
+     */
+    public ExpiringHashMap(long duration, TimeUnit unit) {
+        this(duration, unit, Expiration.AFTER_WRITE);
+    }
+
+    /**
+     * Constructs an empty ExpiringHashMap whose mappings expire the specified
+     * duration after the specified event.
+     *
+     * @param  duration the time after which a mapping expires
+     * @param  unit the unit of the duration
+     * @param  expiration the event starting the duration
+     * @throws IllegalArgumentException if the duration is not positive
+     */
+    public ExpiringHashMap(long duration, TimeUnit unit, Expiration expiration) {
+        this(duration, unit, expiration, System::nanoTime);
+    }
+
+    /**
+     * Constructs an empty ExpiringHashMap whose mappings expire the specified
+     * duration after the specified event, reading the time from the specified ticker.
+     * The ticker returns a time in nanoseconds, like {@link System#nanoTime()},
+     * which must not go backwards.
+     *
+     * @param  duration the time after which a mapping expires
+     * @param  unit the unit of the duration
+     * @param  expiration the event starting the duration
+     * @param  ticker the source of the time in nanoseconds
+     * @throws IllegalArgumentException if the duration is not positive
+     */
+    public ExpiringHashMap(long duration, TimeUnit unit, Expiration expiration, LongSupplier ticker) {
+        this.duration = toNanos(duration, unit);
+        this.expiration = Objects.requireNonNull(expiration);
+        this.ticker = Objects.requireNonNull(ticker);
+        this.writeDuration = this.duration;
+        this.nanos = ticker.getAsLong();
+
+        wheel = new LinkedEntry[SHIFTS.length][BUCKETS];
+        for (LinkedEntry<K, V>[] level : wheel) {
+            for (int i = 0; i < level.length; i++) {
+                level[i] = LinkedEntry.newList();
+            }
+        }
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map,
+     * for the default duration. The expired mappings are removed first.
+     *
+     * @param key key with which the specified value is to be associated
+     * @param value value to be associated with the specified key
+     * @return the previous value associated with a key, or
+     *         null if there was no live mapping for a key.
+     */
+    @Override
+    public V put(K key, V value) {
+        return write(key, value, duration);
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map,
+     * for the specified duration instead of the default one.
+     * The expired mappings are removed first. With the AFTER_ACCESS option,
+     * a later read gives the mapping the default duration again.
+     *
+     * @param key key with which the specified value is to be associated
+     * @param value value to be associated with the specified key
+     * @param duration the time after which this mapping expires
+     * @param unit the unit of the duration
+     * @return the previous value associated with a key, or
+     *         null if there was no live mapping for a key.
+     * @throws IllegalArgumentException if the duration is not positive
+     */
+    public V put(K key, V value, long duration, TimeUnit unit) {
+        return write(key, value, toNanos(duration, unit));
+    }
+
+    private V write(K key, V value, long nanosDuration) {
+        advance(ticker.getAsLong());
+        writeDuration = nanosDuration;
+        try {
+            return super.put(key, value);
+        } finally {
+            writeDuration = duration;
+        }
+    }
+
+    /**
+     * If the specified key has no live mapping, or is mapped to null, associates it
+     * with the given value for the default duration. The expired mappings are removed first.
+     *
+     * @param key key with which the specified value is to be associated
+     * @param value value to be associated with the specified key
+     * @return the previous value associated with the key, or null if there was none
+     */
+    @Override
+    public V putIfAbsent(K key, V value) {
+        advance(ticker.getAsLong());
+        return super.putIfAbsent(key, value);
+    }
+
+    /**
+     * If the specified key has no live mapping, or is mapped to null, computes its value
+     * and enters it for the default duration unless it is null. The expired mappings are removed first.
+     *
+     * @param key key with which the specified value is to be associated
+     * @param mappingFunction the function computing a value
+     * @return the current (existing or computed) value associated with the key,
+     *         or null if the computed value is null
+     */
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        advance(ticker.getAsLong());
+        return super.computeIfAbsent(key, mappingFunction);
+    }
+
+    /**
+     * If the specified key has a live non-null value, computes a new value, written
+     * for the default duration, or removes the mapping if the new value is null.
+     * The expired mappings are removed first.
+     *
+     * @param key key with which the specified value is to be associated
+     * @param remappingFunction the function computing a value
+     * @return the new value associated with the key, or null if none
+     */
+    @Override
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        advance(ticker.getAsLong());
+        return super.computeIfPresent(key, remappingFunction);
+    }
+
+    /**
+     * Computes a new value for the specified key from its live value, or null, written
+     * for the default duration, or removes the mapping if the new value is null.
+     * The expired mappings are removed first.
+     *
+     * @param key key with which the specified value is to be associated
+     * @param remappingFunction the function computing a value
+     * @return the new value associated with the key, or null if none
+     */
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        advance(ticker.getAsLong());
+        return super.compute(key, remappingFunction);
+    }
+
+    /**
+     * Associates the specified key with the given value if it has no live non-null value,
+     * otherwise with the result of the remapping function, for the default duration,
+     * or removes the mapping if the result is null. The expired mappings are removed first.
+     *
+     * @param key key with which the resulting value is to be associated
+     * @param value the non-null value to be merged with the existing value
+     * @param remappingFunction the function recomputing a value if present
+     * @return the new value associated with the key, or null if none
+     */
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        advance(ticker.getAsLong());
+        return super.merge(key, value, remappingFunction);
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or null if this map
+     * contains no live mapping for the key. An expired mapping is removed.
+     *
+     * @param key key with which the returning value is to be associated
+     */
+    @Override
+    public V get(Object key) {
+        Entry<K, V> entry = liveEntry(key, true);
+        return entry == null ? null : entry.getValue();
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or defaultValue
+     * if this map contains no live mapping for the key. An expired mapping is removed.
+     *
+     * @param key the key whose associated value is to be returned
+     * @param defaultValue the default mapping of the key
+     * @return the value to which the specified key is mapped, or
+     * defaultValue if this map contains no live mapping for the key
+     */
+    @Override
+    public V getOrDefault(Object key, V defaultValue) {
+        Entry<K, V> entry = liveEntry(key, true);
+        return entry == null ? defaultValue : entry.getValue();
+    }
+
+    /**
+     * Returns true if this map contains a live mapping for the specified key.
+     * An expired mapping is removed. This is not an access, the expiration
+     * time of the mapping is kept.
+     *
+     * @param   key   The key whose presence in this map is to be tested
+     * @return true if this map contains a live mapping for the specified key
+     */
+    @Override
+    public boolean containsKey(Object key) {
+        return liveEntry(key, false) != null;
+    }
+
+    /**
+     * Removes the mapping for the specified key from this map if present.
+     * The expired mappings are removed first.
+     *
+     * @param  key key whose mapping is to be removed from the map
+     * @return the previous value associated with a key, or
+     *         null if there was no live mapping for key.
+     */
+    @Override
+    public V remove(Object key) {
+        advance(ticker.getAsLong());
+        return super.remove(key);
+    }
+
+    /**
+     * Removes all of the mappings from this map. The expiration count is kept.
+     */
+    @Override
+    public void clear() {
+        super.clear();
+        for (LinkedEntry<K, V>[] level : wheel) {
+            for (int i = 0; i < level.length; i++) {
+                level[i] = LinkedEntry.newList();
+            }
+        }
+    }
+
+    /**
+     * Removes the mappings which expired up to now. The writes do it already,
+     * so this is needed only before size or the views of a map which is not written to.
+     */
+    public void cleanUp() {
+        advance(ticker.getAsLong());
+    }
+
+    /**
+     * Returns the number of mappings removed because they expired.
+     *
+     * @return the number of expirations
+     */
+    public long expiredCount() {
+        return expiredCount;
+    }
+
+    @Override
+    Entry<K, V> newEntry(int hash, K key, V value) {
+        return newLinkedEntry(hash, key, value);
+    }
+
+    @Override
+    void linkEntry(LinkedEntry<K, V> entry) {
+        entry.setTime(now() + writeDuration);
+        schedule(entry);
+    }
+
+    @Override
+    void afterAccess(Entry<K, V> entry) {
+        reschedule((LinkedEntry<K, V>) entry, writeDuration);
+    }
+
+    @Override
+    boolean isLive(Entry<K, V> entry) {
+        return ((LinkedEntry<K, V>) entry).time() - ticker.getAsLong() > 0;
+    }
+
+    @Override
+    void afterRemoval(Entry<K, V> entry) {
+        LinkedEntry<K, V> linked = (LinkedEntry<K, V>) entry;
+        if (linked.isLinked()) {
+            linked.unlink();
+        }
+    }
+
+    /**
+     * Looks the key up and returns its entry if it has not expired. An expired entry is removed,
+     * a live one gets a new expiration time if the lookup is an access with the AFTER_ACCESS option.
+     */
+    private Entry<K, V> liveEntry(Object key, boolean access) {
+        Entry<K, V> entry = getEntry(key);
+        if (entry == null) {
+            return null;
+        }
+
+        LinkedEntry<K, V> linked = (LinkedEntry<K, V>) entry;
+        long now = ticker.getAsLong();
+        if (linked.time() - now <= 0) {
+            expire(linked);
+            return null;
+        }
+
+        if (access && expiration == Expiration.AFTER_ACCESS) {
+            reschedule(linked, duration);
+        }
+        return entry;
+    }
+
+    private void reschedule(LinkedEntry<K, V> entry, long nanosDuration) {
+        entry.unlink();
+        entry.setTime(now() + nanosDuration);
+        schedule(entry);
+    }
+
+    /**
+     * Links the entry in the bucket of its expiration time, on the finest level whose 64 buckets
+     * cover the remaining duration. An entry which has already expired goes to the current bucket
+     * of the first level, which is expired by the next advance.
+     */
+    private void schedule(LinkedEntry<K, V> entry) {
+        long time = entry.time();
+        long delay = time - nanos;
+        if (delay < 0) {
+            time = nanos;
+            delay = 0;
+        }
+
+        int level = 0;
+
+        while (level < SHIFTS.length - 1 && delay >= 1L << SHIFTS[level + 1]) {
+            level++;
+        }
+
+        entry.linkLast(wheel[level][(int) ((time >> SHIFTS[level]) & (BUCKETS - 1))]);
+    }
+
+    /**
+     * Advances the wheel to the given time. On each level, the buckets from the previous tick
+     * to the current one are expired, and the coarser levels are visited only when
+     * their tick has changed, so most calls look at no bucket at all.
+     */
+    private void advance(long now) {
+        long previous = nanos;
+        if (now - previous <= 0) {
+            return;
+        }
+        nanos = now;
+
+        for (int level = 0; level < SHIFTS.length; level++) {
+            long previousTicks = previous >> SHIFTS[level];
+            long delta = (now >> SHIFTS[level]) - previousTicks;
+            if (delta <= 0) {
+                break;
+            }
+            expireBuckets(level, previousTicks, delta);
+        }
+    }
+
+    /**
+     * Expires the buckets of the level from the previous tick, over the given number of ticks.
+     * Each bucket is moved to the pending list first, because its entries which have not expired
+     * yet are scheduled again, maybe in the same bucket.
+     */
+    private void expireBuckets(int level, long previousTicks, long delta) {
+        LinkedEntry<K, V>[] buckets = wheel[level];
+        int start = (int) (previousTicks & (BUCKETS - 1));
+        int steps = (int) Math.min(delta + 1, BUCKETS);
+
+        for (int i = start; i < start + steps; i++) {
+            LinkedEntry<K, V> bucket = buckets[i & (BUCKETS - 1)];
+            for (LinkedEntry<K, V> entry = bucket.after(); entry != bucket; entry = bucket.after()) {
+                entry.unlink();
+                entry.linkLast(pending);
+            }
+
+            for (LinkedEntry<K, V> entry = pending.after(); entry != pending; entry = pending.after()) {
+                entry.unlink();
+                if (entry.time() - nanos <= 0) {
+                    expire(entry);
+                } else {
+                    schedule(entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the current time, or the time of the wheel if the ticker is behind it.
+     */
+    private long now() {
+        long now = ticker.getAsLong();
+        return now - nanos > 0 ? now : nanos;
+    }
+
+    private void expire(LinkedEntry<K, V> entry) {
+        removeLinked(entry);
+        expiredCount++;
+    }
+
+    private static long toNanos(long duration, TimeUnit unit) {
+        if (duration <= 0) {
+            throw new IllegalArgumentException("Illegal duration: " + duration);
+        }
+        return Math.min(MAX_DURATION, unit.toNanos(duration));
+    }
+}
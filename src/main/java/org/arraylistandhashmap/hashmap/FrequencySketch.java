@@ -0,0 +1,123 @@
+package org.arraylistandhashmap.hashmap;
+
+/**
+ * A count-min sketch estimating how often the keys of a {@link CacheHashMap} were requested,
+ * for its TinyLFU admission policy.
+ *
+ * <p>The counters take 4 bits, 16 of them are packed in a long. A key is counted by four
+ * counters, picked by four hash functions in four different longs, and its frequency is
+ * the smallest of them, so collisions may only overestimate it. The counters saturate at 15.
+ *
+ * <p>When the number of increments reaches ten times the number of counted keys, all the
+ * counters are halved, so the sketch forgets the old requests and follows the changes
+ * of the workload.
+ *
+ * @author  rassandev
+ */
+final class FrequencySketch {
+
+    private static final long[] SEEDS = {
+        0xC3A5C85C97CB3127L, 0xB492B66FBE98F273L, 0x9AE16A3B2F90404FL, 0xCBF29CE484222325L
+    };
+
+    /**
+     * Clears the highest bit of every counter after the counters are shifted right.
+     */
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    private static final int MAX_FREQUENCY = 15;
+
+    private static final int MIN_LENGTH = 8;
+
+    private static final int MAX_LENGTH = 1 << 30;
+
+    private static final int SAMPLE_FACTOR = 10;
+
+    private long[] table;
+
+    private int sampleSize;
+
+    private int additions;
+
+    FrequencySketch() {
+        table = new long[MIN_LENGTH];
+        sampleSize = SAMPLE_FACTOR * MIN_LENGTH;
+    }
+
+    /**
+     * Grows the sketch so it counts the given number of keys accurately.
+     * The counts are lost when the sketch grows, which happens only a few times
+     * since its length is doubled at least.
+     */
+    void ensureCapacity(int keys) {
+        if (keys <= table.length || table.length == MAX_LENGTH) {
+            return;
+        }
+
+        int length = Math.min(MAX_LENGTH, Math.max(table.length * 2, Integer.highestOneBit(keys - 1) << 1));
+        table = new long[length];
+        sampleSize = (int) Math.min(Integer.MAX_VALUE, (long) SAMPLE_FACTOR * length);
+        additions = 0;
+    }
+
+    /**
+     * Returns the estimated number of requests of the key with the given hash code, at most 15.
+     */
+    int frequency(int hashCode) {
+        int hash = spread(hashCode);
+        int start = (hash & 3) << 2;
+        int frequency = MAX_FREQUENCY;
+
+        for (int i = 0; i < SEEDS.length; i++) {
+            int shift = (start + i) << 2;
+            int count = (int) ((table[indexOf(hash, i)] >>> shift) & 0xF);
+            frequency = Math.min(frequency, count);
+        }
+
+        return frequency;
+    }
+
+    /**
+     * Counts a request of the key with the given hash code.
+     */
+    void increment(int hashCode) {
+        int hash = spread(hashCode);
+        int start = (hash & 3) << 2;
+        boolean added = false;
+
+        for (int i = 0; i < SEEDS.length; i++) {
+            int index = indexOf(hash, i);
+            int shift = (start + i) << 2;
+
+            if (((table[index] >>> shift) & 0xF) < MAX_FREQUENCY) {
+                table[index] += 1L << shift;
+                added = true;
+            }
+        }
+
+        if (added && ++additions == sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * Halves all the counters.
+     */
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions >>>= 1;
+    }
+
+    private int indexOf(int hash, int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        h += h >>> 32;
+        return (int) h & (table.length - 1);
+    }
+
+    private static int spread(int hashCode) {
+        int h = hashCode * 0x9E3779BB;
+        return h ^ (h >>> 16);
+    }
+}
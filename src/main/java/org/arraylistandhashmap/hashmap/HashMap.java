@@ -1,8 +1,22 @@
 package org.arraylistandhashmap.hashmap;
 
-import java.util.Set;
-import java.util.HashSet;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * This is a custom implementation of the HashMap in Java Collections Framework.
@@ -24,6 +38,27 @@ import java.util.Objects;
  * structures are rebuilt) so that the hash table has approximately twice the
  * number of buckets.
  *
+ * <p>The capacity is always a power of two, so the bucket of a key is found
+ * by masking the lower bits of its hash instead of a division. Since only the lower
+ * bits are used, the higher bits of the key's hashcode are spread downward first.
+ * The spread hash is cached in the entry, so hashCode is called once per key, and
+ * equals only for the entries of the same hash.
+ *
+ * <p>Colliding keys are chained in a list in their bucket. When a chain grows
+ * longer than {@link #TREEIFY_THRESHOLD}, it is converted into a red-black tree
+ * ordered by hash, then by {@link Comparable} order for keys that support it,
+ * then by a tie-breaking order, so that lookups in a bucket flooded by keys
+ * with poor or adversarial hash codes stay O(log n). A tree shrinking back to
+ * a few entries is converted back into a list.
+ *
+ * <p>By default the whole table is rehashed at once by the put that crosses the
+ * threshold. In the <i>incremental resize</i> mode the old and the new tables coexist
+ * instead: the resize only allocates the new table, and every subsequent
+ * put, get and remove migrates a bounded number of buckets from the old
+ * table to the new one. The number of buckets is scaled to the puts left before the
+ * next resize, so the migration is finished by then. This spreads the cost of rehashing
+ * over many operations, so no single operation pays for rehashing the whole map.
+ *
  * @param <K> the type of keys maintained by this map
  * @param <V> the type of mapped values
  *
@@ -40,22 +75,91 @@ public class HashMap<K, V> {
      */
     private static final float DEFAULT_LOAD_FACTOR = 0.75f;
 
+    /**
+     * The maximum capacity, used if a higher value is implicitly specified
+     * by either of the constructors with arguments.
+     * MUST be a power of two.
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * The chain length a bucket may reach before it is converted into a tree:
+     * the put that makes a chain longer than this treeifies the bucket.
+     */
+    private static final int TREEIFY_THRESHOLD = 8;
+
+    /**
+     * The smallest table capacity for which buckets may be treeified.
+     * Smaller tables are resized instead when a chain grows too long.
+     */
+    private static final int MIN_TREEIFY_CAPACITY = 64;
+
+    /**
+     * The minimal number of buckets migrated by every operation in the incremental resize mode.
+     * Maps with a small load factor migrate more, see {@link #migrate()}.
+     */
+    private static final int MIGRATION_STEP = 4;
+
+    /**
+     * The kinds of the operations implemented by {@link #computeValue}.
+     */
+    private static final int PUT_IF_ABSENT = 0;
+    private static final int IF_ABSENT = 1;
+    private static final int IF_PRESENT = 2;
+    private static final int COMPUTE = 3;
+    private static final int MERGE = 4;
+
     /**
      * The table, initialized on first use, and resized as
      * necessary.
      */
     private Entry<K, V>[] table;
 
+    /**
+     * The table being migrated into the current one in the incremental resize mode,
+     * or null if there is no resize in progress.
+     */
+    private Entry<K, V>[] oldTable;
+
+    /**
+     * The index of the next bucket of the old table to migrate.
+     * The buckets below this index are already empty.
+     */
+    private int migrationIndex;
+
     /**
      * The number of key-value mappings contained in this HashMap.
      */
     private int size;
 
+    /**
+     * The next size value at which to resize (capacity * load factor).
+     */
+    private int threshold;
+
+    /**
+     * The number of times this HashMap has been structurally modified, that is
+     * the mappings added or removed. It makes the iterators of the views fail-fast.
+     */
+    private int modCount;
+
+    /**
+     * The views of this HashMap, created on first use.
+     */
+    private Set<K> keySet;
+    private Collection<V> values;
+    private Set<Map.Entry<K, V>> entrySet;
+
     /**
      * The load factor for this HashMap.
      */
     private final float loadFactor;
 
+    /**
+     * True if this HashMap resizes incrementally.
+     */
+    private final boolean incrementalResize;
+
     /**
      * Constructs an empty HashMap with the default initial capacity
      * (16) and the default load factor (0.75).
@@ -66,7 +170,7 @@ public class HashMap<K, V> {
 
     /**
      * Constructs an empty HashMap with the specified initial
-     * capacity and load factor.
+     * capacity and load factor. The capacity is rounded up to a power of two.
      *
      * @param  initialCapacity the initial capacity
      * @param  loadFactor the load factor
@@ -74,6 +178,21 @@ public class HashMap<K, V> {
      *         or the load factor is nonpositive or not a number
      */
     public HashMap(int initialCapacity, float loadFactor) {
+        this(initialCapacity, loadFactor, false);
+    }
+
+    /**
+     * Constructs an empty HashMap with the specified initial
+     * capacity and load factor, that optionally resizes incrementally.
+     *
+     * @param  initialCapacity the initial capacity
+     * @param  loadFactor the load factor
+     * @param  incrementalResize true to migrate the buckets to a resized table
+     *         a few at a time, instead of rehashing all of them at once
+     * @throws IllegalArgumentException if the initial capacity is negative
+     *         or the load factor is nonpositive or not a number
+     */
+    public HashMap(int initialCapacity, float loadFactor, boolean incrementalResize) {
         if (initialCapacity < 0) {
             throw new IllegalArgumentException("Illegal initial capacity: " + initialCapacity);
         }
@@ -82,8 +201,10 @@ public class HashMap<K, V> {
             throw new IllegalArgumentException("Illegal load factor: " + loadFactor);
         }
 
-        this.table = new Entry[initialCapacity];
         this.loadFactor = loadFactor;
+        this.table = new Entry[tableSizeFor(initialCapacity)];
+        this.threshold = thresholdFor(table.length);
+        this.incrementalResize = incrementalResize;
         this.size = 0;
     }
 
@@ -99,10 +220,52 @@ public class HashMap<K, V> {
     }
 
     /**
-     * Computes the hashcode for key of this HashMap.
+     * Returns a power of two size for the given target capacity.
+     */
+    private static int tableSizeFor(int capacity) {
+        int n = -1 >>> Integer.numberOfLeadingZeros(Math.max(capacity, 1) - 1);
+        return (n < 0) ? 1 : (n >= MAXIMUM_CAPACITY) ? MAXIMUM_CAPACITY : n + 1;
+    }
+
+    /**
+     * Returns the size at which a table of the given capacity must be resized.
+     */
+    private int thresholdFor(int capacity) {
+        float ft = capacity * loadFactor;
+        return (capacity < MAXIMUM_CAPACITY && ft < (float) MAXIMUM_CAPACITY)
+                ? (int) ft
+                : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Computes the hashcode for key of this HashMap and spreads (XORs) its higher bits
+     * to lower. Because the table uses power-of-two masking, sets of hashes
+     * that vary only in bits above the current mask would otherwise always collide.
      */
     private static int keyHash(Object key) {
-        return key == null ? 0 : key.hashCode();
+        if (key == null) {
+            return 0;
+        }
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Returns the index of the bucket of the hash in a table of the given power of two length.
+     */
+    private static int indexFor(int hash, int length) {
+        return hash & (length - 1);
+    }
+
+    /**
+     * Returns the table holding the bucket of the hash: the old table if
+     * the bucket has not been migrated yet, otherwise the current one.
+     */
+    private Entry<K, V>[] tableFor(int hash) {
+        if (oldTable != null && indexFor(hash, oldTable.length) >= migrationIndex) {
+            return oldTable;
+        }
+        return table;
     }
 
     /**
@@ -131,7 +294,9 @@ public class HashMap<K, V> {
         for (int i = 0; i < table.length; i++) {
             table[i] = null;
         }
+        oldTable = null;
         size = 0;
+        modCount++;
     }
 
     /**
@@ -145,32 +310,191 @@ public class HashMap<K, V> {
      *         null if there was no mapping for a key.
      */
     public V put(K key, V value) {
-        int index = keyHash(key) % table.length;
-        Entry<K, V> entry = table[index];
+        return putValue(keyHash(key), key, value);
+    }
 
-        while (entry != null) {
-            if (hasCorrectKey(entry, key)) {
-                V currentValue = entry.getValue();
-                entry.setValue(value);
+    /**
+     * Implements put for the given hash of the key.
+     */
+    private V putValue(int hash, K key, V value) {
+        migrate();
+
+        Entry<K, V>[] tab = tableFor(hash);
+        int index = indexFor(hash, tab.length);
+        Entry<K, V> entry = tab[index];
+
+        if (entry instanceof TreeEntry<K, V> first) {
+            Entry<K, V> existing = first.putTreeVal(this, tab, index, hash, key, value);
+
+            if (existing != null) {
+                V currentValue = isLive(existing) ? existing.getValue() : null;
+                existing.setValue(value);
+                afterAccess(existing);
                 return currentValue;
             }
+        } else {
+            int chainLength = 0;
 
-            entry = entry.next;
-        }
+            while (entry != null) {
+                if (hasCorrectKey(entry, hash, key)) {
+                    V currentValue = isLive(entry) ? entry.getValue() : null;
+                    entry.setValue(value);
+                    afterAccess(entry);
+                    return currentValue;
+                }
+
+                entry = entry.next();
+                chainLength++;
+            }
 
-        Entry<K, V> newEntry = new Entry<>(key, value);
-        newEntry.next = table[index];
-        table[index] = newEntry;
+            Entry<K, V> newEntry = newEntry(hash, key, value);
+            newEntry.setNext(tab[index]);
+            tab[index] = newEntry;
 
-        size++;
+            if (chainLength >= TREEIFY_THRESHOLD) {
+                treeifyBin(tab, index);
+            }
+        }
 
-        if ((float) size / table.length > DEFAULT_LOAD_FACTOR) {
+        modCount++;
+        if (++size > threshold) {
             resize();
         }
 
+        afterInsertion();
         return null;
     }
 
+    /**
+     * Creates the chain entry of a new mapping. The subclasses keeping an order of their
+     * entries return a {@link #newLinkedEntry linked entry} instead.
+     */
+    Entry<K, V> newEntry(int hash, K key, V value) {
+        return new Entry<>(hash, key, value);
+    }
+
+    /**
+     * Creates a {@link LinkedEntry} for a new mapping and links it by {@link #linkEntry},
+     * like a tree entry created for a new mapping is.
+     */
+    final LinkedEntry<K, V> newLinkedEntry(int hash, K key, V value) {
+        LinkedEntry<K, V> entry = new LinkedEntry<>(hash, key, value);
+        linkEntry(entry);
+        return entry;
+    }
+
+    /**
+     * Called for a tree entry created for a new mapping, so that a subclass can link it
+     * like the entries it creates in {@link #newEntry}. Does nothing by default.
+     */
+    void linkEntry(LinkedEntry<K, V> entry) {
+    }
+
+    /**
+     * Called after the value of an existing mapping is replaced by put or a compute method.
+     * Does nothing by default.
+     */
+    void afterAccess(Entry<K, V> entry) {
+    }
+
+    /**
+     * Called at the end of a put that added a new mapping, once the table is consistent,
+     * so a subclass can evict mappings. Does nothing by default.
+     */
+    void afterInsertion() {
+    }
+
+    /**
+     * Called after an entry is removed from the table. Does nothing by default.
+     */
+    void afterRemoval(Entry<K, V> entry) {
+    }
+
+    /**
+     * Removes the mapping of a linked entry picked by a subclass, like an evicted or an expired
+     * one. If its key changed its hash code while in the table, the entry can not be found there
+     * anymore, so it is only passed to {@link #afterRemoval} to be unlinked.
+     */
+    final void removeLinked(LinkedEntry<K, V> entry) {
+        if (removeEntry(entry.getKey(), true) == null) {
+            afterRemoval(entry);
+        }
+    }
+
+    /**
+     * Returns false for an entry still in the table which put and the compute methods must
+     * treat as absent, like an expired one: its value is replaced or the entry is removed.
+     * Returns true by default.
+     */
+    boolean isLive(Entry<K, V> entry) {
+        return true;
+    }
+
+    /**
+     * Copies all of the mappings from the specified HashMap to this HashMap.
+     * The table is grown once up front to hold both maps, instead of being
+     * doubled repeatedly while the mappings are inserted, and the buckets of the
+     * specified HashMap are walked directly, without an iterator.
+     *
+     * @param map mappings to be stored in this HashMap
+     */
+    public void putAll(HashMap<? extends K, ? extends V> map) {
+        if (map.isEmpty()) {
+            return;
+        }
+
+        map.finishMigration();
+        presize(size + map.size());
+
+        for (Entry<? extends K, ? extends V> entry : map.table) {
+            for (; entry != null; entry = entry.next()) {
+                putValue(entry.hash(), entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Copies all of the mappings from the specified map to this HashMap.
+     * The table is grown once up front to hold both maps.
+     *
+     * @param map mappings to be stored in this HashMap
+     */
+    public void putAll(Map<? extends K, ? extends V> map) {
+        if (map.isEmpty()) {
+            return;
+        }
+
+        presize(size + map.size());
+
+        for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            putValue(keyHash(entry.getKey()), entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Grows the table so that it holds the expected number of mappings without being resized.
+     * An empty HashMap just allocates the table of the final size. Otherwise the table is doubled
+     * as many times as needed at once, which moves every entry a few times but does not repeat
+     * it all along the insertions.
+     */
+    private void presize(int expectedSize) {
+        int capacity = tableSizeFor((int) Math.min(MAXIMUM_CAPACITY, Math.ceil(expectedSize / (double) loadFactor)));
+        if (capacity <= table.length) {
+            return;
+        }
+
+        finishMigration();
+        if (size == 0) {
+            table = new Entry[capacity];
+            threshold = thresholdFor(capacity);
+            return;
+        }
+
+        while (table.length < capacity) {
+            resize();
+        }
+    }
+
     /**
      * Returns the value to which the specified key is mapped,
      * or null if this HashMap contains no mapping for the key.
@@ -178,15 +502,30 @@ public class HashMap<K, V> {
      * @param key key with which the returning value is to be associated
      */
     public V get(Object key) {
-        int index = keyHash(key) % table.length;
-        Entry<K, V> entry = table[index];
+        Entry<K, V> entry = getEntry(key);
+        return entry == null ? null : entry.getValue();
+    }
+
+    /**
+     * Returns the entry of the key, or null if this HashMap contains no mapping for the key.
+     */
+    final Entry<K, V> getEntry(Object key) {
+        migrate();
+
+        int hash = keyHash(key);
+        Entry<K, V>[] tab = tableFor(hash);
+        Entry<K, V> entry = tab[indexFor(hash, tab.length)];
+
+        if (entry instanceof TreeEntry<K, V> first) {
+            return first.getTreeEntry(hash, key);
+        }
 
         while (entry != null) {
-            if (hasCorrectKey(entry, key)) {
-                return entry.getValue();
+            if (hasCorrectKey(entry, hash, key)) {
+                return entry;
             }
 
-            entry = entry.next;
+            entry = entry.next();
         }
         return null;
     }
@@ -201,8 +540,8 @@ public class HashMap<K, V> {
      * defaultValue if this HashMap contains no mapping for the key
      */
     public V getOrDefault(Object key, V defaultValue) {
-        V value = get(key);
-        return ((value != null) || containsKey(key)) ? value : defaultValue;
+        Entry<K, V> entry = getEntry(key);
+        return entry == null ? defaultValue : entry.getValue();
     }
 
     /**
@@ -213,30 +552,267 @@ public class HashMap<K, V> {
      *         null if there was no mapping for key.
      */
     public V remove(Object key) {
-        int index = keyHash(key) % table.length;
-        Entry<K, V> entry = table[index];
+        Entry<K, V> entry = removeEntry(key, true);
+        return entry == null ? null : entry.getValue();
+    }
+
+    /**
+     * Removes the entry of the key and returns it, or returns null if there was no mapping for the key.
+     * When movable is false, the other entries of a tree bucket keep their order in the chain,
+     * so an iterator standing in the bucket can go on after the removal.
+     */
+    final Entry<K, V> removeEntry(Object key, boolean movable) {
+        migrate();
+
+        int hash = keyHash(key);
+        Entry<K, V>[] tab = tableFor(hash);
+        int index = indexFor(hash, tab.length);
+        Entry<K, V> entry = tab[index];
         Entry<K, V> previous = null;
 
+        if (entry instanceof TreeEntry<K, V> first) {
+            TreeEntry<K, V> found = first.getTreeEntry(hash, key);
+
+            if (found == null) {
+                return null;
+            }
+
+            found.removeTreeNode(tab, index, movable);
+            afterUnlink(found);
+
+            return found;
+        }
+
         while (entry != null) {
-            if (hasCorrectKey(entry, key)) {
-                V currentValue = entry.getValue();
+            if (hasCorrectKey(entry, hash, key)) {
+                unlinkChainEntry(tab, index, entry, previous);
+                return entry;
+            }
+
+            previous = entry;
+            entry = entry.next();
+        }
+
+        return null;
+    }
+
+    /**
+     * Removes the entry from its chain, given the entry before it, or null if it is the first one.
+     */
+    private void unlinkChainEntry(Entry<K, V>[] tab, int index, Entry<K, V> entry, Entry<K, V> previous) {
+        if (previous == null) {
+            tab[index] = entry.next();
+        } else {
+            previous.setNext(entry.next());
+        }
+        afterUnlink(entry);
+    }
+
+    private void afterUnlink(Entry<K, V> entry) {
+        size--;
+        modCount++;
+        afterRemoval(entry);
+    }
+
+    /**
+     * If the specified key is not already associated with a value (or is mapped
+     * to null), associates it with the given value and returns null,
+     * else returns the current value.
+     *
+     * @param key key with which the specified value is to be associated
+     * @param value value to be associated with the specified key
+     * @return the previous value associated with the key, or null if there was none
+     */
+    public V putIfAbsent(K key, V value) {
+        return computeValue(key, PUT_IF_ABSENT, value, null);
+    }
+
+    /**
+     * If the specified key is not already associated with a value (or is mapped
+     * to null), computes its value with the given mapping function and enters it
+     * into this HashMap unless it is null.
+     *
+     * <p>The key is hashed and its bucket is walked once, for both the lookup and
+     * the insertion, so a "get or create" costs a single lookup. The mapping function
+     * must not modify this HashMap.
+     *
+     * @param key key with which the specified value is to be associated
+     * @param mappingFunction the function computing a value
+     * @return the current (existing or computed) value associated with the key,
+     *         or null if the computed value is null
+     * @throws ConcurrentModificationException if the mapping function modified this HashMap
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        return computeValue(key, IF_ABSENT, null, Objects.requireNonNull(mappingFunction));
+    }
+
+    /**
+     * If the value for the specified key is present and non-null, computes a new
+     * mapping given the key and its current value. If the new value is null,
+     * the mapping is removed. The bucket of the key is walked once.
+     *
+     * @param key key with which the specified value is to be associated
+     * @param remappingFunction the function computing a value
+     * @return the new value associated with the key, or null if none
+     * @throws ConcurrentModificationException if the remapping function modified this HashMap
+     */
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        return computeValue(key, IF_PRESENT, null, Objects.requireNonNull(remappingFunction));
+    }
+
+    /**
+     * Computes a mapping for the specified key and its current value, or null
+     * if there is no current mapping. If the new value is null, the mapping
+     * is removed, or stays absent. The bucket of the key is walked once.
+     *
+     * @param key key with which the specified value is to be associated
+     * @param remappingFunction the function computing a value
+     * @return the new value associated with the key, or null if none
+     * @throws ConcurrentModificationException if the remapping function modified this HashMap
+     */
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        return computeValue(key, COMPUTE, null, Objects.requireNonNull(remappingFunction));
+    }
 
-                if (previous == null) {
-                    table[index] = entry.next;
+    /**
+     * If the specified key is not already associated with a value (or is mapped
+     * to null), associates it with the given non-null value. Otherwise, replaces the
+     * value with the result of the remapping function given the current and the given value,
+     * or removes the mapping if the result is null. A counter is incremented by
+     * {@code merge(key, 1, Integer::sum)} in a single lookup.
+     *
+     * @param key key with which the resulting value is to be associated
+     * @param value the non-null value to be merged with the existing value
+     * @param remappingFunction the function recomputing a value if present
+     * @return the new value associated with the key, or null if none
+     * @throws NullPointerException if the value is null
+     * @throws ConcurrentModificationException if the remapping function modified this HashMap
+     */
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        return computeValue(key, MERGE, Objects.requireNonNull(value), Objects.requireNonNull(remappingFunction));
+    }
+
+    /**
+     * Implements the compute methods: finds the entry of the key in a single walk of its bucket,
+     * keeping the entry before it, then replaces the value, removes the entry or inserts
+     * a new one at the head of the chain without walking the bucket again. The function
+     * is cast according to the kind of the operation.
+     */
+    private V computeValue(K key, int kind, V value, Object function) {
+        migrate();
+
+        int hash = keyHash(key);
+        Entry<K, V>[] tab = tableFor(hash);
+        int index = indexFor(hash, tab.length);
+        Entry<K, V> first = tab[index];
+        Entry<K, V> entry = first;
+        Entry<K, V> previous = null;
+        int chainLength = 0;
+
+        if (first instanceof TreeEntry<K, V> root) {
+            entry = root.getTreeEntry(hash, key);
+        } else {
+            while (entry != null && !hasCorrectKey(entry, hash, key)) {
+                previous = entry;
+                entry = entry.next();
+                chainLength++;
+            }
+        }
+
+        V oldValue = (entry != null && isLive(entry)) ? entry.getValue() : null;
+        int expectedModCount = modCount;
+        V newValue;
+
+        switch (kind) {
+            case PUT_IF_ABSENT -> {
+                if (oldValue != null) {
+                    return oldValue;
+                }
+                newValue = value;
+            }
+            case IF_ABSENT -> {
+                if (oldValue != null) {
+                    return oldValue;
+                }
+                newValue = ((Function<? super K, ? extends V>) function).apply(key);
+                if (newValue == null) {
+                    checkModCount(expectedModCount);
+                    return null;
+                }
+            }
+            case IF_PRESENT -> {
+                if (oldValue == null) {
+                    return null;
+                }
+                newValue = ((BiFunction<? super K, ? super V, ? extends V>) function).apply(key, oldValue);
+            }
+            case MERGE -> {
+                if (oldValue == null) {
+                    newValue = value;
                 } else {
-                    previous.next = entry.next;
+                    newValue = ((BiFunction<? super V, ? super V, ? extends V>) function).apply(oldValue, value);
                 }
+            }
+            default -> {
+                newValue = ((BiFunction<? super K, ? super V, ? extends V>) function).apply(key, oldValue);
+            }
+        }
+        checkModCount(expectedModCount);
 
-                size--;
+        if (tableFor(hash) != tab) {
+            // a lookup in the function migrated the bucket, write through the usual paths
+            if (newValue == null && kind != PUT_IF_ABSENT) {
+                if (entry != null) {
+                    removeEntry(key, true);
+                }
+                return null;
+            }
+            putValue(hash, key, newValue);
+            return kind == PUT_IF_ABSENT ? null : newValue;
+        }
 
-                return currentValue;
+        if (newValue == null && kind != PUT_IF_ABSENT) {
+            if (entry != null) {
+                if (entry instanceof TreeEntry<K, V> treeEntry) {
+                    treeEntry.removeTreeNode(tab, index, true);
+                    afterUnlink(treeEntry);
+                } else {
+                    unlinkChainEntry(tab, index, entry, previous);
+                }
             }
+            return null;
+        }
 
-            previous = entry;
-            entry = entry.next;
+        if (entry != null) {
+            entry.setValue(newValue);
+            afterAccess(entry);
+        } else {
+            if (first instanceof TreeEntry<K, V> root) {
+                root.putTreeVal(this, tab, index, hash, key, newValue);
+            } else {
+                Entry<K, V> newEntry = newEntry(hash, key, newValue);
+                newEntry.setNext(first);
+                tab[index] = newEntry;
+
+                if (chainLength >= TREEIFY_THRESHOLD) {
+                    treeifyBin(tab, index);
+                }
+            }
+
+            modCount++;
+            if (++size > threshold) {
+                resize();
+            }
+            afterInsertion();
         }
 
-        return null;
+        return kind == PUT_IF_ABSENT ? null : newValue;
+    }
+
+    private void checkModCount(int expectedModCount) {
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
     }
 
     /**
@@ -248,7 +824,7 @@ public class HashMap<K, V> {
      * key.
      */
     public boolean containsKey(Object key) {
-        return get(key) != null;
+        return getEntry(key) != null;
     }
 
     /**
@@ -260,13 +836,15 @@ public class HashMap<K, V> {
      *         specified value
      */
     public boolean containsValue(Object value) {
+        finishMigration();
+
         for (Entry<K, V> entry : table) {
             while (entry != null) {
                 if ((entry.getValue() == value) || (entry.getValue() != null && entry.getValue().equals(value))) {
                     return true;
                 }
 
-                entry = entry.next;
+                entry = entry.next();
             }
         }
 
@@ -275,20 +853,29 @@ public class HashMap<K, V> {
 
     /**
      * Initializes or doubles table size.
+     * In the incremental resize mode only the new table is allocated here,
+     * the entries are moved to it later by {@link #migrate()}.
      *
      * @return the table
      */
     private Entry<K, V>[] resize() {
+        finishMigration();
+
+        if (table.length >= MAXIMUM_CAPACITY) {
+            threshold = Integer.MAX_VALUE;
+            return table;
+        }
+
         int newSize = table.length * 2;
         Entry<K, V>[] newTable = new Entry[newSize];
+        threshold = thresholdFor(newSize);
 
-        for (Entry<K, V> entry : table) {
-            while (entry != null) {
-                Entry<K, V> next = entry.next;
-                int index = keyHash(entry.getKey()) % newSize;
-                entry.next = newTable[index];
-                newTable[index] = entry;
-                entry = next;
+        if (incrementalResize) {
+            oldTable = table;
+            migrationIndex = 0;
+        } else {
+            for (int i = 0; i < table.length; i++) {
+                transfer(table, i, newTable);
             }
         }
 
@@ -297,80 +884,359 @@ public class HashMap<K, V> {
         return newTable;
     }
 
+    /**
+     * Moves the bucket of the old table into the new table, which is twice as large.
+     * Since the capacity doubles, an entry stays at the same index or moves up by the old
+     * capacity, depending on the single bit of its cached hash which the new mask adds.
+     * So a chain is split into a lower and an upper chain, keeping the order of the entries,
+     * without calling hashCode. A tree bucket is split the same way, each of the two parts
+     * being treeified again or turned into a chain depending on its size.
+     */
+    private static <K, V> void transfer(Entry<K, V>[] oldTable, int index, Entry<K, V>[] newTable) {
+        Entry<K, V> entry = oldTable[index];
+        int oldCapacity = oldTable.length;
+
+        if (entry instanceof TreeEntry<K, V> first) {
+            first.split(newTable, index, oldCapacity);
+            return;
+        }
+
+        Entry<K, V> loHead = null;
+        Entry<K, V> loTail = null;
+        Entry<K, V> hiHead = null;
+        Entry<K, V> hiTail = null;
+
+        while (entry != null) {
+            if ((entry.hash() & oldCapacity) == 0) {
+                if (loTail == null) {
+                    loHead = entry;
+                } else {
+                    loTail.setNext(entry);
+                }
+                loTail = entry;
+            } else {
+                if (hiTail == null) {
+                    hiHead = entry;
+                } else {
+                    hiTail.setNext(entry);
+                }
+                hiTail = entry;
+            }
+            entry = entry.next();
+        }
+
+        if (loTail != null) {
+            loTail.setNext(null);
+            newTable[index] = loHead;
+        }
+        if (hiTail != null) {
+            hiTail.setNext(null);
+            newTable[index + oldCapacity] = hiHead;
+        }
+    }
+
+    /**
+     * Migrates the next few buckets of the old table, if a resize is in progress.
+     *
+     * <p>The step grows with the number of remaining buckets per put left before the
+     * next resize, so the migration always completes before the table is resized again,
+     * even when the load factor is small.
+     */
+    private void migrate() {
+        if (oldTable == null) {
+            return;
+        }
+
+        int remaining = oldTable.length - migrationIndex;
+        int headroom = Math.max(1, threshold - size);
+        int step = Math.max(MIGRATION_STEP, (remaining + headroom - 1) / headroom);
+        int end = migrationIndex + Math.min(step, remaining);
+        for (; migrationIndex < end; migrationIndex++) {
+            transfer(oldTable, migrationIndex, table);
+            oldTable[migrationIndex] = null;
+        }
+
+        if (migrationIndex == oldTable.length) {
+            oldTable = null;
+        }
+    }
+
+    /**
+     * Migrates all the remaining buckets of the old table, if a resize is in progress.
+     */
+    private void finishMigration() {
+        while (oldTable != null) {
+            migrate();
+        }
+    }
+
+    /**
+     * Finishes a resize in progress and returns the table, for the iterators of the views.
+     */
+    Entry<K, V>[] migratedTable() {
+        finishMigration();
+        return table;
+    }
+
+    /**
+     * Returns the number of structural modifications, for the iterators of the views.
+     */
+    int modCount() {
+        return modCount;
+    }
+
     /**
      * Returns a {@link Set} view of the keys contained in this HashMap.
+     * The set is backed by the table, so changes to the HashMap are reflected
+     * in the set and removing a key from the set removes its mapping.
+     * The set does not support adding keys. Its iterators are fail-fast: they throw
+     * {@link ConcurrentModificationException} if the HashMap is structurally modified
+     * other than by their own remove.
      *
      * @return a set view of the keys contained in this HashMap
      */
     public Set<K> keySet() {
-        Set<K> keys = new HashSet<>();
+        if (keySet == null) {
+            keySet = new KeySet<>(this);
+        }
+        return keySet;
+    }
+
+    /**
+     * Returns a {@link Collection} view of the values contained in this HashMap.
+     * The collection is backed by the table like the {@link #keySet()}.
+     *
+     * @return a collection view of the values contained in this HashMap
+     */
+    public Collection<V> values() {
+        if (values == null) {
+            values = new Values<>(this);
+        }
+        return values;
+    }
+
+    /**
+     * Returns a {@link Set} view of the mappings contained in this HashMap.
+     * The set is backed by the table like the {@link #keySet()}, and the
+     * {@link Map.Entry#setValue} of its entries writes through to the HashMap.
+     *
+     * @return a set view of the mappings contained in this HashMap
+     */
+    public Set<Map.Entry<K, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet<>(this);
+        }
+        return entrySet;
+    }
 
+    /**
+     * Performs the given action for each mapping of this HashMap, walking the buckets
+     * of the table directly, so no iterator or entry object is created.
+     *
+     * @param  action the action to be performed for each mapping
+     * @throws ConcurrentModificationException if the action modifies the HashMap structurally
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        Objects.requireNonNull(action);
+        finishMigration();
+
+        int expectedModCount = modCount;
         for (Entry<K, V> entry : table) {
-            while (entry != null) {
-                keys.add(entry.getKey());
-                entry = entry.next;
+            for (; entry != null; entry = entry.next()) {
+                action.accept(entry.getKey(), entry.getValue());
             }
         }
 
-        return keys;
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Returns a spliterator over the entries of this HashMap.
+     * The spliterator splits the table into halves of bucket ranges, so a parallel stream
+     * is spread over the fork-join workers without copying the entries. Only the unsplit
+     * spliterator is SIZED, the sizes of the halves are estimates.
+     *
+     * <p>A pending incremental resize is finished first, and the spliterator traverses the table
+     * of the moment it was created. It fails with {@link ConcurrentModificationException}
+     * if the HashMap is structurally modified during the traversal.
+     *
+     * @return a spliterator over the entries of this HashMap
+     */
+    public Spliterator<Map.Entry<K, V>> spliterator() {
+        return spliterator(Spliterator.SIZED | Spliterator.DISTINCT, entry -> entry);
     }
 
-    private boolean hasCorrectKey(Entry<K, V> entry, Object key) {
-        return (entry.getKey() == key) || (entry.getKey() != null && entry.getKey().equals(key));
+    /**
+     * Returns a spliterator over the entries of this HashMap mapped by the given function,
+     * for the spliterators of the views.
+     */
+    <T> Spliterator<T> spliterator(int characteristics, Function<Entry<K, V>, T> mapper) {
+        finishMigration();
+        return new BucketSpliterator<>(this, table, 0, table.length, size, characteristics, mapper);
     }
 
     /**
-     * This class represents a basic entity(entry) of this HashMap.
+     * Returns a sequential stream over the entries of this HashMap.
      *
-     * @param  <K> the type of the key.
-     * @param  <V> the type of the value.
+     * @return a sequential stream over the entries of this HashMap
      */
-    private static final class Entry<K, V> {
-        private final K key;
-        private V value;
-        private Entry<K, V> next;
+    public Stream<Map.Entry<K, V>> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
 
-        private Entry(K key, V value) {
-            this.key = key;
-            this.value = value;
-            this.next = null;
-        }
+    /**
+     * Returns a parallel stream over the entries of this HashMap.
+     *
+     * @return a parallel stream over the entries of this HashMap
+     */
+    public Stream<Map.Entry<K, V>> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Writes a compact binary snapshot of this HashMap to the file, which is created
+     * or overwritten. The snapshot is opened by {@link #load(Path, Serializer, Serializer)},
+     * see {@link MappedHashMap} for its layout.
+     *
+     * <p>The entries are traversed twice: first to hash the serialized keys and size the buckets,
+     * then to serialize every record straight into the memory-mapped file at its final place.
+     *
+     * @param  path the file to write
+     * @param  keySerializer the serializer of the keys, which must be deterministic
+     * @param  valueSerializer the serializer of the values
+     * @throws IOException if the file can not be written
+     * @throws IllegalStateException if the snapshot would be larger than 2 GB
+     */
+    public void save(Path path, Serializer<K> keySerializer, Serializer<V> valueSerializer) throws IOException {
+        finishMigration();
+
+        int bucketCount = MappedHashMap.bucketCountFor(size);
+        int[] hashes = new int[size];
+        int[] bucketOffsets = new int[bucketCount + 1];
+        ByteBuffer scratch = ByteBuffer.allocate(64);
+        long fileSize = MappedHashMap.HEADER_SIZE + (bucketCount + 1L) * Integer.BYTES;
+        int count = 0;
+
+        for (Entry<K, V> entry : table) {
+            for (; entry != null; entry = entry.next()) {
+                int hash = 0;
+                int recordSize = MappedHashMap.RECORD_HEADER_SIZE;
+
+                if (entry.getKey() != null) {
+                    int keyLength = keySerializer.serializedSize(entry.getKey());
+                    if (scratch.capacity() < keyLength) {
+                        scratch = ByteBuffer.allocate(Math.max(keyLength, scratch.capacity() * 2));
+                    }
+                    keySerializer.serialize(entry.getKey(), scratch, 0);
+                    hash = MappedHashMap.hashBytes(scratch, 0, keyLength);
+                    recordSize += keyLength;
+                }
+                if (entry.getValue() != null) {
+                    recordSize += valueSerializer.serializedSize(entry.getValue());
+                }
 
-        public K getKey() {
-            return key;
+                hashes[count++] = hash;
+                bucketOffsets[(hash & (bucketCount - 1)) + 1] += recordSize;
+                fileSize += recordSize;
+            }
         }
 
-        public V getValue() {
-            return value;
+        if (fileSize > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Snapshot is too large: " + fileSize + " bytes");
         }
 
-        public V setValue(V newValue) {
-            V oldValue = value;
-            value = newValue;
-            return oldValue;
+        // turn the sizes of the buckets into their offsets
+        bucketOffsets[0] = MappedHashMap.HEADER_SIZE + (bucketCount + 1) * Integer.BYTES;
+        for (int i = 1; i <= bucketCount; i++) {
+            bucketOffsets[i] += bucketOffsets[i - 1];
         }
 
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) {
-                return true;
-            }
-            if (o == null || getClass() != o.getClass()) {
-                return false;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+
+            out.putInt(0, MappedHashMap.MAGIC);
+            out.putInt(Integer.BYTES, MappedHashMap.VERSION);
+            out.putInt(2 * Integer.BYTES, size);
+            out.putInt(3 * Integer.BYTES, bucketCount);
+            for (int i = 0; i <= bucketCount; i++) {
+                out.putInt(MappedHashMap.HEADER_SIZE + i * Integer.BYTES, bucketOffsets[i]);
             }
 
-            Entry<?, ?> entry = (Entry<?, ?>) o;
+            count = 0;
+            for (Entry<K, V> entry : table) {
+                for (; entry != null; entry = entry.next()) {
+                    int hash = hashes[count++];
+                    int bucket = hash & (bucketCount - 1);
+                    int offset = bucketOffsets[bucket];
+                    int position = offset + MappedHashMap.RECORD_HEADER_SIZE;
+                    int keyLength = MappedHashMap.NULL_LENGTH;
+                    int valueLength = MappedHashMap.NULL_LENGTH;
 
-            return Objects.equals(this.getKey(), entry.getKey()) && Objects.equals(this.getValue(), entry.getValue());
-        }
+                    if (entry.getKey() != null) {
+                        keyLength = keySerializer.serializedSize(entry.getKey());
+                        keySerializer.serialize(entry.getKey(), out, position);
+                        position += keyLength;
+                    }
+                    if (entry.getValue() != null) {
+                        valueLength = valueSerializer.serializedSize(entry.getValue());
+                        valueSerializer.serialize(entry.getValue(), out, position);
+                        position += valueLength;
+                    }
 
-        @Override
-        public int hashCode() {
-            return Objects.hashCode(this.getKey()) ^ Objects.hashCode(this.getValue());
+                    out.putInt(offset, hash);
+                    out.putInt(offset + Integer.BYTES, keyLength);
+                    out.putInt(offset + 2 * Integer.BYTES, valueLength);
+                    bucketOffsets[bucket] = position;
+                }
+            }
+
+            out.force();
         }
+    }
+
+    /**
+     * Opens a snapshot written by {@link #save(Path, Serializer, Serializer)}.
+     * The file is memory-mapped and read lazily, so this method returns at once
+     * whatever the size of the snapshot.
+     *
+     * @param  path the file to read
+     * @param  keySerializer the serializer the keys were saved with
+     * @param  valueSerializer the serializer the values were saved with
+     * @param  <K> the type of keys maintained by the map
+     * @param  <V> the type of mapped values
+     * @return a read-only map over the snapshot
+     * @throws IOException if the file can not be read or is not a valid snapshot
+     */
+    public static <K, V> MappedHashMap<K, V> load(Path path, Serializer<K> keySerializer,
+                                                  Serializer<V> valueSerializer) throws IOException {
+        return new MappedHashMap<>(path, keySerializer, valueSerializer);
+    }
 
-        public String toString() {
-            return key + "=" + value;
+    /**
+     * Converts the chain of the bucket into a tree, unless the table is too small,
+     * in which case the table is resized instead.
+     */
+    private void treeifyBin(Entry<K, V>[] tab, int index) {
+        if (tab.length < MIN_TREEIFY_CAPACITY) {
+            // a bucket of the old table is going to be split by the resize in progress anyway
+            if (tab == table) {
+                resize();
+            }
+            return;
         }
+
+        tab[index] = TreeEntry.treeifyChain(tab[index]);
+    }
+
+    /**
+     * Returns true if the entry holds the key of the given hash. The cached hashes are compared
+     * first, so equals is called only for the keys which are likely to be equal.
+     */
+    private static boolean hasCorrectKey(Entry<?, ?> entry, int hash, Object key) {
+        return entry.hash() == hash
+                && ((entry.getKey() == key) || (entry.getKey() != null && entry.getKey().equals(key)));
     }
 }
@@ -0,0 +1,402 @@
+package org.arraylistandhashmap.hashmap;
+
+import java.util.Arrays;
+
+/**
+ * This is a primitive-keyed specialization of the {@link HashMap} for int keys.
+ *
+ * <p>The keys are stored unboxed in a flat int[] array next to a parallel array
+ * of values, and collisions are resolved by linear probing. A lookup neither boxes the
+ * key nor calls hashCode or equals, so {@link #get(int)} is allocation-free.
+ *
+ * <p>The key 0 is reserved as the marker of an empty slot. A mapping for
+ * the key 0 itself is kept aside in a dedicated field, so every int
+ * can still be used as a key.
+ *
+ * <p>Removals use <i>backward-shift deletion</i>, so no tombstones are ever left in the table.
+ *
+ * @param <V> the type of mapped values
+ *
+ * @author  rassandev
+ */
+public class Int2ObjectHashMap<V> {
+    /**
+     * The default initial capacity - MUST be a power of two.
+     */
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    /**
+     * The load factor used when none specified in constructor.
+     */
+    private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+    /**
+     * The maximum capacity, the slots arrays are never bigger than this.
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * The key marking an empty slot.
+     */
+    private static final int EMPTY_KEY = 0;
+
+    /**
+     * The keys of the mappings, {@link #EMPTY_KEY} for the empty slots.
+     */
+    private int[] keys;
+
+    /**
+     * The values of the mappings, at the same index as their keys.
+     */
+    private Object[] values;
+
+    /**
+     * True if this map contains a mapping for the key 0.
+     */
+    private boolean hasZeroKey;
+
+    /**
+     * The value mapped to the key 0.
+     */
+    private V zeroValue;
+
+    /**
+     * The number of key-value mappings contained in this map.
+     */
+    private int size;
+
+    /**
+     * The next size value at which to resize (capacity * load factor).
+     */
+    private int threshold;
+
+    /**
+     * The load factor for this map.
+     */
+    private final float loadFactor;
+
+    /**
+     * Constructs an empty Int2ObjectHashMap with the default initial capacity
+     * (16) and the default load factor (0.75).
+     */
+    public Int2ObjectHashMap() {
+        this(DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructs an empty Int2ObjectHashMap with the specified initial
+     * capacity and the default load factor (0.75).
+     *
+     * @param  initialCapacity the initial capacity.
+     * @throws IllegalArgumentException if the initial capacity is negative.
+     */
+    public Int2ObjectHashMap(int initialCapacity) {
+        this(initialCapacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructs an empty Int2ObjectHashMap with the specified initial
+     * capacity and load factor. The initial capacity is the number of mappings
+     * the map can hold before it is resized.
+     *
+     * @param  initialCapacity the initial capacity
+     * @param  loadFactor the load factor
+     * @throws IllegalArgumentException if the initial capacity is negative
+     *         or the load factor is not between zero and one (exclusive)
+     */
+    public Int2ObjectHashMap(int initialCapacity, float loadFactor) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal initial capacity: " + initialCapacity);
+        }
+
+        if (!(loadFactor > 0 && loadFactor < 1)) {
+            throw new IllegalArgumentException("Illegal load factor: " + loadFactor);
+        }
+
+        this.loadFactor = loadFactor;
+        allocate(tableSizeFor((int) Math.min(MAXIMUM_CAPACITY, Math.ceil(initialCapacity / loadFactor))));
+    }
+
+    /**
+     * Returns a power of two size for the given target capacity.
+     */
+    private static int tableSizeFor(int capacity) {
+        int n = -1 >>> Integer.numberOfLeadingZeros(Math.max(capacity, 2) - 1);
+        return (n >= MAXIMUM_CAPACITY) ? MAXIMUM_CAPACITY : n + 1;
+    }
+
+    /**
+     * Scrambles the key with the golden ratio constant, so that sequential
+     * and strided keys are spread evenly over the lower bits.
+     */
+    private static int keyHash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        threshold = Math.min(capacity - 1, (int) (capacity * loadFactor));
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     *
+     * @return the number of key-value mappings in this map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns true if this map contains no key-value mappings.
+     *
+     * @return true, if this map contains no key-value mappings, otherwise returns false
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all of the mappings from this map.
+     * The map will be empty after this call returns.
+     */
+    public void clear() {
+        Arrays.fill(keys, EMPTY_KEY);
+        Arrays.fill(values, null);
+        hasZeroKey = false;
+        zeroValue = null;
+        size = 0;
+    }
+
+    /**
+     * Returns the slot of the specified key, or -1 if the key is absent.
+     * The key must not be {@link #EMPTY_KEY}.
+     */
+    private int indexOf(int key) {
+        int mask = keys.length - 1;
+        int index = keyHash(key) & mask;
+
+        while (keys[index] != EMPTY_KEY) {
+            if (keys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map.
+     * If the map previously contained a mapping for the key, the old
+     * value is replaced.
+     *
+     * @param key key with which the specified value is to be associated
+     * @param value value to be associated with the specified key
+     * @return the previous value associated with a key, or
+     *         null if there was no mapping for a key.
+     */
+    public V put(int key, V value) {
+        if (key == EMPTY_KEY) {
+            V currentValue = zeroValue;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return currentValue;
+        }
+
+        int mask = keys.length - 1;
+        int index = keyHash(key) & mask;
+
+        while (keys[index] != EMPTY_KEY) {
+            if (keys[index] == key) {
+                V currentValue = (V) values[index];
+                values[index] = value;
+                return currentValue;
+            }
+            index = (index + 1) & mask;
+        }
+
+        keys[index] = key;
+        values[index] = value;
+        size++;
+
+        if (size > threshold) {
+            resize();
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped,
+     * or null if this map contains no mapping for the key.
+     *
+     * @param key key with which the returning value is to be associated
+     * @return the value to which the specified key is mapped, or null
+     */
+    public V get(int key) {
+        if (key == EMPTY_KEY) {
+            return zeroValue;
+        }
+
+        int index = indexOf(key);
+        return index >= 0 ? (V) values[index] : null;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or
+     * defaultValue if this map contains no mapping for the key.
+     *
+     * @param key the key whose associated value is to be returned
+     * @param defaultValue the default mapping of the key
+     * @return the value to which the specified key is mapped, or
+     * defaultValue if this map contains no mapping for the key
+     */
+    public V getOrDefault(int key, V defaultValue) {
+        if (key == EMPTY_KEY) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+
+        int index = indexOf(key);
+        return index >= 0 ? (V) values[index] : defaultValue;
+    }
+
+    /**
+     * Returns true if this map contains a mapping for the
+     * specified key.
+     *
+     * @param   key   The key whose presence in this map is to be tested
+     * @return true if this map contains a mapping for the specified key.
+     */
+    public boolean containsKey(int key) {
+        return key == EMPTY_KEY ? hasZeroKey : indexOf(key) >= 0;
+    }
+
+    /**
+     * Returns true if this map maps one or more keys to the
+     * specified value.
+     *
+     * @param value value whose presence in this map is to be tested
+     * @return true if this map maps one or more keys to the
+     *         specified value
+     */
+    public boolean containsValue(Object value) {
+        if (hasZeroKey && ((zeroValue == value) || (zeroValue != null && zeroValue.equals(value)))) {
+            return true;
+        }
+
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY_KEY
+                    && ((values[i] == value) || (values[i] != null && values[i].equals(value)))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Removes the mapping for the specified key from this map if present.
+     *
+     * @param  key key whose mapping is to be removed from the map
+     * @return the previous value associated with a key, or
+     *         null if there was no mapping for key.
+     */
+    public V remove(int key) {
+        if (key == EMPTY_KEY) {
+            V currentValue = zeroValue;
+            if (hasZeroKey) {
+                hasZeroKey = false;
+                zeroValue = null;
+                size--;
+            }
+            return currentValue;
+        }
+
+        int index = indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+
+        V currentValue = (V) values[index];
+        shiftBack(index);
+        size--;
+
+        return currentValue;
+    }
+
+    /**
+     * Empties the slot and moves back the following elements of the probe
+     * sequence that can no longer be reached from their home slots.
+     */
+    private void shiftBack(int index) {
+        int mask = keys.length - 1;
+        int next = (index + 1) & mask;
+
+        while (keys[next] != EMPTY_KEY) {
+            int home = keyHash(keys[next]) & mask;
+
+            // move the element only if its home slot is not between the gap and itself
+            if (((next - home) & mask) >= ((next - index) & mask)) {
+                keys[index] = keys[next];
+                values[index] = values[next];
+                index = next;
+            }
+            next = (next + 1) & mask;
+        }
+
+        keys[index] = EMPTY_KEY;
+        values[index] = null;
+    }
+
+    /**
+     * Doubles the slots arrays and reinserts every mapping.
+     */
+    private void resize() {
+        if (keys.length == MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("Int2ObjectHashMap is full");
+        }
+
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(oldKeys.length * 2);
+
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY_KEY) {
+                int index = keyHash(oldKeys[i]) & mask;
+                while (keys[index] != EMPTY_KEY) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Returns an array containing all the keys of this map, in no particular order.
+     *
+     * @return an array of the keys contained in this map
+     */
+    public int[] keys() {
+        int[] result = new int[size];
+        int count = 0;
+
+        if (hasZeroKey) {
+            result[count++] = EMPTY_KEY;
+        }
+        for (int key : keys) {
+            if (key != EMPTY_KEY) {
+                result[count++] = key;
+            }
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,51 @@
+package org.arraylistandhashmap.hashmap;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Spliterator;
+
+/**
+ * The key set view of a {@link HashMap}, see {@link HashMap#keySet()}.
+ *
+ * @param  <K> the type of the key.
+ * @param  <V> the type of the value.
+ *
+ * @author  rassandev
+ */
+final class KeySet<K, V> extends AbstractSet<K> {
+    private final HashMap<K, V> map;
+
+    KeySet(HashMap<K, V> map) {
+        this.map = map;
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public void clear() {
+        map.clear();
+    }
+
+    @Override
+    public Iterator<K> iterator() {
+        return new BucketIterator<>(map, Entry::getKey);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return map.containsKey(o);
+    }
+
+    @Override
+    public boolean remove(Object key) {
+        return map.removeEntry(key, true) != null;
+    }
+
+    @Override
+    public Spliterator<K> spliterator() {
+        return map.spliterator(Spliterator.SIZED | Spliterator.DISTINCT, Entry::getKey);
+    }
+}
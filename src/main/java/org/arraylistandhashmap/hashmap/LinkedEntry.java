@@ -0,0 +1,111 @@
+package org.arraylistandhashmap.hashmap;
+
+/**
+ * An entry of a {@link HashMap} which is also linked in a circular doubly-linked list
+ * besides the chain of its bucket, for the subclasses keeping an order of their entries,
+ * like the access order of a cache. A list starts with a sentinel entry which is never
+ * in the table.
+ *
+ * <p>A {@link TreeEntry} is a linked entry, and the entries replacing each other when
+ * a bucket is treeified or converted back into a chain take over the place of the entry
+ * they replace, so the order survives the changes of the bucket. The weight, the queue
+ * and the time are kept for the subclass and carried over as well.
+ *
+ * @param  <K> the type of the key.
+ * @param  <V> the type of the value.
+ *
+ * @author  rassandev
+ */
+class LinkedEntry<K, V> extends Entry<K, V> {
+    private LinkedEntry<K, V> before;
+    private LinkedEntry<K, V> after;
+    private int weight;
+    private int queue;
+    private long time;
+
+    LinkedEntry(int hash, K key, V value) {
+        super(hash, key, value);
+    }
+
+    /**
+     * Returns the sentinel of a new empty list.
+     */
+    static <K, V> LinkedEntry<K, V> newList() {
+        LinkedEntry<K, V> sentinel = new LinkedEntry<>(0, null, null);
+        sentinel.before = sentinel;
+        sentinel.after = sentinel;
+        return sentinel;
+    }
+
+    LinkedEntry<K, V> before() {
+        return before;
+    }
+
+    LinkedEntry<K, V> after() {
+        return after;
+    }
+
+    boolean isLinked() {
+        return before != null;
+    }
+
+    /**
+     * Links this entry at the end of the list of the given sentinel.
+     */
+    void linkLast(LinkedEntry<K, V> sentinel) {
+        before = sentinel.before;
+        after = sentinel;
+        before.after = this;
+        sentinel.before = this;
+    }
+
+    void unlink() {
+        before.after = after;
+        after.before = before;
+        before = null;
+        after = null;
+    }
+
+    int weight() {
+        return weight;
+    }
+
+    void setWeight(int weight) {
+        this.weight = weight;
+    }
+
+    int queue() {
+        return queue;
+    }
+
+    void setQueue(int queue) {
+        this.queue = queue;
+    }
+
+    long time() {
+        return time;
+    }
+
+    void setTime(long time) {
+        this.time = time;
+    }
+
+    /**
+     * Puts the replacement in the place of this entry in its list, if this entry is linked.
+     */
+    void replaceWith(LinkedEntry<K, V> replacement) {
+        if (!isLinked()) {
+            return;
+        }
+
+        replacement.before = before;
+        replacement.after = after;
+        replacement.weight = weight;
+        replacement.queue = queue;
+        replacement.time = time;
+        before.after = replacement;
+        after.before = replacement;
+        before = null;
+        after = null;
+    }
+}
@@ -0,0 +1,309 @@
+package org.arraylistandhashmap.hashmap;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * This is a read-only map over a snapshot file written by {@link HashMap#save(Path, Serializer, Serializer)}.
+ *
+ * <p>The file is memory-mapped by {@link FileChannel#map}, and nothing is deserialized
+ * when it is opened: a lookup hashes the serialized key, jumps to its bucket
+ * and deserializes only the value it returns. So opening a snapshot takes
+ * the same time whatever its size, and the pages of the file are loaded
+ * by the operating system only when they are touched.
+ *
+ * <p>A snapshot is laid out as
+ * <pre>
+ *     header:  [int magic][int version][int size][int bucket count]
+ *     buckets: [int offset of the first record of the bucket] * (bucket count + 1)
+ *     records: [int hash][int key length][int value length][key bytes][value bytes] * size
+ * </pre>
+ * The records are sorted by bucket, so the records of a bucket lie between its offset
+ * and the offset of the next bucket. The hash of a record is computed from the serialized
+ * bytes of its key, so a snapshot does not depend on the hashCode of the keys and can be
+ * read by another JVM. A null key or value is written with the length -1.
+ *
+ * <p>Only the header of a snapshot is checked when it is opened. The offsets and the lengths
+ * of the records are checked when they are read, and a read which would leave its bucket
+ * throws an {@link UncheckedIOException}.
+ *
+ * <p>A snapshot is mapped at once, so it can not be larger than 2 GB.
+ * Since the map is never modified, it can be read by several threads.
+ *
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of mapped values
+ *
+ * @author  rassandev
+ */
+public final class MappedHashMap<K, V> {
+    /**
+     * The first bytes of every snapshot, "AHM1".
+     */
+    static final int MAGIC = 0x41484D31;
+
+    /**
+     * The version of the snapshot layout.
+     */
+    static final int VERSION = 1;
+
+    /**
+     * The size of the header in bytes.
+     */
+    static final int HEADER_SIZE = 4 * Integer.BYTES;
+
+    /**
+     * The size of the fixed part of a record in bytes.
+     */
+    static final int RECORD_HEADER_SIZE = 3 * Integer.BYTES;
+
+    /**
+     * The length written for a null key or value.
+     */
+    static final int NULL_LENGTH = -1;
+
+    private final ByteBuffer buffer;
+
+    private final Serializer<K> keySerializer;
+
+    private final Serializer<V> valueSerializer;
+
+    private final int size;
+
+    private final int bucketCount;
+
+    private final Path path;
+
+    /**
+     * Maps the snapshot file and checks its header.
+     *
+     * @throws IOException if the file can not be read or is not a valid snapshot
+     */
+    MappedHashMap(Path path, Serializer<K> keySerializer, Serializer<V> valueSerializer) throws IOException {
+        this.keySerializer = Objects.requireNonNull(keySerializer);
+        this.valueSerializer = Objects.requireNonNull(valueSerializer);
+        this.path = path;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE || fileSize > Integer.MAX_VALUE) {
+                throw new IOException("Not a HashMap snapshot: " + path);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+        }
+
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(Integer.BYTES) != VERSION) {
+            throw new IOException("Not a HashMap snapshot: " + path);
+        }
+
+        size = buffer.getInt(2 * Integer.BYTES);
+        bucketCount = buffer.getInt(3 * Integer.BYTES);
+
+        if (size < 0 || bucketCount <= 0 || Integer.bitCount(bucketCount) != 1
+                || HEADER_SIZE + (bucketCount + 1L) * Integer.BYTES > buffer.capacity()
+                || bucketOffset(bucketCount) != buffer.capacity()) {
+            throw new IOException("Corrupted HashMap snapshot: " + path);
+        }
+    }
+
+    /**
+     * Returns the number of buckets for a snapshot of the given size,
+     * a power of two with about one record per bucket.
+     */
+    static int bucketCountFor(int size) {
+        return Math.max(1, Integer.highestOneBit(Math.max(size, 1) * 2 - 1));
+    }
+
+    /**
+     * Hashes the serialized bytes of a key with FNV-1a,
+     * then spreads the higher bits downward like {@link HashMap} does.
+     */
+    static int hashBytes(ByteBuffer bytes, int offset, int length) {
+        int h = 0x811C9DC5;
+        for (int i = 0; i < length; i++) {
+            h = (h ^ bytes.get(offset + i)) * 0x01000193;
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private int bucketOffset(int bucket) {
+        return buffer.getInt(HEADER_SIZE + bucket * Integer.BYTES);
+    }
+
+    /**
+     * Returns the offset of the record of the key, or -1 if the key is absent.
+     */
+    private int recordOf(Object key) {
+        ByteBuffer keyBytes = null;
+        int keyLength = NULL_LENGTH;
+        int hash = 0;
+
+        if (key != null) {
+            K k = (K) key;
+            keyLength = keySerializer.serializedSize(k);
+            keyBytes = ByteBuffer.allocate(keyLength);
+            keySerializer.serialize(k, keyBytes, 0);
+            hash = hashBytes(keyBytes, 0, keyLength);
+        }
+
+        int bucket = hash & (bucketCount - 1);
+        int start = bucketOffset(bucket);
+        int end = bucketOffset(bucket + 1);
+        if (start < recordsOffset() || start > end || end > buffer.capacity()) {
+            throw corrupted();
+        }
+
+        int offset = start;
+        while (offset < end) {
+            int next = recordEnd(offset, end);
+            if (buffer.getInt(offset) == hash
+                    && buffer.getInt(offset + Integer.BYTES) == keyLength
+                    && (keyBytes == null || buffer.slice(offset + RECORD_HEADER_SIZE, keyLength).equals(keyBytes))) {
+                return offset;
+            }
+            offset = next;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns the offset of the first record, right after the bucket offsets.
+     */
+    private int recordsOffset() {
+        return HEADER_SIZE + (bucketCount + 1) * Integer.BYTES;
+    }
+
+    /**
+     * Returns the end of the record at the offset, after checking that the record ends
+     * before the given end, so a corrupted length never makes a read leave the records.
+     */
+    private int recordEnd(int offset, int end) {
+        if (end - offset < RECORD_HEADER_SIZE) {
+            throw corrupted();
+        }
+
+        int keyLength = buffer.getInt(offset + Integer.BYTES);
+        int valueLength = buffer.getInt(offset + 2 * Integer.BYTES);
+        if (keyLength < NULL_LENGTH || valueLength < NULL_LENGTH
+                || Math.max(0, keyLength) + (long) Math.max(0, valueLength) > end - offset - RECORD_HEADER_SIZE) {
+            throw corrupted();
+        }
+
+        return offset + RECORD_HEADER_SIZE + Math.max(0, keyLength) + Math.max(0, valueLength);
+    }
+
+    private UncheckedIOException corrupted() {
+        return new UncheckedIOException(new IOException("Corrupted HashMap snapshot: " + path));
+    }
+
+    private K readKey(int offset) {
+        int keyLength = buffer.getInt(offset + Integer.BYTES);
+        return keyLength == NULL_LENGTH
+                ? null
+                : keySerializer.deserialize(buffer, offset + RECORD_HEADER_SIZE, keyLength);
+    }
+
+    private V readValue(int offset) {
+        int keyLength = Math.max(0, buffer.getInt(offset + Integer.BYTES));
+        int valueLength = buffer.getInt(offset + 2 * Integer.BYTES);
+        return valueLength == NULL_LENGTH
+                ? null
+                : valueSerializer.deserialize(buffer, offset + RECORD_HEADER_SIZE + keyLength, valueLength);
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     *
+     * @return the number of key-value mappings in this map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns true if this map contains no key-value mappings.
+     *
+     * @return true, if this map contains no key-value mappings, otherwise returns false
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped,
+     * or null if this map contains no mapping for the key.
+     * Only the returned value is deserialized.
+     *
+     * @param key key with which the returning value is to be associated
+     * @return the value to which the specified key is mapped, or null
+     */
+    public V get(Object key) {
+        int offset = recordOf(key);
+        return offset >= 0 ? readValue(offset) : null;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or
+     * defaultValue if this map contains no mapping for the key.
+     *
+     * @param key the key whose associated value is to be returned
+     * @param defaultValue the default mapping of the key
+     * @return the value to which the specified key is mapped, or
+     * defaultValue if this map contains no mapping for the key
+     */
+    public V getOrDefault(Object key, V defaultValue) {
+        int offset = recordOf(key);
+        return offset >= 0 ? readValue(offset) : defaultValue;
+    }
+
+    /**
+     * Returns true if this map contains a mapping for the
+     * specified key.
+     *
+     * @param   key   The key whose presence in this map is to be tested
+     * @return true if this map contains a mapping for the specified key.
+     */
+    public boolean containsKey(Object key) {
+        return recordOf(key) >= 0;
+    }
+
+    /**
+     * Returns a Set of the keys contained in this map.
+     * Every key is deserialized into a new on-heap set.
+     *
+     * @return a set of the keys contained in this map
+     */
+    public Set<K> keySet() {
+        Set<K> keys = new HashSet<>();
+
+        int end = buffer.capacity();
+        for (int offset = recordsOffset(); offset < end; offset = recordEnd(offset, end)) {
+            keys.add(readKey(offset));
+        }
+
+        return keys;
+    }
+
+    /**
+     * Deserializes every mapping of this snapshot into a new, modifiable {@link HashMap}.
+     *
+     * @return a HashMap with the mappings of this snapshot
+     */
+    public HashMap<K, V> toHashMap() {
+        HashMap<K, V> map = new HashMap<>(size);
+
+        int end = buffer.capacity();
+        for (int offset = recordsOffset(); offset < end; offset = recordEnd(offset, end)) {
+            map.put(readKey(offset), readValue(offset));
+        }
+
+        return map;
+    }
+}
@@ -0,0 +1,570 @@
+package org.arraylistandhashmap.hashmap;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * This is a variant of the {@link HashMap} which keeps its keys and values
+ * outside of the Java heap.
+ *
+ * <p>Every mapping is serialized by the given {@link Serializer}s into a record
+ * of a direct {@link ByteBuffer} slab. A record is laid out as
+ * <pre>
+ *     [int key length][int value length][key bytes][value bytes]
+ * </pre>
+ * Only a small open addressing index stays on the heap: for every slot a long
+ * address of the record (the slab number and the offset in the slab) and the int
+ * hash of its key. So a mapping costs 12 bytes of heap at most, whatever the size
+ * of the key and the value, and the garbage collector never traverses the mappings.
+ *
+ * <p>Records are never updated in place. Replacing or removing a mapping leaves
+ * its old record behind as garbage, which is reclaimed by {@link #compact()}.
+ * The map compacts itself when the garbage takes more than a half of the slabs.
+ *
+ * <p>The keys and the values must not be null. The keys are hashed and compared by their
+ * serialized bytes, so the key serializer must be deterministic. A call of
+ * {@link #get(Object)} deserializes the value, so it returns a new copy each time.
+ *
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of mapped values
+ *
+ * @author  rassandev
+ */
+public class OffHeapHashMap<K, V> {
+    /**
+     * The default initial capacity - MUST be a power of two.
+     */
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    /**
+     * The default size of a slab, 16 MB.
+     */
+    private static final int DEFAULT_SLAB_SIZE = 1 << 24;
+
+    /**
+     * The load factor of the index.
+     */
+    private static final float LOAD_FACTOR = 0.75f;
+
+    /**
+     * The maximum capacity of the index.
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * The size of the lengths written in front of every record.
+     */
+    private static final int RECORD_HEADER_SIZE = 2 * Integer.BYTES;
+
+    /**
+     * The address marking an empty slot of the index.
+     */
+    private static final long EMPTY = 0L;
+
+    private final Serializer<K> keySerializer;
+
+    private final Serializer<V> valueSerializer;
+
+    private final int slabSize;
+
+    /**
+     * The addresses of the records, {@link #EMPTY} for the empty slots.
+     */
+    private long[] addresses;
+
+    /**
+     * The hashes of the keys, at the same index as their addresses.
+     */
+    private int[] hashes;
+
+    /**
+     * The number of key-value mappings contained in this map.
+     */
+    private int size;
+
+    /**
+     * The next size value at which to resize the index.
+     */
+    private int threshold;
+
+    /**
+     * The off-heap slabs, the last one of them is being filled.
+     */
+    private ByteBuffer[] slabs = new ByteBuffer[0];
+
+    /**
+     * The position of the next record in the last slab.
+     */
+    private int slabPosition;
+
+    /**
+     * The number of bytes taken by all the records, live or not.
+     */
+    private long usedBytes;
+
+    /**
+     * The number of bytes taken by the records that are no longer mapped.
+     */
+    private long garbageBytes;
+
+    /**
+     * An on-heap buffer, the looked up key is serialized into it.
+     */
+    private ByteBuffer scratch = ByteBuffer.allocate(64);
+
+    /**
+     * Constructs an empty OffHeapHashMap with the default initial capacity
+     * (16) and the default slab size (16 MB).
+     *
+     * @param keySerializer the serializer of the keys
+     * @param valueSerializer the serializer of the values
+     */
+    public OffHeapHashMap(Serializer<K> keySerializer, Serializer<V> valueSerializer) {
+        this(keySerializer, valueSerializer, DEFAULT_INITIAL_CAPACITY, DEFAULT_SLAB_SIZE);
+    }
+
+    /**
+     * Constructs an empty OffHeapHashMap with the specified initial capacity
+     * and slab size. A record bigger than a slab gets a slab of its own.
+     *
+     * @param  keySerializer the serializer of the keys
+     * @param  valueSerializer the serializer of the values
+     * @param  initialCapacity the initial capacity
+     * @param  slabSize the size of an off-heap slab in bytes
+     * @throws IllegalArgumentException if the initial capacity is negative
+     *         or the slab size is not positive
+     */
+    public OffHeapHashMap(Serializer<K> keySerializer, Serializer<V> valueSerializer,
+                          int initialCapacity, int slabSize) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal initial capacity: " + initialCapacity);
+        }
+
+        if (slabSize <= 0) {
+            throw new IllegalArgumentException("Illegal slab size: " + slabSize);
+        }
+
+        this.keySerializer = Objects.requireNonNull(keySerializer);
+        this.valueSerializer = Objects.requireNonNull(valueSerializer);
+        this.slabSize = slabSize;
+        allocate(tableSizeFor((int) Math.min(MAXIMUM_CAPACITY, Math.ceil(initialCapacity / LOAD_FACTOR))));
+    }
+
+    /**
+     * Returns a power of two size for the given target capacity.
+     */
+    private static int tableSizeFor(int capacity) {
+        int n = -1 >>> Integer.numberOfLeadingZeros(Math.max(capacity, 2) - 1);
+        return (n >= MAXIMUM_CAPACITY) ? MAXIMUM_CAPACITY : n + 1;
+    }
+
+    /**
+     * Packs the slab number and the offset into an address. One is added,
+     * so that the first record of the first slab is not {@link #EMPTY}.
+     */
+    private static long address(int slab, int offset) {
+        return (((long) slab << 32) | offset) + 1;
+    }
+
+    private ByteBuffer slabOf(long address) {
+        return slabs[(int) ((address - 1) >>> 32)];
+    }
+
+    private static int offsetOf(long address) {
+        return (int) (address - 1);
+    }
+
+    private void allocate(int capacity) {
+        addresses = new long[capacity];
+        hashes = new int[capacity];
+        threshold = Math.min(capacity - 1, (int) (capacity * LOAD_FACTOR));
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     *
+     * @return the number of key-value mappings in this map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns true if this map contains no key-value mappings.
+     *
+     * @return true, if this map contains no key-value mappings, otherwise returns false
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of off-heap bytes allocated by this map.
+     *
+     * @return the total capacity of the slabs in bytes
+     */
+    public long offHeapCapacity() {
+        long capacity = 0;
+        for (ByteBuffer slab : slabs) {
+            capacity += slab.capacity();
+        }
+        return capacity;
+    }
+
+    /**
+     * Removes all of the mappings from this map and releases the slabs.
+     * The map will be empty after this call returns.
+     */
+    public void clear() {
+        Arrays.fill(addresses, EMPTY);
+        slabs = new ByteBuffer[0];
+        slabPosition = 0;
+        usedBytes = 0;
+        garbageBytes = 0;
+        size = 0;
+    }
+
+    /**
+     * Serializes the key into the scratch buffer and returns its length.
+     */
+    private int serializeKey(K key) {
+        int length = keySerializer.serializedSize(key);
+        if (scratch.capacity() < length) {
+            scratch = ByteBuffer.allocate(Math.max(length, scratch.capacity() * 2));
+        }
+        keySerializer.serialize(key, scratch, 0);
+        return length;
+    }
+
+    /**
+     * Returns true if the record holds the first keyLength bytes of the scratch buffer.
+     */
+    private boolean hasKey(long address, int keyLength) {
+        ByteBuffer slab = slabOf(address);
+        int offset = offsetOf(address);
+
+        if (slab.getInt(offset) != keyLength) {
+            return false;
+        }
+
+        int start = offset + RECORD_HEADER_SIZE;
+        int i = 0;
+        for (; i + Long.BYTES <= keyLength; i += Long.BYTES) {
+            if (slab.getLong(start + i) != scratch.getLong(i)) {
+                return false;
+            }
+        }
+        for (; i < keyLength; i++) {
+            if (slab.get(start + i) != scratch.get(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Hashes the key serialized in the scratch buffer. The keys are compared by their bytes,
+     * so they are hashed by their bytes too, and not by hashCode, which may be the identity
+     * hash code of the key object, like the one of a byte array.
+     */
+    private int scratchHash(int keyLength) {
+        return MappedHashMap.hashBytes(scratch, 0, keyLength);
+    }
+
+    /**
+     * Returns the slot of the key serialized in the scratch buffer, or -1 if the key is absent.
+     */
+    private int indexOf(int keyLength) {
+        int hash = scratchHash(keyLength);
+        int mask = addresses.length - 1;
+        int index = hash & mask;
+
+        while (addresses[index] != EMPTY) {
+            if (hashes[index] == hash && hasKey(addresses[index], keyLength)) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+
+        return -1;
+    }
+
+    private static int recordSize(ByteBuffer slab, int offset) {
+        return RECORD_HEADER_SIZE + slab.getInt(offset) + slab.getInt(offset + Integer.BYTES);
+    }
+
+    /**
+     * Reserves the room for a record in the last slab, or in a new one
+     * if the last slab is full, and returns the address of the record.
+     */
+    private long reserve(int recordSize) {
+        if (slabs.length == 0 || slabs[slabs.length - 1].capacity() - slabPosition < recordSize) {
+            slabs = Arrays.copyOf(slabs, slabs.length + 1);
+            slabs[slabs.length - 1] = ByteBuffer.allocateDirect(Math.max(slabSize, recordSize));
+            slabPosition = 0;
+        }
+
+        long address = address(slabs.length - 1, slabPosition);
+        slabPosition += recordSize;
+        usedBytes += recordSize;
+        return address;
+    }
+
+    /**
+     * Writes the key from the scratch buffer and the value into a new record.
+     */
+    private long write(int keyLength, V value) {
+        int valueLength = valueSerializer.serializedSize(value);
+        long recordSize = (long) RECORD_HEADER_SIZE + keyLength + valueLength;
+        if (recordSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Mapping is too large: " + recordSize + " bytes");
+        }
+
+        long address = reserve((int) recordSize);
+        ByteBuffer slab = slabOf(address);
+        int offset = offsetOf(address);
+
+        slab.putInt(offset, keyLength);
+        slab.putInt(offset + Integer.BYTES, valueLength);
+        slab.put(offset + RECORD_HEADER_SIZE, scratch, 0, keyLength);
+        valueSerializer.serialize(value, slab, offset + RECORD_HEADER_SIZE + keyLength);
+
+        return address;
+    }
+
+    private V readValue(long address) {
+        ByteBuffer slab = slabOf(address);
+        int offset = offsetOf(address);
+        int keyLength = slab.getInt(offset);
+        int valueLength = slab.getInt(offset + Integer.BYTES);
+        return valueSerializer.deserialize(slab, offset + RECORD_HEADER_SIZE + keyLength, valueLength);
+    }
+
+    private K readKey(long address) {
+        ByteBuffer slab = slabOf(address);
+        int offset = offsetOf(address);
+        return keySerializer.deserialize(slab, offset + RECORD_HEADER_SIZE, slab.getInt(offset));
+    }
+
+    private void discard(long address) {
+        garbageBytes += recordSize(slabOf(address), offsetOf(address));
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map.
+     * If the map previously contained a mapping for the key, the old
+     * value is replaced.
+     *
+     * @param key key with which the specified value is to be associated
+     * @param value value to be associated with the specified key
+     * @return the previous value associated with a key, or
+     *         null if there was no mapping for a key.
+     * @throws NullPointerException if the key or the value is null
+     */
+    public V put(K key, V value) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+
+        int keyLength = serializeKey(key);
+        int hash = scratchHash(keyLength);
+        int mask = addresses.length - 1;
+        int index = hash & mask;
+
+        while (addresses[index] != EMPTY) {
+            if (hashes[index] == hash && hasKey(addresses[index], keyLength)) {
+                V currentValue = readValue(addresses[index]);
+                discard(addresses[index]);
+                addresses[index] = write(keyLength, value);
+                compactIfWasteful();
+                return currentValue;
+            }
+            index = (index + 1) & mask;
+        }
+
+        addresses[index] = write(keyLength, value);
+        hashes[index] = hash;
+        size++;
+
+        if (size > threshold) {
+            resize();
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped,
+     * or null if this map contains no mapping for the key.
+     *
+     * @param key key with which the returning value is to be associated
+     * @return the value to which the specified key is mapped, or null
+     */
+    public V get(K key) {
+        if (key == null) {
+            return null;
+        }
+
+        int index = indexOf(serializeKey(key));
+        return index >= 0 ? readValue(addresses[index]) : null;
+    }
+
+    /**
+     * Returns true if this map contains a mapping for the
+     * specified key.
+     *
+     * @param   key   The key whose presence in this map is to be tested
+     * @return true if this map contains a mapping for the specified key.
+     */
+    public boolean containsKey(K key) {
+        return key != null && indexOf(serializeKey(key)) >= 0;
+    }
+
+    /**
+     * Returns true if this map maps one or more keys to the
+     * specified value. Every value is deserialized to be compared.
+     *
+     * @param value value whose presence in this map is to be tested
+     * @return true if this map maps one or more keys to the
+     *         specified value
+     */
+    public boolean containsValue(Object value) {
+        if (value == null) {
+            return false;
+        }
+
+        for (long address : addresses) {
+            if (address != EMPTY && value.equals(readValue(address))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Removes the mapping for the specified key from this map if present.
+     *
+     * @param  key key whose mapping is to be removed from the map
+     * @return the previous value associated with a key, or
+     *         null if there was no mapping for key.
+     */
+    public V remove(K key) {
+        if (key == null) {
+            return null;
+        }
+
+        int index = indexOf(serializeKey(key));
+        if (index < 0) {
+            return null;
+        }
+
+        V currentValue = readValue(addresses[index]);
+        discard(addresses[index]);
+        shiftBack(index);
+        size--;
+        compactIfWasteful();
+
+        return currentValue;
+    }
+
+    /**
+     * Returns a Set of the keys contained in this map.
+     * The keys are deserialized into a new on-heap set.
+     *
+     * @return a set of the keys contained in this map
+     */
+    public Set<K> keySet() {
+        Set<K> keys = new HashSet<>();
+
+        for (long address : addresses) {
+            if (address != EMPTY) {
+                keys.add(readKey(address));
+            }
+        }
+
+        return keys;
+    }
+
+    /**
+     * Empties the slot and moves back the following elements of the probe
+     * sequence that can no longer be reached from their home slots.
+     */
+    private void shiftBack(int index) {
+        int mask = addresses.length - 1;
+        int next = (index + 1) & mask;
+
+        while (addresses[next] != EMPTY) {
+            int home = hashes[next] & mask;
+
+            // move the element only if its home slot is not between the gap and itself
+            if (((next - home) & mask) >= ((next - index) & mask)) {
+                addresses[index] = addresses[next];
+                hashes[index] = hashes[next];
+                index = next;
+            }
+            next = (next + 1) & mask;
+        }
+
+        addresses[index] = EMPTY;
+    }
+
+    /**
+     * Doubles the index and reinserts every address. The records stay where they are.
+     */
+    private void resize() {
+        if (addresses.length == MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("OffHeapHashMap is full");
+        }
+
+        long[] oldAddresses = addresses;
+        int[] oldHashes = hashes;
+        allocate(oldAddresses.length * 2);
+
+        int mask = addresses.length - 1;
+        for (int i = 0; i < oldAddresses.length; i++) {
+            if (oldAddresses[i] != EMPTY) {
+                int index = oldHashes[i] & mask;
+                while (addresses[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                addresses[index] = oldAddresses[i];
+                hashes[index] = oldHashes[i];
+            }
+        }
+    }
+
+    private void compactIfWasteful() {
+        if (garbageBytes > slabSize && garbageBytes > usedBytes / 2) {
+            compact();
+        }
+    }
+
+    /**
+     * Copies the live records into new slabs and releases the old ones,
+     * so the space of the replaced and removed mappings is reclaimed.
+     * The direct memory of the old slabs is freed once they are garbage collected.
+     */
+    public void compact() {
+        ByteBuffer[] oldSlabs = slabs;
+        slabs = new ByteBuffer[0];
+        slabPosition = 0;
+        usedBytes = 0;
+        garbageBytes = 0;
+
+        for (int i = 0; i < addresses.length; i++) {
+            if (addresses[i] != EMPTY) {
+                ByteBuffer oldSlab = oldSlabs[(int) ((addresses[i] - 1) >>> 32)];
+                int oldOffset = offsetOf(addresses[i]);
+                int recordSize = recordSize(oldSlab, oldOffset);
+
+                long address = reserve(recordSize);
+                slabOf(address).put(offsetOf(address), oldSlab, oldOffset, recordSize);
+                addresses[i] = address;
+            }
+        }
+    }
+}
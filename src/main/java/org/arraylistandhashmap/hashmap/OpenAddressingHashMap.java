@@ -0,0 +1,420 @@
+package org.arraylistandhashmap.hashmap;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * This is an open-addressing alternative to the {@link HashMap}.
+ * It provides the same public API, so the two can be switched per call site.
+ *
+ * <p>Instead of chaining entry objects off the table, this implementation keeps
+ * keys, values and hashes in parallel arrays and resolves collisions with
+ * <i>Robin Hood</i> linear probing: while inserting, an element that is closer to its
+ * home slot gives its place to an element that is further away from its own.
+ * This keeps probe sequences short and lets a lookup stop as soon as it meets an
+ * element that is closer to home than the searched key would be.
+ *
+ * <p>Removals use <i>backward-shift deletion</i>: the elements following the removed one
+ * are moved one slot back until an empty slot or an element in its home slot is met,
+ * so no tombstones are ever left in the table.
+ *
+ * <p>A mapping costs no allocation besides the key and value themselves, and
+ * a lookup touches consecutive array slots instead of following the chain pointers.
+ *
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of mapped values
+ *
+ * @author  rassandev
+ */
+public class OpenAddressingHashMap<K, V> {
+    /**
+     * The default initial capacity - MUST be a power of two.
+     */
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    /**
+     * The load factor used when none specified in constructor.
+     */
+    private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+    /**
+     * The maximum capacity, the slots arrays are never bigger than this.
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * The maximum load factor. At least one slot must always stay empty,
+     * otherwise a lookup of a missing key would never stop.
+     */
+    private static final float MAXIMUM_LOAD_FACTOR = 0.99f;
+
+    /**
+     * Stands in for the null key, since a null slot means "empty".
+     */
+    private static final Object NULL_KEY = new Object();
+
+    /**
+     * The keys of the mappings, null for the empty slots.
+     */
+    private Object[] keys;
+
+    /**
+     * The values of the mappings, at the same index as their keys.
+     */
+    private Object[] values;
+
+    /**
+     * The spread hashes of the keys, at the same index as their keys.
+     */
+    private int[] hashes;
+
+    /**
+     * The number of key-value mappings contained in this map.
+     */
+    private int size;
+
+    /**
+     * The next size value at which to resize (capacity * load factor).
+     */
+    private int threshold;
+
+    /**
+     * The load factor for this map.
+     */
+    private final float loadFactor;
+
+    /**
+     * Constructs an empty OpenAddressingHashMap with the default initial capacity
+     * (16) and the default load factor (0.75).
+     */
+    public OpenAddressingHashMap() {
+        this(DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructs an empty OpenAddressingHashMap with the specified initial
+     * capacity and the default load factor (0.75).
+     *
+     * @param  initialCapacity the initial capacity.
+     * @throws IllegalArgumentException if the initial capacity is negative.
+     */
+    public OpenAddressingHashMap(int initialCapacity) {
+        this(initialCapacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructs an empty OpenAddressingHashMap with the specified initial
+     * capacity and load factor. The initial capacity is the number of mappings
+     * the map can hold before it is resized.
+     *
+     * @param  initialCapacity the initial capacity
+     * @param  loadFactor the load factor
+     * @throws IllegalArgumentException if the initial capacity is negative
+     *         or the load factor is nonpositive, not a number or not less than one
+     */
+    public OpenAddressingHashMap(int initialCapacity, float loadFactor) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal initial capacity: " + initialCapacity);
+        }
+
+        if (loadFactor <= 0 || loadFactor > MAXIMUM_LOAD_FACTOR || Float.isNaN(loadFactor)) {
+            throw new IllegalArgumentException("Illegal load factor: " + loadFactor);
+        }
+
+        this.loadFactor = loadFactor;
+        allocate(tableSizeFor((int) Math.min(MAXIMUM_CAPACITY, Math.ceil(initialCapacity / loadFactor))));
+    }
+
+    /**
+     * Returns a power of two size for the given target capacity.
+     */
+    private static int tableSizeFor(int capacity) {
+        int n = -1 >>> Integer.numberOfLeadingZeros(Math.max(capacity, 2) - 1);
+        return (n >= MAXIMUM_CAPACITY) ? MAXIMUM_CAPACITY : n + 1;
+    }
+
+    /**
+     * Computes the hashcode for key of this map and spreads its higher bits downward,
+     * because the slot index is taken from the lower bits only.
+     */
+    private static int keyHash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static Object maskNull(Object key) {
+        return key == null ? NULL_KEY : key;
+    }
+
+    private static Object unmaskNull(Object key) {
+        return key == NULL_KEY ? null : key;
+    }
+
+    private void allocate(int capacity) {
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        hashes = new int[capacity];
+        threshold = (capacity == MAXIMUM_CAPACITY)
+                ? (int) (capacity * MAXIMUM_LOAD_FACTOR)
+                : (int) (capacity * loadFactor);
+    }
+
+    /**
+     * Returns the distance between the slot and the home slot of the element stored in it.
+     */
+    private int probeDistance(int index) {
+        return (index - hashes[index]) & (keys.length - 1);
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     *
+     * @return the number of key-value mappings in this map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns true if this map contains no key-value mappings.
+     *
+     * @return true, if this map contains no key-value mappings, otherwise returns false
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all of the mappings from this map.
+     * The map will be empty after this call returns.
+     */
+    public void clear() {
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = null;
+            values[i] = null;
+        }
+        size = 0;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map.
+     * If the map previously contained a mapping for the key, the old
+     * value is replaced.
+     *
+     * @param key key with which the specified value is to be associated
+     * @param value value to be associated with the specified key
+     * @return the previous value associated with a key, or
+     *         null if there was no mapping for a key.
+     */
+    public V put(K key, V value) {
+        Object k = maskNull(key);
+        int hash = keyHash(k);
+        int index = indexOf(k, hash);
+
+        if (index >= 0) {
+            V currentValue = (V) values[index];
+            values[index] = value;
+            return currentValue;
+        }
+
+        if (size >= threshold) {
+            resize();
+        }
+
+        insert(k, value, hash);
+        size++;
+
+        return null;
+    }
+
+    /**
+     * Places a key that is known to be absent, displacing the elements
+     * that are closer to their home slots than the one being placed.
+     */
+    private void insert(Object key, Object value, int hash) {
+        int mask = keys.length - 1;
+        int index = hash & mask;
+        int distance = 0;
+
+        while (keys[index] != null) {
+            int existingDistance = probeDistance(index);
+
+            if (existingDistance < distance) {
+                Object displacedKey = keys[index];
+                Object displacedValue = values[index];
+                int displacedHash = hashes[index];
+
+                keys[index] = key;
+                values[index] = value;
+                hashes[index] = hash;
+
+                key = displacedKey;
+                value = displacedValue;
+                hash = displacedHash;
+                distance = existingDistance;
+            }
+
+            index = (index + 1) & mask;
+            distance++;
+        }
+
+        keys[index] = key;
+        values[index] = value;
+        hashes[index] = hash;
+    }
+
+    /**
+     * Returns the slot of the specified (masked) key, or -1 if the key is absent.
+     */
+    private int indexOf(Object key, int hash) {
+        int mask = keys.length - 1;
+        int index = hash & mask;
+        int distance = 0;
+
+        while (keys[index] != null && distance <= probeDistance(index)) {
+            if (hashes[index] == hash && hasCorrectKey(keys[index], key)) {
+                return index;
+            }
+
+            index = (index + 1) & mask;
+            distance++;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped,
+     * or null if this map contains no mapping for the key.
+     *
+     * @param key key with which the returning value is to be associated
+     */
+    public V get(Object key) {
+        Object k = maskNull(key);
+        int index = indexOf(k, keyHash(k));
+        return index >= 0 ? (V) values[index] : null;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or
+     * defaultValue if this map contains no mapping for the key.
+     *
+     * @param key the key whose associated value is to be returned
+     * @param defaultValue the default mapping of the key
+     * @return the value to which the specified key is mapped, or
+     * defaultValue if this map contains no mapping for the key
+     */
+    public V getOrDefault(Object key, V defaultValue) {
+        Object k = maskNull(key);
+        int index = indexOf(k, keyHash(k));
+        return index >= 0 ? (V) values[index] : defaultValue;
+    }
+
+    /**
+     * Removes the mapping for the specified key from this map if present.
+     *
+     * @param  key key whose mapping is to be removed from the map
+     * @return the previous value associated with a key, or
+     *         null if there was no mapping for key.
+     */
+    public V remove(Object key) {
+        Object k = maskNull(key);
+        int index = indexOf(k, keyHash(k));
+
+        if (index < 0) {
+            return null;
+        }
+
+        V currentValue = (V) values[index];
+        int mask = keys.length - 1;
+        int next = (index + 1) & mask;
+
+        while (keys[next] != null && probeDistance(next) > 0) {
+            keys[index] = keys[next];
+            values[index] = values[next];
+            hashes[index] = hashes[next];
+            index = next;
+            next = (next + 1) & mask;
+        }
+
+        keys[index] = null;
+        values[index] = null;
+        size--;
+
+        return currentValue;
+    }
+
+    /**
+     * Returns true if this map contains a mapping for the
+     * specified key.
+     *
+     * @param   key   The key whose presence in this map is to be tested
+     * @return true if this map contains a mapping for the specified
+     * key.
+     */
+    public boolean containsKey(Object key) {
+        Object k = maskNull(key);
+        return indexOf(k, keyHash(k)) >= 0;
+    }
+
+    /**
+     * Returns true if this map maps one or more keys to the
+     * specified value.
+     *
+     * @param value value whose presence in this map is to be tested
+     * @return true if this map maps one or more keys to the
+     *         specified value
+     */
+    public boolean containsValue(Object value) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null
+                    && ((values[i] == value) || (values[i] != null && values[i].equals(value)))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Doubles the slots arrays and reinserts every mapping using the stored hashes.
+     */
+    private void resize() {
+        if (keys.length == MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("OpenAddressingHashMap is full");
+        }
+
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        int[] oldHashes = hashes;
+
+        allocate(oldKeys.length * 2);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                insert(oldKeys[i], oldValues[i], oldHashes[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns a {@link Set} view of the keys contained in this map.
+     *
+     * @return a set view of the keys contained in this map
+     */
+    public Set<K> keySet() {
+        Set<K> result = new HashSet<>();
+
+        for (Object key : keys) {
+            if (key != null) {
+                result.add((K) unmaskNull(key));
+            }
+        }
+
+        return result;
+    }
+
+    private static boolean hasCorrectKey(Object storedKey, Object key) {
+        return (storedKey == key) || storedKey.equals(key);
+    }
+}
@@ -0,0 +1,197 @@
+package org.arraylistandhashmap.hashmap;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Converts keys and values to bytes and back for the maps that keep
+ * their data outside of the Java heap, like {@link OffHeapHashMap}.
+ *
+ * <p>All the methods use absolute positions, so a serializer never changes
+ * the position or the limit of the buffer it works with.
+ *
+ * <p>A serializer used for keys must be deterministic: equal keys
+ * must always be serialized to equal bytes, because stored keys are
+ * compared by their bytes without being deserialized.
+ *
+ * @param <T> the type of serialized objects
+ *
+ * @author  rassandev
+ */
+public interface Serializer<T> {
+
+    /**
+     * Returns the number of bytes the value is serialized to.
+     *
+     * @param value the value to be serialized
+     * @return the number of bytes the value is serialized to
+     */
+    int serializedSize(T value);
+
+    /**
+     * Writes the value into the buffer, starting at the given offset.
+     * Exactly {@link #serializedSize(Object)} bytes are written.
+     *
+     * @param value the value to be serialized
+     * @param target the buffer to write to
+     * @param offset the index of the first byte to write
+     */
+    void serialize(T value, ByteBuffer target, int offset);
+
+    /**
+     * Reads a value from the buffer.
+     *
+     * @param source the buffer to read from
+     * @param offset the index of the first byte of the value
+     * @param length the number of bytes of the value
+     * @return the deserialized value
+     */
+    T deserialize(ByteBuffer source, int offset, int length);
+
+    /**
+     * Returns a serializer of strings, encoded in UTF-8.
+     *
+     * @return a serializer of strings
+     */
+    static Serializer<String> ofString() {
+        return StringSerializer.INSTANCE;
+    }
+
+    /**
+     * Returns a serializer of integers, written in 4 bytes.
+     *
+     * @return a serializer of integers
+     */
+    static Serializer<Integer> ofInteger() {
+        return IntegerSerializer.INSTANCE;
+    }
+
+    /**
+     * Returns a serializer of longs, written in 8 bytes.
+     *
+     * @return a serializer of longs
+     */
+    static Serializer<Long> ofLong() {
+        return LongSerializer.INSTANCE;
+    }
+
+    /**
+     * Returns a serializer of byte arrays, written as they are.
+     *
+     * @return a serializer of byte arrays
+     */
+    static Serializer<byte[]> ofByteArray() {
+        return ByteArraySerializer.INSTANCE;
+    }
+
+    /**
+     * Serializes strings in UTF-8. The size is computed from the chars
+     * without encoding the string twice.
+     */
+    enum StringSerializer implements Serializer<String> {
+        INSTANCE;
+
+        @Override
+        public int serializedSize(String value) {
+            int size = 0;
+
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+
+                if (c < 0x80) {
+                    size += 1;
+                } else if (c < 0x800) {
+                    size += 2;
+                } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    size += 4;
+                    i++;
+                } else {
+                    size += 3;
+                }
+            }
+
+            return size;
+        }
+
+        @Override
+        public void serialize(String value, ByteBuffer target, int offset) {
+            target.put(offset, value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public String deserialize(ByteBuffer source, int offset, int length) {
+            byte[] bytes = new byte[length];
+            source.get(offset, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Serializes integers in 4 bytes.
+     */
+    enum IntegerSerializer implements Serializer<Integer> {
+        INSTANCE;
+
+        @Override
+        public int serializedSize(Integer value) {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void serialize(Integer value, ByteBuffer target, int offset) {
+            target.putInt(offset, value);
+        }
+
+        @Override
+        public Integer deserialize(ByteBuffer source, int offset, int length) {
+            return source.getInt(offset);
+        }
+    }
+
+    /**
+     * Serializes longs in 8 bytes.
+     */
+    enum LongSerializer implements Serializer<Long> {
+        INSTANCE;
+
+        @Override
+        public int serializedSize(Long value) {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void serialize(Long value, ByteBuffer target, int offset) {
+            target.putLong(offset, value);
+        }
+
+        @Override
+        public Long deserialize(ByteBuffer source, int offset, int length) {
+            return source.getLong(offset);
+        }
+    }
+
+    /**
+     * Copies byte arrays as they are.
+     */
+    enum ByteArraySerializer implements Serializer<byte[]> {
+        INSTANCE;
+
+        @Override
+        public int serializedSize(byte[] value) {
+            return value.length;
+        }
+
+        @Override
+        public void serialize(byte[] value, ByteBuffer target, int offset) {
+            target.put(offset, value);
+        }
+
+        @Override
+        public byte[] deserialize(ByteBuffer source, int offset, int length) {
+            byte[] bytes = new byte[length];
+            source.get(offset, bytes);
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,435 @@
+package org.arraylistandhashmap.hashmap;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * This is a Swiss table alternative to the {@link HashMap}, for the large
+ * read-dominated maps. It provides the same public API as the {@link OpenAddressingHashMap}.
+ *
+ * <p>The keys and values are kept in flat arrays of slots, and every slot has a
+ * <i>control byte</i>: the high bit is clear for a full slot, whose 7 lower bits are a tag
+ * taken from the hash of its key, and set for an empty or a deleted slot. The slots are
+ * grouped by eight, and the eight control bytes of a group are packed in a long, so a lookup
+ * compares its tag with the whole group at once, with a few arithmetic operations on
+ * the long (SWAR, SIMD within a register). Only the slots whose tag matches are compared
+ * with equals, which is about one slot in 128 for the others, so a lookup of an absent key
+ * is mostly rejected by the control bytes alone without touching the keys.
+ *
+ * <p>The other bits of the hash choose the first group, and the groups are probed
+ * quadratically until a group with an empty slot is met. A removed slot is simply marked
+ * empty if its group has an empty slot, since no probe went past that group, otherwise
+ * it is marked deleted, and such <i>tombstones</i> are dropped by the next rehash.
+ * The table is rehashed when the empty slots run out, keeping at least one slot
+ * in eight empty so that the probes stay short.
+ *
+ * <p>A mapping costs no allocation besides the key and value themselves, and a byte of
+ * control. The hashes are not stored, so the rehash calls hashCode again.
+ *
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of mapped values
+ *
+ * @author  rassandev
+ */
+public class SwissHashMap<K, V> {
+    /**
+     * The number of slots in a group, whose control bytes fill a long.
+     */
+    private static final int GROUP_SIZE = 8;
+
+    /**
+     * The default initial capacity - MUST be a power of two.
+     */
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    /**
+     * The maximum capacity, the slots arrays are never bigger than this.
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private static final int EMPTY = 0x80;
+    private static final int DELETED = 0xFE;
+
+    private static final long LSBS = 0x0101010101010101L;
+    private static final long MSBS = 0x8080808080808080L;
+    private static final long EMPTY_GROUP = EMPTY * LSBS;
+
+    /**
+     * Stands in for the null key, so that a null key has a hash code.
+     */
+    private static final Object NULL_KEY = new Object();
+
+    /**
+     * The control bytes of the slots, eight per long, the first slot in the lowest byte.
+     */
+    private long[] controls;
+
+    /**
+     * The keys of the mappings, null for the empty and deleted slots.
+     */
+    private Object[] keys;
+
+    /**
+     * The values of the mappings, at the same index as their keys.
+     */
+    private Object[] values;
+
+    /**
+     * The number of key-value mappings contained in this map.
+     */
+    private int size;
+
+    /**
+     * The number of empty slots which may still be filled before the table is rehashed.
+     */
+    private int growthLeft;
+
+    /**
+     * Constructs an empty SwissHashMap with the default initial capacity (16).
+     */
+    public SwissHashMap() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty SwissHashMap with the specified initial capacity,
+     * the number of mappings the map can hold before it is rehashed.
+     *
+     * @param  initialCapacity the initial capacity.
+     * @throws IllegalArgumentException if the initial capacity is negative.
+     */
+    public SwissHashMap(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal initial capacity: " + initialCapacity);
+        }
+
+        allocate(tableSizeFor((int) Math.min(MAXIMUM_CAPACITY, initialCapacity + (initialCapacity + 6L) / 7)));
+    }
+
+    /**
+     * Returns a power of two size, of one group at least, for the given target capacity.
+     */
+    private static int tableSizeFor(int capacity) {
+        int n = -1 >>> Integer.numberOfLeadingZeros(Math.max(capacity, GROUP_SIZE) - 1);
+        return (n >= MAXIMUM_CAPACITY) ? MAXIMUM_CAPACITY : n + 1;
+    }
+
+    /**
+     * Computes the hashcode for key of this map and mixes its bits, since both its lower bits,
+     * for the tag, and its higher bits, for the group, are used.
+     */
+    private static int keyHash(Object key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static Object maskNull(Object key) {
+        return key == null ? NULL_KEY : key;
+    }
+
+    private static Object unmaskNull(Object key) {
+        return key == NULL_KEY ? null : key;
+    }
+
+    private void allocate(int capacity) {
+        controls = new long[capacity / GROUP_SIZE];
+        Arrays.fill(controls, EMPTY_GROUP);
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        growthLeft = maxLoad(capacity);
+    }
+
+    /**
+     * Returns the number of mappings a table of the given capacity may hold, seven in eight slots.
+     */
+    private static int maxLoad(int capacity) {
+        return capacity - capacity / GROUP_SIZE;
+    }
+
+    /**
+     * Returns a mask with the high bit set in each byte of the group equal to the tag.
+     * A byte right above a matching one may be reported too, which only costs an equals.
+     */
+    private static long match(long group, int tag) {
+        long x = group ^ (LSBS * tag);
+        return (x - LSBS) & ~x & MSBS;
+    }
+
+    /**
+     * Returns a mask with the high bit set in each empty byte of the group. Among the
+     * control bytes with the high bit set, only the empty one has its second lowest bit clear.
+     */
+    private static long matchEmpty(long group) {
+        return group & ~(group << 6) & MSBS;
+    }
+
+    /**
+     * Returns a mask with the high bit set in each empty or deleted byte of the group.
+     */
+    private static long matchFree(long group) {
+        return group & MSBS;
+    }
+
+    /**
+     * Returns the index in its group of the lowest byte set in the mask.
+     */
+    private static int lowestByte(long mask) {
+        return Long.numberOfTrailingZeros(mask) >>> 3;
+    }
+
+    private void setControl(int slot, int control) {
+        int shift = (slot & (GROUP_SIZE - 1)) << 3;
+        int group = slot / GROUP_SIZE;
+        controls[group] = (controls[group] & ~(0xFFL << shift)) | ((long) control << shift);
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     *
+     * @return the number of key-value mappings in this map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns true if this map contains no key-value mappings.
+     *
+     * @return true, if this map contains no key-value mappings, otherwise returns false
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all of the mappings from this map.
+     * The map will be empty after this call returns.
+     */
+    public void clear() {
+        Arrays.fill(controls, EMPTY_GROUP);
+        Arrays.fill(keys, null);
+        Arrays.fill(values, null);
+        size = 0;
+        growthLeft = maxLoad(keys.length);
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map.
+     * If the map previously contained a mapping for the key, the old
+     * value is replaced.
+     *
+     * @param key key with which the specified value is to be associated
+     * @param value value to be associated with the specified key
+     * @return the previous value associated with a key, or
+     *         null if there was no mapping for a key.
+     */
+    public V put(K key, V value) {
+        Object k = maskNull(key);
+        int hash = keyHash(k);
+        int index = indexOf(k, hash);
+
+        if (index >= 0) {
+            V currentValue = (V) values[index];
+            values[index] = value;
+            return currentValue;
+        }
+
+        if (growthLeft == 0) {
+            rehash();
+        }
+
+        insert(k, value, hash);
+        size++;
+
+        return null;
+    }
+
+    /**
+     * Places a key that is known to be absent in the first free slot of its probe sequence,
+     * which is the first slot of its tag a lookup would meet.
+     */
+    private void insert(Object key, Object value, int hash) {
+        int groupMask = controls.length - 1;
+        int group = (hash >>> 7) & groupMask;
+        long free = matchFree(controls[group]);
+
+        for (int step = 1; free == 0; step++) {
+            group = (group + step) & groupMask;
+            free = matchFree(controls[group]);
+        }
+
+        if ((matchEmpty(controls[group]) & Long.lowestOneBit(free)) != 0) {
+            growthLeft--;
+        }
+
+        int slot = group * GROUP_SIZE + lowestByte(free);
+        setControl(slot, hash & 0x7F);
+        keys[slot] = key;
+        values[slot] = value;
+    }
+
+    /**
+     * Returns the slot of the specified (masked) key, or -1 if the key is absent.
+     * The groups are probed at the triangular numbers of steps, which visits all
+     * of them since their number is a power of two, until a group with an empty slot.
+     */
+    private int indexOf(Object key, int hash) {
+        int groupMask = controls.length - 1;
+        int group = (hash >>> 7) & groupMask;
+        int tag = hash & 0x7F;
+
+        for (int step = 1;; step++) {
+            long controlGroup = controls[group];
+
+            for (long matches = match(controlGroup, tag); matches != 0; matches &= matches - 1) {
+                int slot = group * GROUP_SIZE + lowestByte(matches);
+                Object candidate = keys[slot];
+                if (candidate == key || (candidate != null && candidate.equals(key))) {
+                    return slot;
+                }
+            }
+
+            if (matchEmpty(controlGroup) != 0) {
+                return -1;
+            }
+
+            group = (group + step) & groupMask;
+        }
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped,
+     * or null if this map contains no mapping for the key.
+     *
+     * @param key key with which the returning value is to be associated
+     */
+    public V get(Object key) {
+        Object k = maskNull(key);
+        int index = indexOf(k, keyHash(k));
+        return index >= 0 ? (V) values[index] : null;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or
+     * defaultValue if this map contains no mapping for the key.
+     *
+     * @param key the key whose associated value is to be returned
+     * @param defaultValue the default mapping of the key
+     * @return the value to which the specified key is mapped, or
+     * defaultValue if this map contains no mapping for the key
+     */
+    public V getOrDefault(Object key, V defaultValue) {
+        Object k = maskNull(key);
+        int index = indexOf(k, keyHash(k));
+        return index >= 0 ? (V) values[index] : defaultValue;
+    }
+
+    /**
+     * Removes the mapping for the specified key from this map if present.
+     * The slot is marked empty again if no probe can have gone past its group,
+     * otherwise it is left as a tombstone until the next rehash.
+     *
+     * @param  key key whose mapping is to be removed from the map
+     * @return the previous value associated with a key, or
+     *         null if there was no mapping for key.
+     */
+    public V remove(Object key) {
+        Object k = maskNull(key);
+        int index = indexOf(k, keyHash(k));
+
+        if (index < 0) {
+            return null;
+        }
+
+        V currentValue = (V) values[index];
+        // a group without empty slots never gets one back before a rehash, so a group
+        // which has one was never skipped by a probe
+        if (matchEmpty(controls[index / GROUP_SIZE]) != 0) {
+            setControl(index, EMPTY);
+            growthLeft++;
+        } else {
+            setControl(index, DELETED);
+        }
+
+        keys[index] = null;
+        values[index] = null;
+        size--;
+
+        return currentValue;
+    }
+
+    /**
+     * Returns true if this map contains a mapping for the
+     * specified key.
+     *
+     * @param   key   The key whose presence in this map is to be tested
+     * @return true if this map contains a mapping for the specified
+     * key.
+     */
+    public boolean containsKey(Object key) {
+        Object k = maskNull(key);
+        return indexOf(k, keyHash(k)) >= 0;
+    }
+
+    /**
+     * Returns true if this map maps one or more keys to the
+     * specified value.
+     *
+     * @param value value whose presence in this map is to be tested
+     * @return true if this map maps one or more keys to the
+     *         specified value
+     */
+    public boolean containsValue(Object value) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null
+                    && ((values[i] == value) || (values[i] != null && values[i].equals(value)))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Reinserts every mapping into a new table when the empty slots run out: a table of the
+     * same capacity if the tombstones took more than half of the room, otherwise a doubled one.
+     */
+    private void rehash() {
+        int capacity = keys.length;
+        if (size >= maxLoad(capacity) / 2) {
+            if (capacity == MAXIMUM_CAPACITY) {
+                throw new IllegalStateException("SwissHashMap is full");
+            }
+            capacity *= 2;
+        }
+
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+
+        allocate(capacity);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                insert(oldKeys[i], oldValues[i], keyHash(oldKeys[i]));
+            }
+        }
+    }
+
+    /**
+     * Returns a {@link Set} view of the keys contained in this map.
+     *
+     * @return a set view of the keys contained in this map
+     */
+    public Set<K> keySet() {
+        Set<K> result = new HashSet<>();
+
+        for (Object key : keys) {
+            if (key != null) {
+                result.add((K) unmaskNull(key));
+            }
+        }
+
+        return result;
+    }
+}
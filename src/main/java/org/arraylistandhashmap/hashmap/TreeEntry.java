@@ -0,0 +1,775 @@
+package org.arraylistandhashmap.hashmap;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
+/**
+ * This class represents an entry of a tree bucket of a {@link HashMap}.
+ * Besides the tree links, the entries of a tree bucket are still chained by next
+ * (and prev) links, so the bucket can be traversed the same way as a plain one.
+ * The root of the tree is moved to the front of the chain by every put and remove,
+ * except for the removals by an iterator, which must not reorder the chain it walks.
+ *
+ * <p>The red-black tree algorithms are adapted from those in CLR.
+ *
+ * @param  <K> the type of the key.
+ * @param  <V> the type of the value.
+ *
+ * @author  rassandev
+ */
+final class TreeEntry<K, V> extends LinkedEntry<K, V> {
+    /**
+     * The number of entries at which a tree is converted back into a chain
+     * when a bucket is split by a resize. It is less than the treeify threshold of the HashMap,
+     * so that a bucket does not flip between the two forms on every put and remove.
+     */
+    private static final int UNTREEIFY_THRESHOLD = 6;
+
+    private TreeEntry<K, V> parent;
+    private TreeEntry<K, V> left;
+    private TreeEntry<K, V> right;
+    private TreeEntry<K, V> prev;
+    private boolean red;
+
+    TreeEntry(int hash, K key, V value) {
+        super(hash, key, value);
+    }
+
+    private TreeEntry<K, V> nextEntry() {
+        return (TreeEntry<K, V>) next();
+    }
+
+    private void setNextEntry(Entry<K, V> next) {
+        setNext(next);
+    }
+
+    /**
+     * Forms a tree of the chain starting with the given entry. Its entries are replaced
+     * by tree entries, the linked ones taking over the place in the list of the entry
+     * they replace.
+     *
+     * @return the root of the tree, which is the first entry of the new chain
+     */
+    static <K, V> TreeEntry<K, V> treeifyChain(Entry<K, V> first) {
+        TreeEntry<K, V> head = null;
+        TreeEntry<K, V> tail = null;
+
+        for (Entry<K, V> entry = first; entry != null; entry = entry.next()) {
+            TreeEntry<K, V> treeEntry = new TreeEntry<>(entry.hash(), entry.getKey(), entry.getValue());
+            if (entry instanceof LinkedEntry<K, V> linked) {
+                linked.replaceWith(treeEntry);
+            }
+
+            if (tail == null) {
+                head = treeEntry;
+            } else {
+                treeEntry.prev = tail;
+                tail.setNextEntry(treeEntry);
+            }
+            tail = treeEntry;
+        }
+
+        return head.treeify();
+    }
+
+    /**
+     * Returns the root of the tree containing this entry.
+     */
+    private TreeEntry<K, V> root() {
+        TreeEntry<K, V> r = this;
+        while (r.parent != null) {
+            r = r.parent;
+        }
+        return r;
+    }
+
+    /**
+     * Finds the entry of the key in the tree of this entry,
+     * which is not necessarily the root.
+     */
+    TreeEntry<K, V> getTreeEntry(int h, Object k) {
+        return ((parent != null) ? root() : this).find(h, k, null);
+    }
+
+    /**
+     * Makes the given root the first entry of the chain starting with the given first entry.
+     *
+     * @return the root, which is the new first entry of the chain
+     */
+    private static <K, V> TreeEntry<K, V> moveRootToFront(TreeEntry<K, V> first, TreeEntry<K, V> root) {
+        if (root != first) {
+            TreeEntry<K, V> rn = root.nextEntry();
+            TreeEntry<K, V> rp = root.prev;
+
+            if (rn != null) {
+                rn.prev = rp;
+            }
+            if (rp != null) {
+                rp.setNextEntry(rn);
+            }
+            if (first != null) {
+                first.prev = root;
+            }
+            root.setNextEntry(first);
+            root.prev = null;
+        }
+        return root;
+    }
+
+    /**
+     * Finds the entry starting at this one with the given hash and key.
+     * The kc argument caches comparableClassFor(key) upon first use comparing keys.
+     */
+    private TreeEntry<K, V> find(int h, Object k, Class<?> kc) {
+        TreeEntry<K, V> p = this;
+
+        while (p != null) {
+            TreeEntry<K, V> pl = p.left;
+            TreeEntry<K, V> pr = p.right;
+            K pk = p.getKey();
+
+            if (p.hash() > h) {
+                p = pl;
+            } else if (p.hash() < h) {
+                p = pr;
+            } else if (pk == k || (k != null && k.equals(pk))) {
+                return p;
+            } else if (pl == null) {
+                p = pr;
+            } else if (pr == null) {
+                p = pl;
+            } else {
+                if (kc == null) {
+                    kc = comparableClassFor(k);
+                }
+
+                int dir = (kc == null) ? 0 : compareComparables(kc, k, pk);
+
+                if (dir != 0) {
+                    p = (dir < 0) ? pl : pr;
+                } else {
+                    TreeEntry<K, V> q = pr.find(h, k, kc);
+                    if (q != null) {
+                        return q;
+                    }
+                    p = pl;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the direction (-1 for left, 1 for right) in which the key
+     * should be placed relatively to the entry p with the same hash.
+     */
+    private static int insertionOrder(Class<?> kc, Object k, Object pk) {
+        int dir = (kc == null) ? 0 : compareComparables(kc, k, pk);
+        return dir != 0 ? dir : tieBreakOrder(k, pk);
+    }
+
+    /**
+     * Forms a tree of the chain starting with this entry.
+     *
+     * @return the root of the tree, which is moved to the front of the chain
+     */
+    TreeEntry<K, V> treeify() {
+        TreeEntry<K, V> root = null;
+
+        for (TreeEntry<K, V> x = this; x != null; x = x.nextEntry()) {
+            x.left = null;
+            x.right = null;
+
+            if (root == null) {
+                x.parent = null;
+                x.red = false;
+                root = x;
+                continue;
+            }
+
+            K k = x.getKey();
+            Class<?> kc = comparableClassFor(k);
+            TreeEntry<K, V> p = root;
+
+            while (true) {
+                int dir;
+                if (p.hash() > x.hash()) {
+                    dir = -1;
+                } else if (p.hash() < x.hash()) {
+                    dir = 1;
+                } else {
+                    dir = insertionOrder(kc, k, p.getKey());
+                }
+
+                TreeEntry<K, V> xp = p;
+                p = (dir <= 0) ? p.left : p.right;
+
+                if (p == null) {
+                    x.parent = xp;
+                    if (dir <= 0) {
+                        xp.left = x;
+                    } else {
+                        xp.right = x;
+                    }
+                    root = balanceInsertion(root, x);
+                    break;
+                }
+            }
+        }
+
+        return moveRootToFront(this, root);
+    }
+
+    /**
+     * Returns a chain of plain entries replacing the chain starting with this entry.
+     * The linked entries are replaced by linked entries, which take their place in the list.
+     */
+    Entry<K, V> untreeify() {
+        Entry<K, V> head = null;
+        Entry<K, V> tail = null;
+
+        for (TreeEntry<K, V> q = this; q != null; q = q.nextEntry()) {
+            Entry<K, V> entry;
+            if (q.isLinked()) {
+                LinkedEntry<K, V> linked = new LinkedEntry<>(q.hash(), q.getKey(), q.getValue());
+                q.replaceWith(linked);
+                entry = linked;
+            } else {
+                entry = new Entry<>(q.hash(), q.getKey(), q.getValue());
+            }
+
+            if (tail == null) {
+                head = entry;
+            } else {
+                tail.setNext(entry);
+            }
+            tail = entry;
+        }
+
+        return head;
+    }
+
+    /**
+     * Tree version of put. This entry must be the root of the bucket.
+     *
+     * @return the existing entry with the key, or null if a new entry has been added
+     */
+    TreeEntry<K, V> putTreeVal(HashMap<K, V> map, Entry<K, V>[] tab, int index, int h, K k, V v) {
+        Class<?> kc = null;
+        boolean searched = false;
+        TreeEntry<K, V> root = (parent != null) ? root() : this;
+        TreeEntry<K, V> p = root;
+
+        while (true) {
+            int dir;
+            K pk = p.getKey();
+
+            if (p.hash() > h) {
+                dir = -1;
+            } else if (p.hash() < h) {
+                dir = 1;
+            } else if (pk == k || (k != null && k.equals(pk))) {
+                return p;
+            } else {
+                if (kc == null) {
+                    kc = comparableClassFor(k);
+                }
+
+                dir = (kc == null) ? 0 : compareComparables(kc, k, pk);
+
+                if (dir == 0) {
+                    if (!searched) {
+                        // the key may be in either subtree, look for it once
+                        searched = true;
+                        TreeEntry<K, V> q = null;
+                        if (p.left != null) {
+                            q = p.left.find(h, k, kc);
+                        }
+                        if (q == null && p.right != null) {
+                            q = p.right.find(h, k, kc);
+                        }
+                        if (q != null) {
+                            return q;
+                        }
+                    }
+                    dir = tieBreakOrder(k, pk);
+                }
+            }
+
+            TreeEntry<K, V> xp = p;
+            p = (dir <= 0) ? p.left : p.right;
+
+            if (p == null) {
+                TreeEntry<K, V> xpn = xp.nextEntry();
+                TreeEntry<K, V> x = new TreeEntry<>(h, k, v);
+                map.linkEntry(x);
+
+                if (dir <= 0) {
+                    xp.left = x;
+                } else {
+                    xp.right = x;
+                }
+
+                xp.setNextEntry(x);
+                x.setNextEntry(xpn);
+                x.parent = xp;
+                x.prev = xp;
+                if (xpn != null) {
+                    xpn.prev = x;
+                }
+
+                tab[index] = moveRootToFront((TreeEntry<K, V>) tab[index], balanceInsertion(root, x));
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Removes this entry from its bucket, which must be present.
+     * If the tree becomes too small, the bucket is converted back into a chain.
+     * If movable is false, neither is done nor is the new root moved to the front
+     * of the chain, so the chain order of the remaining entries does not change.
+     */
+    void removeTreeNode(Entry<K, V>[] tab, int index, boolean movable) {
+        TreeEntry<K, V> first = (TreeEntry<K, V>) tab[index];
+        TreeEntry<K, V> root = first;
+        TreeEntry<K, V> succ = nextEntry();
+        TreeEntry<K, V> pred = prev;
+
+        if (pred == null) {
+            first = succ;
+            tab[index] = first;
+        } else {
+            pred.setNextEntry(succ);
+        }
+        if (succ != null) {
+            succ.prev = pred;
+        }
+        if (first == null) {
+            return;
+        }
+        if (root.parent != null) {
+            root = root.root();
+        }
+        if (movable && (root.right == null || root.left == null || root.left.left == null)) {
+            // too small
+            tab[index] = first.untreeify();
+            return;
+        }
+
+        TreeEntry<K, V> p = this;
+        TreeEntry<K, V> pl = left;
+        TreeEntry<K, V> pr = right;
+        TreeEntry<K, V> replacement;
+
+        if (pl != null && pr != null) {
+            // swap the entry with its successor, then remove it from the successor's position
+            TreeEntry<K, V> s = pr;
+            while (s.left != null) {
+                s = s.left;
+            }
+
+            boolean c = s.red;
+            s.red = p.red;
+            p.red = c;
+
+            TreeEntry<K, V> sr = s.right;
+            TreeEntry<K, V> pp = p.parent;
+
+            if (s == pr) {
+                p.parent = s;
+                s.right = p;
+            } else {
+                TreeEntry<K, V> sp = s.parent;
+                p.parent = sp;
+                if (sp != null) {
+                    if (s == sp.left) {
+                        sp.left = p;
+                    } else {
+                        sp.right = p;
+                    }
+                }
+                s.right = pr;
+                pr.parent = s;
+            }
+
+            p.left = null;
+            p.right = sr;
+            if (sr != null) {
+                sr.parent = p;
+            }
+            s.left = pl;
+            pl.parent = s;
+            s.parent = pp;
+            if (pp == null) {
+                root = s;
+            } else if (p == pp.left) {
+                pp.left = s;
+            } else {
+                pp.right = s;
+            }
+
+            replacement = (sr != null) ? sr : p;
+        } else if (pl != null) {
+            replacement = pl;
+        } else if (pr != null) {
+            replacement = pr;
+        } else {
+            replacement = p;
+        }
+
+        if (replacement != p) {
+            TreeEntry<K, V> pp = p.parent;
+            replacement.parent = pp;
+            if (pp == null) {
+                root = replacement;
+                root.red = false;
+            } else if (p == pp.left) {
+                pp.left = replacement;
+            } else {
+                pp.right = replacement;
+            }
+            p.left = null;
+            p.right = null;
+            p.parent = null;
+        }
+
+        TreeEntry<K, V> r = p.red ? root : balanceDeletion(root, replacement);
+
+        if (replacement == p) {
+            // detach
+            TreeEntry<K, V> pp = p.parent;
+            p.parent = null;
+            if (pp != null) {
+                if (p == pp.left) {
+                    pp.left = null;
+                } else if (p == pp.right) {
+                    pp.right = null;
+                }
+            }
+        }
+
+        if (movable) {
+            tab[index] = moveRootToFront(first, r);
+        }
+    }
+
+    /**
+     * Splits the tree bucket of the old table into the lower and upper buckets
+     * of the new table, which is twice as large.
+     * A resulting bucket that is too small is converted back into a chain.
+     */
+    void split(Entry<K, V>[] newTable, int index, int oldCapacity) {
+        TreeEntry<K, V> loHead = null;
+        TreeEntry<K, V> loTail = null;
+        TreeEntry<K, V> hiHead = null;
+        TreeEntry<K, V> hiTail = null;
+        int loCount = 0;
+        int hiCount = 0;
+
+        TreeEntry<K, V> e = this;
+        while (e != null) {
+            TreeEntry<K, V> next = e.nextEntry();
+            e.setNextEntry(null);
+
+            if ((e.hash() & oldCapacity) == 0) {
+                e.prev = loTail;
+                if (loTail == null) {
+                    loHead = e;
+                } else {
+                    loTail.setNextEntry(e);
+                }
+                loTail = e;
+                loCount++;
+            } else {
+                e.prev = hiTail;
+                if (hiTail == null) {
+                    hiHead = e;
+                } else {
+                    hiTail.setNextEntry(e);
+                }
+                hiTail = e;
+                hiCount++;
+            }
+
+            e = next;
+        }
+
+        if (loHead != null) {
+            newTable[index] = (loCount <= UNTREEIFY_THRESHOLD) ? loHead.untreeify() : loHead.treeify();
+        }
+        if (hiHead != null) {
+            newTable[index + oldCapacity] = (hiCount <= UNTREEIFY_THRESHOLD)
+                    ? hiHead.untreeify()
+                    : hiHead.treeify();
+        }
+    }
+
+    private static <K, V> TreeEntry<K, V> rotateLeft(TreeEntry<K, V> root, TreeEntry<K, V> p) {
+        if (p != null && p.right != null) {
+            TreeEntry<K, V> r = p.right;
+            TreeEntry<K, V> rl = r.left;
+            p.right = rl;
+            if (rl != null) {
+                rl.parent = p;
+            }
+
+            TreeEntry<K, V> pp = p.parent;
+            r.parent = pp;
+            if (pp == null) {
+                root = r;
+                root.red = false;
+            } else if (pp.left == p) {
+                pp.left = r;
+            } else {
+                pp.right = r;
+            }
+
+            r.left = p;
+            p.parent = r;
+        }
+        return root;
+    }
+
+    private static <K, V> TreeEntry<K, V> rotateRight(TreeEntry<K, V> root, TreeEntry<K, V> p) {
+        if (p != null && p.left != null) {
+            TreeEntry<K, V> l = p.left;
+            TreeEntry<K, V> lr = l.right;
+            p.left = lr;
+            if (lr != null) {
+                lr.parent = p;
+            }
+
+            TreeEntry<K, V> pp = p.parent;
+            l.parent = pp;
+            if (pp == null) {
+                root = l;
+                root.red = false;
+            } else if (pp.right == p) {
+                pp.right = l;
+            } else {
+                pp.left = l;
+            }
+
+            l.right = p;
+            p.parent = l;
+        }
+        return root;
+    }
+
+    private static <K, V> TreeEntry<K, V> balanceInsertion(TreeEntry<K, V> root, TreeEntry<K, V> x) {
+        x.red = true;
+
+        while (true) {
+            TreeEntry<K, V> xp = x.parent;
+            if (xp == null) {
+                x.red = false;
+                return x;
+            }
+
+            TreeEntry<K, V> xpp = xp.parent;
+            if (!xp.red || xpp == null) {
+                return root;
+            }
+
+            TreeEntry<K, V> xppl = xpp.left;
+            if (xp == xppl) {
+                TreeEntry<K, V> xppr = xpp.right;
+                if (xppr != null && xppr.red) {
+                    xppr.red = false;
+                    xp.red = false;
+                    xpp.red = true;
+                    x = xpp;
+                } else {
+                    if (x == xp.right) {
+                        x = xp;
+                        root = rotateLeft(root, x);
+                        xp = x.parent;
+                        xpp = (xp == null) ? null : xp.parent;
+                    }
+                    if (xp != null) {
+                        xp.red = false;
+                        if (xpp != null) {
+                            xpp.red = true;
+                            root = rotateRight(root, xpp);
+                        }
+                    }
+                }
+            } else {
+                if (xppl != null && xppl.red) {
+                    xppl.red = false;
+                    xp.red = false;
+                    xpp.red = true;
+                    x = xpp;
+                } else {
+                    if (x == xp.left) {
+                        x = xp;
+                        root = rotateRight(root, x);
+                        xp = x.parent;
+                        xpp = (xp == null) ? null : xp.parent;
+                    }
+                    if (xp != null) {
+                        xp.red = false;
+                        if (xpp != null) {
+                            xpp.red = true;
+                            root = rotateLeft(root, xpp);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static <K, V> TreeEntry<K, V> balanceDeletion(TreeEntry<K, V> root, TreeEntry<K, V> x) {
+        while (true) {
+            if (x == null || x == root) {
+                return root;
+            }
+
+            TreeEntry<K, V> xp = x.parent;
+            if (xp == null) {
+                x.red = false;
+                return x;
+            } else if (x.red) {
+                x.red = false;
+                return root;
+            }
+
+            TreeEntry<K, V> xpl = xp.left;
+            if (xpl == x) {
+                TreeEntry<K, V> xpr = xp.right;
+                if (xpr != null && xpr.red) {
+                    xpr.red = false;
+                    xp.red = true;
+                    root = rotateLeft(root, xp);
+                    xp = x.parent;
+                    xpr = (xp == null) ? null : xp.right;
+                }
+                if (xpr == null) {
+                    x = xp;
+                } else {
+                    TreeEntry<K, V> sl = xpr.left;
+                    TreeEntry<K, V> sr = xpr.right;
+                    if ((sr == null || !sr.red) && (sl == null || !sl.red)) {
+                        xpr.red = true;
+                        x = xp;
+                    } else {
+                        if (sr == null || !sr.red) {
+                            if (sl != null) {
+                                sl.red = false;
+                            }
+                            xpr.red = true;
+                            root = rotateRight(root, xpr);
+                            xp = x.parent;
+                            xpr = (xp == null) ? null : xp.right;
+                        }
+                        if (xpr != null) {
+                            xpr.red = xp != null && xp.red;
+                            sr = xpr.right;
+                            if (sr != null) {
+                                sr.red = false;
+                            }
+                        }
+                        if (xp != null) {
+                            xp.red = false;
+                            root = rotateLeft(root, xp);
+                        }
+                        x = root;
+                    }
+                }
+            } else {
+                if (xpl != null && xpl.red) {
+                    xpl.red = false;
+                    xp.red = true;
+                    root = rotateRight(root, xp);
+                    xp = x.parent;
+                    xpl = (xp == null) ? null : xp.left;
+                }
+                if (xpl == null) {
+                    x = xp;
+                } else {
+                    TreeEntry<K, V> sl = xpl.left;
+                    TreeEntry<K, V> sr = xpl.right;
+                    if ((sl == null || !sl.red) && (sr == null || !sr.red)) {
+                        xpl.red = true;
+                        x = xp;
+                    } else {
+                        if (sl == null || !sl.red) {
+                            if (sr != null) {
+                                sr.red = false;
+                            }
+                            xpl.red = true;
+                            root = rotateLeft(root, xpl);
+                            xp = x.parent;
+                            xpl = (xp == null) ? null : xp.left;
+                        }
+                        if (xpl != null) {
+                            xpl.red = xp != null && xp.red;
+                            sl = xpl.left;
+                            if (sl != null) {
+                                sl.red = false;
+                            }
+                        }
+                        if (xp != null) {
+                            xp.red = false;
+                            root = rotateRight(root, xp);
+                        }
+                        x = root;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns x's class if it is of the form "class C implements Comparable&lt;C&gt;", else null.
+     */
+    private static Class<?> comparableClassFor(Object x) {
+        if (!(x instanceof Comparable)) {
+            return null;
+        }
+
+        Class<?> c = x.getClass();
+        if (c == String.class) {
+            return c;
+        }
+
+        for (Type type : c.getGenericInterfaces()) {
+            if (type instanceof ParameterizedType p
+                    && p.getRawType() == Comparable.class
+                    && p.getActualTypeArguments().length == 1
+                    && p.getActualTypeArguments()[0] == c) {
+                return c;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns k.compareTo(x) if x matches kc (k's screened comparable class), else 0.
+     */
+    private static int compareComparables(Class<?> kc, Object k, Object x) {
+        return (x == null || x.getClass() != kc) ? 0 : ((Comparable<Object>) k).compareTo(x);
+    }
+
+    /**
+     * Orders the keys that have equal hashes and are not comparable.
+     * The order does not need to be consistent with equals, it only has to be stable,
+     * because lookups of such keys search both subtrees anyway.
+     */
+    private static int tieBreakOrder(Object a, Object b) {
+        int d = 0;
+
+        if (a != null && b != null) {
+            d = a.getClass().getName().compareTo(b.getClass().getName());
+        }
+
+        if (d == 0) {
+            d = (System.identityHashCode(a) <= System.identityHashCode(b)) ? -1 : 1;
+        }
+
+        return d;
+    }
+}
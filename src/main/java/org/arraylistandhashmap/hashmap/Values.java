@@ -0,0 +1,46 @@
+package org.arraylistandhashmap.hashmap;
+
+import java.util.AbstractCollection;
+import java.util.Iterator;
+import java.util.Spliterator;
+
+/**
+ * The values view of a {@link HashMap}, see {@link HashMap#values()}.
+ *
+ * @param  <K> the type of the key.
+ * @param  <V> the type of the value.
+ *
+ * @author  rassandev
+ */
+final class Values<K, V> extends AbstractCollection<V> {
+    private final HashMap<K, V> map;
+
+    Values(HashMap<K, V> map) {
+        this.map = map;
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public void clear() {
+        map.clear();
+    }
+
+    @Override
+    public Iterator<V> iterator() {
+        return new BucketIterator<>(map, Entry::getValue);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return map.containsValue(o);
+    }
+
+    @Override
+    public Spliterator<V> spliterator() {
+        return map.spliterator(Spliterator.SIZED, Entry::getValue);
+    }
+}
@@ -1,11 +1,20 @@
 package arraylist;
 
 import org.arraylistandhashmap.arraylist.ArrayList;
+import org.arraylistandhashmap.arraylist.GrowthPolicy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.LongAdder;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
@@ -60,6 +69,26 @@ public class ArrayListTest {
         assertEquals(6, arrayList.get(5));
     }
 
+    @Test
+    public void testAddAllBulk() {
+        assertFalse(arrayList.addAll(new ArrayList<>()));
+        assertFalse(arrayList.addAll(List.of()));
+
+        assertTrue(arrayList.addAll(List.of(1, 2, 3)));
+        assertTrue(arrayList.addAll(arrayList));
+        assertEquals(6, arrayList.size());
+        assertEquals(3, arrayList.get(2));
+        assertEquals(1, arrayList.get(3));
+
+        ArrayList<Integer> large = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            large.add(i);
+        }
+        assertTrue(arrayList.addAll(large));
+        assertEquals(10_006, arrayList.size());
+        assertEquals(9_999, arrayList.get(10_005));
+    }
+
     @Test
     public void testContains() {
         arrayList.add(1);
@@ -133,6 +162,50 @@ public class ArrayListTest {
 
     }
 
+    @Test
+    public void testRemoveAllAndRetainAllLargeArguments() {
+        ArrayList<Integer> evens = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            arrayList.add(i % 1000);
+            if (i % 2 == 0) {
+                evens.add(i);
+            }
+        }
+
+        assertTrue(arrayList.removeAll(evens));
+        assertEquals(50_000, arrayList.size());
+        assertEquals(1, arrayList.get(0));
+        assertEquals(999, arrayList.get(49_999));
+
+        assertTrue(arrayList.retainAll(List.of(1, 3)));
+        assertEquals(200, arrayList.size());
+        assertFalse(arrayList.retainAll(Set.of(1, 3)));
+        assertFalse(arrayList.removeAll(List.of(2)));
+    }
+
+    @Test
+    public void testRemoveIf() {
+        for (int i = 0; i < 10; i++) {
+            arrayList.add(i);
+        }
+
+        assertTrue(arrayList.removeIf(value -> value % 3 == 0));
+        assertFalse(arrayList.removeIf(value -> value > 100));
+        assertEquals(6, arrayList.size());
+        assertEquals(1, arrayList.get(0));
+        assertEquals(8, arrayList.get(5));
+
+        assertThrows(IllegalStateException.class, () -> arrayList.removeIf(value -> {
+            if (value == 5) {
+                throw new IllegalStateException();
+            }
+            return value == 1;
+        }));
+        assertEquals(5, arrayList.size());
+        assertEquals(2, arrayList.get(0));
+        assertEquals(8, arrayList.get(4));
+    }
+
     @Test
     public void testClear() {
         arrayList.add(1);
@@ -144,6 +217,62 @@ public class ArrayListTest {
         assertEquals(0, arrayList.size());
     }
 
+    @Test
+    public void testGrowthPolicies() {
+        assertEquals(List.of(4, 8, 16), capacities(new ArrayList<>(2)));
+        assertEquals(List.of(3, 4, 6, 9, 13, 19), capacities(new ArrayList<>(2, GrowthPolicy.oneAndAHalf())));
+        assertEquals(List.of(4, 7, 10, 13, 16), capacities(new ArrayList<>(2, GrowthPolicy.capped(3))));
+        assertEquals(List.of(5, 10, 15), capacities(new ArrayList<>(2, GrowthPolicy.chunked(5))));
+
+        assertThrows(IllegalArgumentException.class, () -> GrowthPolicy.capped(0));
+        assertThrows(IllegalArgumentException.class, () -> GrowthPolicy.chunked(-1));
+    }
+
+    /**
+     * Adds elements to the list until it holds 15 of them, and returns the capacities it grew to.
+     */
+    private static List<Integer> capacities(ArrayList<Integer> list) {
+        List<Integer> capacities = new java.util.ArrayList<>();
+        for (int i = 0; i < 15; i++) {
+            int capacity = list.capacity();
+            list.add(i);
+            if (list.capacity() != capacity) {
+                capacities.add(list.capacity());
+            }
+        }
+        return capacities;
+    }
+
+    @Test
+    public void testEnsureCapacityAndTrimToSize() {
+        arrayList.ensureCapacity(100);
+        assertEquals(100, arrayList.capacity());
+
+        for (int i = 0; i < 100; i++) {
+            arrayList.add(i);
+        }
+        assertEquals(100, arrayList.capacity());
+
+        arrayList.ensureCapacity(50);
+        assertEquals(100, arrayList.capacity());
+
+        arrayList.add(100);
+        arrayList.trimToSize();
+        assertEquals(101, arrayList.capacity());
+        assertEquals(100, arrayList.get(100));
+
+        arrayList.clear();
+        arrayList.trimToSize();
+        assertEquals(0, arrayList.capacity());
+
+        arrayList.add(1);
+        arrayList.add(0, 2);
+        arrayList.add(3);
+        assertEquals(3, arrayList.size());
+        assertEquals(2, arrayList.get(0));
+        assertEquals(3, arrayList.get(2));
+    }
+
     @Test
     public void testQuickSort() {
         arrayList.add(-1);
@@ -159,6 +288,154 @@ public class ArrayListTest {
         assertEquals(28, arrayList.get(4));
     }
 
+    @Test
+    public void testQuickSortLargeSortedAndReversedLists() {
+        for (int i = 0; i < 200_000; i++) {
+            arrayList.add(i);
+        }
+        arrayList.quickSort();
+        assertSorted(arrayList, Comparator.naturalOrder());
+
+        arrayList.quickSort(Comparator.reverseOrder());
+        assertEquals(199_999, arrayList.get(0));
+        assertSorted(arrayList, Comparator.reverseOrder());
+
+        arrayList.quickSort();
+        assertEquals(0, arrayList.get(0));
+        assertSorted(arrayList, Comparator.naturalOrder());
+    }
+
+    @Test
+    public void testQuickSortRandomAndDuplicateElements() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            arrayList.add(i % 2 == 0 ? random.nextInt() : random.nextInt(10));
+        }
+        Object[] expected = arrayList.toArray();
+        Arrays.sort(expected);
+
+        arrayList.quickSort();
+
+        assertArrayEquals(expected, arrayList.toArray());
+    }
+
+    @Test
+    public void testSortIsStable() {
+        ArrayList<String> words = new ArrayList<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 10_000; i++) {
+            // the first letter is the sort key, the number keeps the original order
+            words.add((char) ('a' + random.nextInt(5)) + String.format("%05d", i));
+        }
+        Object[] expected = words.toArray();
+        Arrays.sort(expected);
+
+        words.sort(Comparator.comparing(word -> word.charAt(0)));
+
+        assertArrayEquals(expected, words.toArray());
+    }
+
+    @Test
+    public void testSortPartiallySortedRuns() {
+        for (int run = 0; run < 50; run++) {
+            for (int i = 0; i < 1000; i++) {
+                arrayList.add(run % 2 == 0 ? i * 7 % 5000 + run : 5000 - i * 3);
+            }
+        }
+        Object[] expected = arrayList.toArray();
+        Arrays.sort(expected);
+
+        arrayList.sort(null);
+
+        assertArrayEquals(expected, arrayList.toArray());
+    }
+
+    @Test
+    public void testParallelSortIsStable() {
+        ArrayList<long[]> pairs = new ArrayList<>();
+        Random random = new Random(11);
+        for (int i = 0; i < 300_000; i++) {
+            pairs.add(new long[] {random.nextInt(1000), i});
+        }
+
+        pairs.parallelSort(Comparator.comparingLong(pair -> pair[0]));
+
+        assertEquals(300_000, pairs.size());
+        for (int i = 1; i < pairs.size(); i++) {
+            long[] previous = pairs.get(i - 1);
+            long[] current = pairs.get(i);
+            assertTrue(previous[0] < current[0] || previous[0] == current[0] && previous[1] < current[1]);
+        }
+    }
+
+    @Test
+    public void testParallelForEachAndReplaceAll() {
+        for (int i = 0; i < 100_000; i++) {
+            arrayList.add(i);
+        }
+
+        arrayList.parallelReplaceAll(value -> value * 2);
+        LongAdder sum = new LongAdder();
+        arrayList.parallelForEach(sum::add);
+
+        assertEquals(2L * (99_999L * 100_000L / 2), sum.sum());
+        assertEquals(199_998, arrayList.get(99_999));
+    }
+
+    @Test
+    public void testParallelRemoveIf() {
+        for (int i = 0; i < 100_000; i++) {
+            arrayList.add(i);
+        }
+
+        assertTrue(arrayList.parallelRemoveIf(value -> value % 3 != 0));
+        assertFalse(arrayList.parallelRemoveIf(value -> value < 0));
+
+        assertEquals(33_334, arrayList.size());
+        for (int i = 0; i < arrayList.size(); i++) {
+            assertEquals(i * 3, arrayList.get(i));
+        }
+    }
+
+    @Test
+    public void testStreams() {
+        for (int i = 0; i < 100_000; i++) {
+            arrayList.add(i);
+        }
+
+        assertEquals(4_999_950_000L, arrayList.stream().mapToLong(Integer::longValue).sum());
+        assertEquals(4_999_950_000L, arrayList.parallelStream().mapToLong(Integer::longValue).sum());
+        assertEquals(List.of(0, 1, 2), arrayList.parallelStream().limit(3).toList());
+
+        int count = 0;
+        for (Integer value : arrayList) {
+            assertEquals(count++, value);
+        }
+        assertEquals(100_000, count);
+    }
+
+    @Test
+    public void testSpliteratorSplitsInHalves() {
+        for (int i = 0; i < 10; i++) {
+            arrayList.add(i);
+        }
+
+        Spliterator<Integer> second = arrayList.spliterator();
+        Spliterator<Integer> first = second.trySplit();
+
+        assertTrue(second.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+        assertEquals(5, first.estimateSize());
+        assertEquals(5, second.estimateSize());
+        assertTrue(first.tryAdvance(value -> assertEquals(0, value)));
+        assertTrue(second.tryAdvance(value -> assertEquals(5, value)));
+    }
+
+    private static <T> void assertSorted(ArrayList<T> list, Comparator<? super T> comparator) {
+        for (int i = 1; i < list.size(); i++) {
+            assertTrue(comparator.compare(list.get(i - 1), list.get(i)) <= 0);
+        }
+    }
+
     @Test
     public void testIterator() {
         arrayList.add(1);
@@ -0,0 +1,131 @@
+package arraylist;
+
+import org.arraylistandhashmap.arraylist.CopyOnWriteArrayList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+public class CopyOnWriteArrayListTest {
+
+    private CopyOnWriteArrayList<Integer> list;
+
+    @BeforeEach
+    public void setUp() {
+        list = new CopyOnWriteArrayList<>(List.of(1, 2, 3));
+    }
+
+    @Test
+    public void testBasicOperations() {
+        list.add(4);
+        list.add(0, 0);
+
+        assertArrayEquals(new Object[] {0, 1, 2, 3, 4}, list.toArray());
+        assertEquals(2, list.set(2, 20));
+        assertEquals(20, list.get(2));
+        assertEquals(0, list.remove(0));
+        assertTrue(list.remove(Integer.valueOf(4)));
+        assertFalse(list.remove(Integer.valueOf(4)));
+        assertTrue(list.contains(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add(5, 0));
+
+        list.clear();
+        assertTrue(list.isEmpty());
+    }
+
+    @Test
+    public void testSnapshotIsNotAffectedByWriters() {
+        CopyOnWriteArrayList.Snapshot<Integer> snapshot = list.snapshot();
+        Iterator<Integer> iterator = list.iterator();
+
+        list.set(0, 10);
+        list.add(4);
+        list.clear();
+
+        assertEquals(3, snapshot.size());
+        assertEquals(1, snapshot.get(0));
+        assertTrue(snapshot.contains(3));
+        assertEquals(6, snapshot.stream().mapToInt(Integer::intValue).sum());
+        assertEquals(1, iterator.next());
+        assertThrows(UnsupportedOperationException.class, iterator::remove);
+        assertTrue(list.snapshot().isEmpty());
+    }
+
+    @Test
+    public void testBulkOperations() {
+        list.addAll(List.of(4, 5, 6));
+        assertTrue(list.removeIf(i -> i % 2 == 0));
+        assertFalse(list.removeIf(i -> i > 100));
+        list.replaceAll(i -> i * 10);
+        list.sort(Comparator.reverseOrder());
+
+        assertArrayEquals(new Object[] {50, 30, 10}, list.toArray());
+        assertEquals(90, list.stream().mapToInt(Integer::intValue).sum());
+    }
+
+    @Test
+    public void testUpdatePublishesOnce() {
+        CopyOnWriteArrayList.Snapshot<Integer> before = list.snapshot();
+
+        list.update(copy -> {
+            copy.remove(0);
+            copy.add(4);
+            copy.add(0, 0);
+        });
+
+        assertArrayEquals(new Object[] {0, 2, 3, 4}, list.toArray());
+        assertArrayEquals(new Object[] {1, 2, 3}, before.toArray());
+    }
+
+    @Test
+    public void testReadersSeeWholeVersions() throws InterruptedException {
+        // every version holds pairs of equal elements, a reader must never see a half-written pair
+        CopyOnWriteArrayList<Integer> pairs = new CopyOnWriteArrayList<>(List.of(0, 0));
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicInteger torn = new AtomicInteger();
+
+        Thread[] readers = new Thread[4];
+        for (int t = 0; t < readers.length; t++) {
+            readers[t] = new Thread(() -> {
+                while (!done.get()) {
+                    CopyOnWriteArrayList.Snapshot<Integer> snapshot = pairs.snapshot();
+                    for (int i = 0; i < snapshot.size(); i += 2) {
+                        if (!snapshot.get(i).equals(snapshot.get(i + 1))) {
+                            torn.incrementAndGet();
+                        }
+                    }
+                }
+            });
+            readers[t].start();
+        }
+
+        for (int version = 1; version <= 2000; version++) {
+            int value = version;
+            pairs.update(copy -> {
+                copy.set(0, value);
+                copy.set(1, value);
+                copy.add(value);
+                copy.add(value);
+            });
+        }
+        done.set(true);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertEquals(0, torn.get());
+        assertEquals(4002, pairs.size());
+    }
+}
@@ -0,0 +1,123 @@
+package arraylist;
+
+import org.arraylistandhashmap.arraylist.DoubleArrayList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.PrimitiveIterator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+public class DoubleArrayListTest {
+
+    private DoubleArrayList list;
+
+    @BeforeEach
+    public void setUp() {
+        list = new DoubleArrayList();
+    }
+
+    @Test
+    public void testEmptyList() {
+        assertTrue(list.isEmpty());
+        assertEquals(0, list.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(0));
+    }
+
+    @Test
+    public void testAddAndGet() {
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+        }
+        list.add(0, -1);
+        list.add(101, 100);
+
+        assertEquals(102, list.size());
+        assertEquals(-1, list.get(0));
+        assertEquals(0, list.get(1));
+        assertEquals(100, list.get(101));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add(200, 1));
+    }
+
+    @Test
+    public void testSetAndContains() {
+        list.add(1);
+        list.add(2);
+
+        assertEquals(2, list.set(1, 7));
+        assertEquals(7, list.get(1));
+        assertTrue(list.contains(7));
+        assertFalse(list.contains(2));
+        assertEquals(1, list.indexOf(7));
+    }
+
+    @Test
+    public void testContainsUsesDoubleEquality() {
+        list.add(Double.NaN);
+        list.add(0.0);
+
+        assertTrue(list.contains(Double.NaN));
+        assertFalse(list.contains(-0.0));
+    }
+
+    @Test
+    public void testRemove() {
+        list.add(1);
+        list.add(2);
+        list.add(3);
+
+        assertTrue(list.removeValue(2));
+        assertFalse(list.removeValue(5));
+        assertEquals(3, list.remove(1));
+        assertArrayEquals(new double[] {1}, list.toArray());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.remove(1));
+    }
+
+    @Test
+    public void testClear() {
+        list.add(1);
+        list.clear();
+
+        assertTrue(list.isEmpty());
+        list.add(2);
+        assertEquals(2, list.get(0));
+    }
+
+    @Test
+    public void testSort() {
+        list.add(-1);
+        list.add(28);
+        list.add(3);
+        list.add(0);
+        list.add(15);
+        list.add(Double.NaN);
+        list.add(-0.0);
+
+        list.sort();
+
+        assertArrayEquals(new double[] {-1, -0.0, 0, 3, 15, 28, Double.NaN}, list.toArray());
+    }
+
+    @Test
+    public void testIterator() {
+        list.add(1);
+        list.add(2);
+        list.add(3);
+
+        PrimitiveIterator.OfDouble it = list.iterator();
+
+        assertEquals(1, it.nextDouble());
+        assertEquals(2, it.nextDouble());
+
+        it.remove();
+
+        assertEquals(2, list.size());
+        assertEquals(3, it.nextDouble());
+        assertFalse(it.hasNext());
+    }
+}
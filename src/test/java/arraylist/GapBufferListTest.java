@@ -0,0 +1,104 @@
+package arraylist;
+
+import org.arraylistandhashmap.arraylist.GapBufferList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+public class GapBufferListTest {
+
+    private GapBufferList<Integer> list;
+
+    @BeforeEach
+    public void setUp() {
+        list = new GapBufferList<>(2);
+    }
+
+    @Test
+    public void testEmptyList() {
+        assertTrue(list.isEmpty());
+        assertEquals(0, list.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add(1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new GapBufferList<>(0));
+    }
+
+    @Test
+    public void testClusteredEdits() {
+        for (int i = 0; i < 10; i++) {
+            list.add(i);
+        }
+        for (int i = 0; i < 3; i++) {
+            list.add(5 + i, 100 + i);
+        }
+        list.remove(4);
+        list.remove(3);
+
+        assertArrayEquals(new Object[] {0, 1, 2, 100, 101, 102, 5, 6, 7, 8, 9}, list.toArray());
+        assertEquals(100, list.get(3));
+        assertEquals(9, list.get(10));
+        assertEquals(20, list.capacity());
+    }
+
+    @Test
+    public void testRandomEditsMatchJdkList() {
+        List<Integer> expected = new java.util.ArrayList<>();
+        Random random = new Random(5);
+        for (int i = 0; i < 2000; i++) {
+            if (expected.isEmpty() || random.nextInt(3) > 0) {
+                int index = random.nextInt(expected.size() + 1);
+                list.add(index, i);
+                expected.add(index, i);
+            } else {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), list.remove(index));
+            }
+        }
+
+        assertEquals(expected.size(), list.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), list.get(i));
+        }
+    }
+
+    @Test
+    public void testSetContainsAndClear() {
+        list.add(1);
+        list.add(0, 2);
+
+        assertEquals(1, list.set(1, 3));
+        assertTrue(list.contains(3));
+        assertFalse(list.contains(1));
+        assertTrue(list.remove(Integer.valueOf(2)));
+        assertFalse(list.remove(Integer.valueOf(2)));
+
+        list.clear();
+        assertTrue(list.isEmpty());
+        list.add(4);
+        assertEquals(4, list.get(0));
+    }
+
+    @Test
+    public void testIterator() {
+        for (int i = 0; i < 6; i++) {
+            list.add(i);
+        }
+
+        for (Iterator<Integer> it = list.iterator(); it.hasNext();) {
+            if (it.next() % 2 == 0) {
+                it.remove();
+            }
+        }
+        assertArrayEquals(new Object[] {1, 3, 5}, list.toArray());
+    }
+}
@@ -0,0 +1,112 @@
+package arraylist;
+
+import org.arraylistandhashmap.arraylist.LongArrayList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.PrimitiveIterator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+public class LongArrayListTest {
+
+    private LongArrayList list;
+
+    @BeforeEach
+    public void setUp() {
+        list = new LongArrayList();
+    }
+
+    @Test
+    public void testEmptyList() {
+        assertTrue(list.isEmpty());
+        assertEquals(0, list.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(0));
+    }
+
+    @Test
+    public void testAddAndGet() {
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+        }
+        list.add(0, -1);
+        list.add(101, 100);
+
+        assertEquals(102, list.size());
+        assertEquals(-1, list.get(0));
+        assertEquals(0, list.get(1));
+        assertEquals(100, list.get(101));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add(200, 1));
+    }
+
+    @Test
+    public void testSetAndContains() {
+        list.add(1);
+        list.add(2);
+
+        assertEquals(2, list.set(1, 7));
+        assertEquals(7, list.get(1));
+        assertTrue(list.contains(7));
+        assertFalse(list.contains(2));
+        assertEquals(1, list.indexOf(7));
+    }
+
+    @Test
+    public void testRemove() {
+        list.add(1);
+        list.add(2);
+        list.add(3);
+
+        assertTrue(list.removeValue(2));
+        assertFalse(list.removeValue(5));
+        assertEquals(3, list.remove(1));
+        assertArrayEquals(new long[] {1}, list.toArray());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.remove(1));
+    }
+
+    @Test
+    public void testClear() {
+        list.add(1);
+        list.clear();
+
+        assertTrue(list.isEmpty());
+        list.add(2);
+        assertEquals(2, list.get(0));
+    }
+
+    @Test
+    public void testSort() {
+        list.add(-1);
+        list.add(28);
+        list.add(3);
+        list.add(0);
+        list.add(15);
+
+        list.sort();
+
+        assertArrayEquals(new long[] {-1, 0, 3, 15, 28}, list.toArray());
+    }
+
+    @Test
+    public void testIterator() {
+        list.add(1);
+        list.add(2);
+        list.add(3);
+
+        PrimitiveIterator.OfLong it = list.iterator();
+
+        assertEquals(1, it.nextLong());
+        assertEquals(2, it.nextLong());
+
+        it.remove();
+
+        assertEquals(2, list.size());
+        assertEquals(3, it.nextLong());
+        assertFalse(it.hasNext());
+    }
+}
@@ -0,0 +1,110 @@
+package arraylist;
+
+import org.arraylistandhashmap.arraylist.RingBufferList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+public class RingBufferListTest {
+
+    private RingBufferList<Integer> list;
+
+    @BeforeEach
+    public void setUp() {
+        list = new RingBufferList<>(4);
+    }
+
+    @Test
+    public void testEmptyList() {
+        assertTrue(list.isEmpty());
+        assertEquals(4, list.capacity());
+        assertEquals(8, new RingBufferList<>(5).capacity());
+        assertThrows(NoSuchElementException.class, () -> list.removeFirst());
+        assertThrows(NoSuchElementException.class, () -> list.getLast());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(0));
+    }
+
+    @Test
+    public void testQueueAtBothEnds() {
+        for (int i = 0; i < 3; i++) {
+            list.addLast(i);
+            list.addFirst(-i - 1);
+        }
+
+        assertArrayEquals(new Object[] {-3, -2, -1, 0, 1, 2}, list.toArray());
+        assertEquals(8, list.capacity());
+        assertEquals(-3, list.removeFirst());
+        assertEquals(2, list.removeLast());
+        assertEquals(-2, list.getFirst());
+        assertEquals(1, list.getLast());
+        assertEquals(4, list.size());
+    }
+
+    @Test
+    public void testWrapsAroundWithoutGrowing() {
+        for (int i = 0; i < 1000; i++) {
+            list.add(i);
+            if (list.size() > 3) {
+                assertEquals(i - 3, list.removeFirst());
+            }
+        }
+
+        assertEquals(4, list.capacity());
+        assertArrayEquals(new Object[] {997, 998, 999}, list.toArray());
+        assertEquals(998, list.get(1));
+    }
+
+    @Test
+    public void testAddAndRemoveInTheMiddle() {
+        for (int i = 0; i < 10; i++) {
+            list.addFirst(i);
+        }
+        list.add(2, 100);
+        list.add(9, 200);
+
+        assertArrayEquals(new Object[] {9, 8, 100, 7, 6, 5, 4, 3, 2, 200, 1, 0}, list.toArray());
+        assertEquals(100, list.remove(2));
+        assertEquals(200, list.remove(8));
+        assertTrue(list.remove(Integer.valueOf(5)));
+        assertFalse(list.remove(Integer.valueOf(5)));
+        assertArrayEquals(new Object[] {9, 8, 7, 6, 4, 3, 2, 1, 0}, list.toArray());
+    }
+
+    @Test
+    public void testSetContainsAndClear() {
+        list.add(1);
+        list.addFirst(2);
+
+        assertEquals(1, list.set(1, 3));
+        assertTrue(list.contains(3));
+        assertFalse(list.contains(1));
+
+        list.clear();
+        assertTrue(list.isEmpty());
+        list.add(4);
+        assertEquals(4, list.getFirst());
+    }
+
+    @Test
+    public void testIterator() {
+        for (int i = 0; i < 6; i++) {
+            list.addFirst(i);
+        }
+
+        for (Iterator<Integer> it = list.iterator(); it.hasNext();) {
+            if (it.next() % 2 == 0) {
+                it.remove();
+            }
+        }
+        assertArrayEquals(new Object[] {5, 3, 1}, list.toArray());
+    }
+}
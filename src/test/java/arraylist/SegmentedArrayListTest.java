@@ -0,0 +1,173 @@
+package arraylist;
+
+import org.arraylistandhashmap.arraylist.SegmentedArrayList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+public class SegmentedArrayListTest {
+
+    private static final int CHUNK_SIZE = 8;
+
+    private SegmentedArrayList<Integer> list;
+
+    @BeforeEach
+    public void setUp() {
+        list = new SegmentedArrayList<>(1, CHUNK_SIZE);
+    }
+
+    @Test
+    public void testEmptyList() {
+        assertTrue(list.isEmpty());
+        assertEquals(0, list.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(0));
+        assertThrows(IllegalArgumentException.class, () -> new SegmentedArrayList<>(10, 12));
+        assertThrows(IllegalArgumentException.class, () -> new SegmentedArrayList<>(0));
+    }
+
+    @Test
+    public void testAddAndGetAcrossChunks() {
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+        }
+
+        assertEquals(100, list.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, list.get(i));
+        }
+        assertEquals(104, list.capacity());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(100));
+    }
+
+    @Test
+    public void testFirstChunkGrowsUpToChunkSize() {
+        SegmentedArrayList<Integer> large = new SegmentedArrayList<>(2, 1 << 10);
+        for (int i = 0; i < 1500; i++) {
+            large.add(i);
+        }
+
+        assertEquals(2048, large.capacity());
+        large.trimToSize();
+        assertEquals(2048, large.capacity());
+
+        large.clear();
+        large.add(1);
+        large.trimToSize();
+        assertEquals(1, large.capacity());
+    }
+
+    @Test
+    public void testAddAndRemoveAtIndex() {
+        List<Integer> expected = new java.util.ArrayList<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 500; i++) {
+            int index = random.nextInt(expected.size() + 1);
+            list.add(index, i);
+            expected.add(index, i);
+        }
+        for (int i = 0; i < 200; i++) {
+            int index = random.nextInt(expected.size());
+            assertEquals(expected.remove(index), list.remove(index));
+        }
+
+        assertArrayEquals(expected.toArray(), list.toArray());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add(-1, 0));
+    }
+
+    @Test
+    public void testContainsRemoveAndSet() {
+        for (int i = 0; i < 20; i++) {
+            list.add(i);
+        }
+
+        assertTrue(list.contains(17));
+        assertFalse(list.contains(20));
+        assertTrue(list.remove(Integer.valueOf(9)));
+        assertFalse(list.remove(Integer.valueOf(9)));
+        assertEquals(10, list.get(9));
+        assertEquals(10, list.set(9, 42));
+        assertEquals(42, list.get(9));
+    }
+
+    @Test
+    public void testAddAllAndBulkRemovals() {
+        list.addAll(IntStream.range(0, 30).boxed().toList());
+        list.addAll(list);
+
+        assertEquals(60, list.size());
+        assertEquals(29, list.get(59));
+
+        assertTrue(list.removeIf(i -> i % 2 == 0));
+        assertTrue(list.removeAll(List.of(1, 3, 5)));
+        assertTrue(list.retainAll(IntStream.range(0, 20).boxed().toList()));
+        assertArrayEquals(new Object[] {7, 9, 11, 13, 15, 17, 19, 7, 9, 11, 13, 15, 17, 19}, list.toArray());
+    }
+
+    @Test
+    public void testSorts() {
+        Random random = new Random(11);
+        for (int i = 0; i < 1000; i++) {
+            list.add(random.nextInt(100));
+        }
+
+        list.quickSort();
+        assertSorted(Comparator.naturalOrder());
+        list.sort(Comparator.reverseOrder());
+        assertSorted(Comparator.reverseOrder());
+        list.parallelSort(null);
+        assertSorted(Comparator.naturalOrder());
+    }
+
+    private void assertSorted(Comparator<Integer> comparator) {
+        for (int i = 1; i < list.size(); i++) {
+            assertTrue(comparator.compare(list.get(i - 1), list.get(i)) <= 0);
+        }
+    }
+
+    @Test
+    public void testParallelOperations() {
+        SegmentedArrayList<Integer> large = new SegmentedArrayList<>(1, 1 << 10);
+        for (int i = 0; i < 100_000; i++) {
+            large.add(i);
+        }
+
+        large.parallelReplaceAll(i -> i * 2);
+        assertEquals(199_998, large.get(99_999));
+        assertTrue(large.parallelRemoveIf(i -> i % 4 == 0));
+        assertEquals(50_000, large.size());
+        assertEquals(2, large.get(0));
+        assertEquals(50_000L, large.parallelStream().count());
+        assertEquals(large.stream().mapToLong(i -> i).sum(), large.parallelStream().mapToLong(i -> i).sum());
+    }
+
+    @Test
+    public void testIterator() {
+        for (int i = 0; i < 20; i++) {
+            list.add(i);
+        }
+
+        int expected = 0;
+        for (Iterator<Integer> it = list.iterator(); it.hasNext();) {
+            int element = it.next();
+            assertEquals(expected++, element);
+            if (element % 2 == 1) {
+                it.remove();
+            }
+        }
+
+        assertEquals(10, list.size());
+        assertEquals(18, list.get(9));
+    }
+}
@@ -0,0 +1,187 @@
+package hashmap;
+
+import org.arraylistandhashmap.hashmap.CacheHashMap;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+
+public class CacheHashMapTest {
+
+    private CacheHashMap<Integer, String> cache;
+
+    @BeforeEach
+    public void setUp() {
+        cache = new CacheHashMap<>(3);
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        cache.put(1, "one");
+        cache.put(2, "two");
+        cache.put(3, "three");
+        cache.get(1);
+        cache.put(4, "four");
+
+        assertEquals(3, cache.size());
+        assertFalse(cache.containsKey(2));
+        assertTrue(cache.containsKey(1));
+        assertEquals(1, cache.evictionCount());
+
+        cache.put(3, "THREE");
+        cache.put(5, "five");
+        assertFalse(cache.containsKey(1));
+        assertEquals("THREE", cache.get(3));
+    }
+
+    @Test
+    public void testStatistics() {
+        cache.put(1, "one");
+
+        assertEquals("one", cache.get(1));
+        assertNull(cache.get(2));
+        assertEquals("none", cache.getOrDefault(3, "none"));
+        assertEquals(1, cache.hitCount());
+        assertEquals(2, cache.missCount());
+        assertEquals(1.0 / 3, cache.hitRate(), 1e-9);
+
+        cache.clear();
+        assertTrue(cache.isEmpty());
+        assertEquals(0, cache.weightedSize());
+        assertEquals(1, cache.hitCount());
+    }
+
+    @Test
+    public void testWeigher() {
+        CacheHashMap<Integer, String> weighted = new CacheHashMap<>(10, CacheHashMap.Policy.LRU,
+                (key, value) -> value.length());
+        weighted.put(1, "aaaa");
+        weighted.put(2, "bbbb");
+        assertEquals(8, weighted.weightedSize());
+
+        weighted.put(1, "a");
+        assertEquals(5, weighted.weightedSize());
+
+        weighted.put(3, "cccccc");
+        assertEquals(2, weighted.size());
+        assertFalse(weighted.containsKey(2));
+        assertEquals(7, weighted.weightedSize());
+
+        weighted.put(4, "too heavy to be cached");
+        assertFalse(weighted.containsKey(4));
+        assertThrows(IllegalArgumentException.class, () -> new CacheHashMap<>(-1));
+    }
+
+    @Test
+    public void testOversizedMappingsEvictOnlyThemselves() {
+        for (CacheHashMap.Policy policy : CacheHashMap.Policy.values()) {
+            CacheHashMap<Integer, Integer> weighted = new CacheHashMap<>(1000, policy, (key, value) -> value);
+            for (int i = 0; i < 100; i++) {
+                weighted.put(i, 5);
+            }
+
+            assertNull(weighted.put(100, 2000));
+            assertFalse(weighted.containsKey(100));
+            assertEquals(100, weighted.size());
+            assertEquals(500, weighted.weightedSize());
+            assertEquals(1, weighted.evictionCount());
+
+            // a value too heavy for an existing key evicts that mapping only
+            assertEquals(5, weighted.put(7, 2000));
+            assertFalse(weighted.containsKey(7));
+            assertEquals(99, weighted.size());
+            assertEquals(495, weighted.weightedSize());
+            assertEquals(2, weighted.evictionCount());
+
+            weighted.put(7, 5);
+            assertEquals(100, weighted.size());
+            assertEquals(5, weighted.get(7));
+        }
+    }
+
+    @Test
+    public void testRemovalsKeepTheAccounting() {
+        cache.put(1, "one");
+        cache.put(2, "two");
+        cache.put(3, "three");
+        cache.remove(2);
+
+        for (Iterator<Integer> it = cache.keySet().iterator(); it.hasNext();) {
+            if (it.next() == 3) {
+                it.remove();
+            }
+        }
+
+        assertEquals(1, cache.weightedSize());
+        cache.put(4, "four");
+        cache.put(5, "five");
+        assertEquals(3, cache.size());
+        assertEquals(0, cache.evictionCount());
+    }
+
+    @Test
+    public void testOrderSurvivesTreeBuckets() {
+        CacheHashMap<CollidingKey, Integer> colliding = new CacheHashMap<>(40);
+        for (int i = 0; i < 40; i++) {
+            colliding.put(new CollidingKey(i), i);
+        }
+        colliding.get(new CollidingKey(0));
+        colliding.put(new CollidingKey(40), 40);
+
+        assertTrue(colliding.containsKey(new CollidingKey(0)));
+        assertFalse(colliding.containsKey(new CollidingKey(1)));
+
+        for (int i = 2; i < 36; i++) {
+            colliding.remove(new CollidingKey(i));
+        }
+        for (int i = 41; i < 75; i++) {
+            colliding.put(new CollidingKey(i), i);
+        }
+        colliding.get(new CollidingKey(36));
+        colliding.put(new CollidingKey(75), 75);
+
+        assertFalse(colliding.containsKey(new CollidingKey(37)));
+        assertTrue(colliding.containsKey(new CollidingKey(36)));
+        assertTrue(colliding.containsKey(new CollidingKey(0)));
+        assertEquals(40, colliding.size());
+    }
+
+    @Test
+    public void testTinyLfuKeepsFrequentKeysDuringAScan() {
+        CacheHashMap<Integer, Integer> lfu = new CacheHashMap<>(100, CacheHashMap.Policy.W_TINY_LFU);
+        CacheHashMap<Integer, Integer> lru = new CacheHashMap<>(100, CacheHashMap.Policy.LRU);
+
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < 50; i++) {
+                request(lfu, i);
+                request(lru, i);
+            }
+        }
+        for (int i = 1000; i < 20_000; i++) {
+            request(lfu, i);
+            request(lru, i);
+        }
+
+        int lfuHot = 0;
+        int lruHot = 0;
+        for (int i = 0; i < 50; i++) {
+            lfuHot += lfu.containsKey(i) ? 1 : 0;
+            lruHot += lru.containsKey(i) ? 1 : 0;
+        }
+
+        assertTrue(lfuHot >= 45);
+        assertEquals(0, lruHot);
+        assertEquals(100, lfu.size());
+    }
+
+    private static void request(CacheHashMap<Integer, Integer> map, int key) {
+        if (map.get(key) == null) {
+            map.put(key, key);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package hashmap;
+
+/**
+ * A comparable key whose hash code is the parity of its id,
+ * so that the keys of a test pile up in two buckets.
+ */
+final class CollidingKey implements Comparable<CollidingKey> {
+    private final int id;
+
+    CollidingKey(int id) {
+        this.id = id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof CollidingKey other && other.id == id;
+    }
+
+    @Override
+    public int hashCode() {
+        return id % 2;
+    }
+
+    @Override
+    public int compareTo(CollidingKey other) {
+        return Integer.compare(id, other.id);
+    }
+}
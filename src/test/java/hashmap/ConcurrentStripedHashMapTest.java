@@ -0,0 +1,123 @@
+package hashmap;
+
+import org.arraylistandhashmap.hashmap.ConcurrentStripedHashMap;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+public class ConcurrentStripedHashMapTest {
+
+    private static final int THREADS = 8;
+    private static final int KEYS_PER_THREAD = 10000;
+
+    private ConcurrentStripedHashMap<Integer, String> hashMap;
+
+    @BeforeEach
+    public void setUp() {
+        hashMap = new ConcurrentStripedHashMap<>();
+    }
+
+    @Test
+    public void testEmptyHashMap() {
+        assertTrue(hashMap.isEmpty());
+        assertEquals(0, hashMap.size());
+        assertNull(hashMap.get(1));
+    }
+
+    @Test
+    public void testIllegalArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentStripedHashMap<>(-1));
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentStripedHashMap<>(16, 0.75f, 0));
+    }
+
+    @Test
+    public void testPutGetAndRemove() {
+        hashMap.put(1, "one");
+        hashMap.put(2, "two");
+        hashMap.put(null, "null");
+
+        assertEquals(3, hashMap.size());
+        assertEquals("one", hashMap.put(1, "uno"));
+        assertEquals("uno", hashMap.get(1));
+        assertEquals("null", hashMap.get(null));
+        assertTrue(hashMap.containsKey(null));
+        assertTrue(hashMap.containsValue("two"));
+        assertEquals("default", hashMap.getOrDefault(3, "default"));
+
+        assertEquals("two", hashMap.remove(2));
+        assertNull(hashMap.remove(2));
+        assertFalse(hashMap.containsKey(2));
+        assertEquals(2, hashMap.size());
+    }
+
+    @Test
+    public void testClearAndKeySet() {
+        hashMap.put(1, "one");
+        hashMap.put(2, "two");
+        hashMap.put(3, "three");
+
+        assertEquals(Set.of(1, 2, 3), hashMap.keySet());
+
+        hashMap.clear();
+
+        assertTrue(hashMap.isEmpty());
+        assertNull(hashMap.get(1));
+    }
+
+    @Test
+    public void testSingleStripe() {
+        ConcurrentStripedHashMap<Integer, String> map = new ConcurrentStripedHashMap<>(0, 0.75f, 1);
+
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, String.valueOf(i));
+        }
+
+        assertEquals(1000, map.size());
+        assertEquals("999", map.get(999));
+    }
+
+    @Test
+    public void testConcurrentWriters() throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            int offset = t * KEYS_PER_THREAD;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = offset; i < offset + KEYS_PER_THREAD; i++) {
+                    hashMap.put(i, String.valueOf(i));
+                }
+                for (int i = offset; i < offset + KEYS_PER_THREAD; i += 2) {
+                    hashMap.remove(i);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(THREADS * KEYS_PER_THREAD / 2, hashMap.size());
+        for (int i = 0; i < THREADS * KEYS_PER_THREAD; i++) {
+            assertEquals(i % 2 == 0 ? null : String.valueOf(i), hashMap.get(i));
+        }
+    }
+}
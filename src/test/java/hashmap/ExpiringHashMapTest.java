@@ -0,0 +1,167 @@
+package hashmap;
+
+import org.arraylistandhashmap.hashmap.ExpiringHashMap;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class ExpiringHashMapTest {
+
+    private long time;
+
+    private ExpiringHashMap<Integer, String> map;
+
+    @BeforeEach
+    public void setUp() {
+        time = 1_000;
+        map = new ExpiringHashMap<>(10, TimeUnit.SECONDS, ExpiringHashMap.Expiration.AFTER_WRITE, () -> time);
+    }
+
+    @Test
+    public void testExpiresAfterWrite() {
+        map.put(1, "one");
+        advance(9, TimeUnit.SECONDS);
+        assertEquals("one", map.get(1));
+
+        advance(1, TimeUnit.SECONDS);
+        assertNull(map.get(1));
+        assertFalse(map.containsKey(1));
+        assertEquals(0, map.size());
+        assertEquals(1, map.expiredCount());
+    }
+
+    @Test
+    public void testWriteRenewsTheMapping() {
+        map.put(1, "one");
+        advance(8, TimeUnit.SECONDS);
+        assertEquals("one", map.put(1, "ONE"));
+
+        advance(8, TimeUnit.SECONDS);
+        assertEquals("ONE", map.getOrDefault(1, "none"));
+        advance(2, TimeUnit.SECONDS);
+        assertEquals("none", map.getOrDefault(1, "none"));
+    }
+
+    @Test
+    public void testPerEntryDuration() {
+        map.put(1, "one", 1, TimeUnit.MINUTES);
+        map.put(2, "two", 500, TimeUnit.MILLISECONDS);
+        map.put(3, "three");
+
+        advance(1, TimeUnit.SECONDS);
+        assertFalse(map.containsKey(2));
+        advance(30, TimeUnit.SECONDS);
+        assertFalse(map.containsKey(3));
+        assertEquals("one", map.get(1));
+        advance(30, TimeUnit.SECONDS);
+        assertNull(map.get(1));
+
+        assertThrows(IllegalArgumentException.class, () -> map.put(4, "four", 0, TimeUnit.SECONDS));
+        assertThrows(IllegalArgumentException.class, () -> new ExpiringHashMap<>(-1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testWritesTreatExpiredMappingsAsAbsent() {
+        map.put(1, "one");
+        map.put(2, "two");
+        map.put(3, "three");
+        advance(10, TimeUnit.SECONDS);
+
+        assertNull(map.put(1, "ONE"));
+        assertEquals("TWO", map.computeIfAbsent(2, key -> "TWO"));
+        assertEquals("1", map.merge(3, "1", String::concat));
+        assertEquals("11", map.merge(3, "1", String::concat));
+
+        advance(9, TimeUnit.SECONDS);
+        assertEquals("ONE", map.get(1));
+        assertEquals("TWO", map.get(2));
+        advance(1, TimeUnit.SECONDS);
+        assertNull(map.computeIfPresent(1, (key, value) -> value + "!"));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testExpiresAfterAccess() {
+        ExpiringHashMap<Integer, String> sessions = new ExpiringHashMap<>(10, TimeUnit.SECONDS,
+                ExpiringHashMap.Expiration.AFTER_ACCESS, () -> time);
+        sessions.put(1, "one");
+        sessions.put(2, "two");
+
+        for (int i = 0; i < 5; i++) {
+            advance(6, TimeUnit.SECONDS);
+            assertEquals("one", sessions.get(1));
+        }
+
+        assertTrue(sessions.containsKey(1));
+        assertFalse(sessions.containsKey(2));
+        advance(10, TimeUnit.SECONDS);
+        assertNull(sessions.get(1));
+    }
+
+    @Test
+    public void testWheelRemovesTheExpiredMappings() {
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, "value", 1 + i % 100, TimeUnit.SECONDS);
+        }
+
+        advance(50, TimeUnit.SECONDS);
+        map.cleanUp();
+        assertEquals(500, map.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i % 100 >= 50, map.containsKey(i));
+        }
+
+        advance(2, TimeUnit.HOURS);
+        map.put(-1, "fresh");
+        assertEquals(1, map.size());
+        assertEquals(1000, map.expiredCount());
+        assertEquals("fresh", map.get(-1));
+    }
+
+    @Test
+    public void testRemoveAndClearUnscheduleTheMappings() {
+        map.put(1, "one");
+        map.put(2, "two");
+        assertEquals("one", map.remove(1));
+        map.clear();
+        map.put(3, "three");
+
+        advance(1, TimeUnit.MINUTES);
+        map.cleanUp();
+        assertTrue(map.isEmpty());
+        assertEquals(1, map.expiredCount());
+    }
+
+    @Test
+    public void testTreeBucketsExpire() {
+        ExpiringHashMap<CollidingKey, Integer> colliding = new ExpiringHashMap<>(10, TimeUnit.SECONDS,
+                ExpiringHashMap.Expiration.AFTER_WRITE, () -> time);
+        for (int i = 0; i < 40; i++) {
+            colliding.put(new CollidingKey(i), i);
+        }
+
+        advance(5, TimeUnit.SECONDS);
+        for (int i = 40; i < 60; i++) {
+            colliding.put(new CollidingKey(i), i);
+        }
+        for (int i = 0; i < 30; i++) {
+            colliding.remove(new CollidingKey(i));
+        }
+
+        advance(6, TimeUnit.SECONDS);
+        colliding.cleanUp();
+        assertEquals(20, colliding.size());
+        assertEquals(10, colliding.expiredCount());
+        assertEquals(45, colliding.get(new CollidingKey(45)));
+    }
+
+    private void advance(long duration, TimeUnit unit) {
+        time += unit.toNanos(duration);
+    }
+}
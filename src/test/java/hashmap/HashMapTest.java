@@ -1,15 +1,32 @@
 package hashmap;
 
 import org.arraylistandhashmap.hashmap.HashMap;
+import org.arraylistandhashmap.hashmap.MappedHashMap;
+import org.arraylistandhashmap.hashmap.Serializer;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
 import java.util.Set;
+import java.util.Spliterator;
 
 public class HashMapTest {
 
@@ -119,4 +136,553 @@ public class HashMapTest {
             assertEquals(String.valueOf(i), hashMap.get(i));
         }
     }
+
+    @Test
+    public void incrementalResize() {
+        HashMap<Integer, String> incremental = new HashMap<>(16, 0.75f, true);
+
+        for (int i = 0; i < 1000; i++) {
+            incremental.put(i, String.valueOf(i));
+
+            // every key stays reachable while the buckets are being migrated
+            assertEquals(String.valueOf(i / 2), incremental.get(i / 2));
+        }
+
+        for (int i = 0; i < 1000; i += 2) {
+            assertEquals(String.valueOf(i), incremental.remove(i));
+        }
+
+        assertEquals(500, incremental.size());
+        assertEquals(500, incremental.keySet().size());
+        assertTrue(incremental.containsValue("999"));
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i % 2 == 0 ? null : String.valueOf(i), incremental.get(i));
+        }
+    }
+
+    @Test
+    public void incrementalResizeWithSmallLoadFactor() {
+        // with a load factor of 0.1 a 16 bucket table is resized after only one put
+        HashMap<Integer, String> incremental = new HashMap<>(16, 0.1f, true);
+
+        for (int i = 0; i < 5000; i++) {
+            incremental.put(i, String.valueOf(i));
+            assertEquals(String.valueOf(i / 3), incremental.get(i / 3));
+
+            if (i % 3 == 0) {
+                assertEquals(String.valueOf(i / 2), incremental.remove(i / 2));
+                incremental.put(i / 2, String.valueOf(i / 2));
+            }
+        }
+
+        assertEquals(5000, incremental.size());
+        for (int i = 0; i < 5000; i++) {
+            assertEquals(String.valueOf(i), incremental.get(i));
+        }
+    }
+
+    @Test
+    public void negativeHashCodes() {
+        for (int i = -500; i < 500; i++) {
+            hashMap.put(i, String.valueOf(i));
+        }
+
+        assertEquals(1000, hashMap.size());
+        assertEquals("-500", hashMap.get(-500));
+        assertEquals("-1", hashMap.remove(-1));
+        assertNull(hashMap.get(-1));
+    }
+
+    @Test
+    public void customCapacityAndLoadFactor() {
+        HashMap<Integer, String> zeroCapacity = new HashMap<>(0);
+        HashMap<Integer, String> dense = new HashMap<>(3, 4.0f);
+        HashMap<Integer, String> sparse = new HashMap<>(100, 0.25f);
+
+        for (int i = 0; i < 1000; i++) {
+            zeroCapacity.put(i * 64, String.valueOf(i));
+            dense.put(i * 64, String.valueOf(i));
+            sparse.put(i * 64, String.valueOf(i));
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(String.valueOf(i), zeroCapacity.get(i * 64));
+            assertEquals(String.valueOf(i), dense.get(i * 64));
+            assertEquals(String.valueOf(i), sparse.get(i * 64));
+        }
+    }
+
+    @Test
+    public void treeifiedBuckets() {
+        HashMap<Object, Integer> colliding = new HashMap<>();
+
+        // half of the keys are comparable, half are not, and all of them share one bucket
+        for (int i = 0; i < 1000; i++) {
+            colliding.put(new NonComparableKey(i), i);
+            colliding.put(new ComparableKey(i), i);
+        }
+
+        assertEquals(2000, colliding.size());
+
+        for (int i = 0; i < 1000; i += 2) {
+            assertEquals(i, colliding.remove(new NonComparableKey(i)));
+            assertEquals(i, colliding.remove(new ComparableKey(i)));
+        }
+
+        assertEquals(1000, colliding.size());
+        assertEquals(1000, colliding.keySet().size());
+
+        for (int i = 0; i < 1000; i++) {
+            Integer expected = i % 2 == 0 ? null : i;
+            assertEquals(expected, colliding.get(new NonComparableKey(i)));
+            assertEquals(expected, colliding.get(new ComparableKey(i)));
+        }
+
+        // shrinking the tree turns the bucket back into a chain
+        for (int i = 1; i < 1000; i += 2) {
+            colliding.remove(new NonComparableKey(i));
+            colliding.remove(new ComparableKey(i));
+        }
+
+        assertTrue(colliding.isEmpty());
+        colliding.put(new NonComparableKey(1), 1);
+        assertEquals(1, colliding.get(new NonComparableKey(1)));
+    }
+
+    @Test
+    public void treeifiesOnlyChainsLongerThanEight() {
+        int[] comparisons = new int[1];
+        HashMap<RankedKey, Integer> colliding = new HashMap<>(64);
+
+        // the keys of a chain are only compared with equals
+        for (int i = 0; i < 8; i++) {
+            colliding.put(new RankedKey(i, comparisons), i);
+        }
+        assertEquals(0, comparisons[0]);
+
+        // the ninth key turns the bucket into a tree, ordered with compareTo
+        colliding.put(new RankedKey(8, comparisons), 8);
+        assertTrue(comparisons[0] > 0);
+
+        assertEquals(9, colliding.size());
+        for (int i = 0; i < 9; i++) {
+            assertEquals(i, colliding.get(new RankedKey(i, comparisons)));
+        }
+
+        // the compute methods treeify at the same length
+        comparisons[0] = 0;
+        HashMap<RankedKey, Integer> computed = new HashMap<>(64);
+        for (int i = 0; i < 8; i++) {
+            computed.computeIfAbsent(new RankedKey(i, comparisons), RankedKey::id);
+        }
+        assertEquals(0, comparisons[0]);
+        computed.merge(new RankedKey(8, comparisons), 8, Integer::sum);
+        assertTrue(comparisons[0] > 0);
+    }
+
+    @Test
+    public void snapshotSaveAndLoad(@TempDir Path directory) throws IOException {
+        for (int i = 0; i < 1000; i++) {
+            hashMap.put(i, "value" + i);
+        }
+        hashMap.put(null, "null key");
+        hashMap.put(1000, null);
+
+        Path file = directory.resolve("map.snapshot");
+        hashMap.save(file, Serializer.ofInteger(), Serializer.ofString());
+        MappedHashMap<Integer, String> snapshot = HashMap.load(file, Serializer.ofInteger(), Serializer.ofString());
+
+        assertEquals(1002, snapshot.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("value" + i, snapshot.get(i));
+        }
+        assertEquals("null key", snapshot.get(null));
+        assertNull(snapshot.get(1000));
+        assertTrue(snapshot.containsKey(1000));
+        assertFalse(snapshot.containsKey(1001));
+        assertEquals("default", snapshot.getOrDefault(1001, "default"));
+        assertEquals(hashMap.keySet(), snapshot.keySet());
+
+        HashMap<Integer, String> restored = snapshot.toHashMap();
+        assertEquals(1002, restored.size());
+        assertEquals("value999", restored.get(999));
+    }
+
+    @Test
+    public void snapshotRejectsOtherFiles(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("map.snapshot");
+        Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16});
+
+        assertThrows(IOException.class, () -> HashMap.load(file, Serializer.ofInteger(), Serializer.ofString()));
+    }
+
+    @Test
+    public void snapshotDetectsCorruptedOffsetsAndLengths(@TempDir Path directory) throws IOException {
+        for (int i = 0; i < 100; i++) {
+            hashMap.put(i, "value" + i);
+        }
+        Path file = directory.resolve("map.snapshot");
+        hashMap.save(file, Serializer.ofInteger(), Serializer.ofString());
+        byte[] snapshot = Files.readAllBytes(file);
+        int records = 16 + 129 * 4;
+
+        // the offsets of the buckets 0, 1 and 2 follow the 16 bytes of the header,
+        // and the key length of the first record follows its hash
+        int[][] corruptions = {
+            {16, 0}, {20, snapshot.length + 1}, {24, ByteBuffer.wrap(snapshot).getInt(20) - 1}, {records + 4, 1 << 20}
+        };
+        for (int[] corruption : corruptions) {
+            byte[] corrupted = snapshot.clone();
+            ByteBuffer.wrap(corrupted).putInt(corruption[0], corruption[1]);
+            Files.write(file, corrupted);
+
+            MappedHashMap<Integer, String> mapped = HashMap.load(file, Serializer.ofInteger(), Serializer.ofString());
+            assertThrows(UncheckedIOException.class, () -> {
+                for (int i = 0; i < 10_000; i++) {
+                    mapped.get(i);
+                }
+            });
+        }
+
+        // the end of the last bucket is still checked when the snapshot is opened
+        byte[] truncated = Arrays.copyOf(snapshot, snapshot.length - 1);
+        Files.write(file, truncated);
+        assertThrows(IOException.class, () -> HashMap.load(file, Serializer.ofInteger(), Serializer.ofString()));
+    }
+
+    @Test
+    public void streams() {
+        HashMap<Integer, Integer> map = new HashMap<>(16, 0.75f, true);
+        for (int i = 0; i < 100_000; i++) {
+            map.put(i, i * 2);
+        }
+
+        assertEquals(100_000L, map.stream().count());
+        assertEquals(9_999_900_000L, map.parallelStream().mapToLong(Map.Entry::getValue).sum());
+        assertEquals(100_000L, map.parallelStream().map(Map.Entry::getKey).distinct().count());
+        assertTrue(map.stream().anyMatch(entry -> entry.equals(new AbstractMap.SimpleEntry<>(7, 14))));
+    }
+
+    @Test
+    public void spliteratorSplitsBucketRanges() {
+        for (int i = 0; i < 64; i++) {
+            hashMap.put(i, "value" + i);
+        }
+
+        Spliterator<Map.Entry<Integer, String>> second = hashMap.spliterator();
+        assertTrue(second.hasCharacteristics(Spliterator.SIZED));
+        assertEquals(64, second.estimateSize());
+
+        Spliterator<Map.Entry<Integer, String>> first = second.trySplit();
+        assertFalse(second.hasCharacteristics(Spliterator.SIZED));
+
+        Set<Integer> keys = new HashSet<>();
+        first.forEachRemaining(entry -> keys.add(entry.getKey()));
+        second.forEachRemaining(entry -> keys.add(entry.getKey()));
+        assertEquals(hashMap.keySet(), keys);
+    }
+
+    @Test
+    public void liveViews() {
+        Set<Integer> keys = hashMap.keySet();
+        Collection<String> values = hashMap.values();
+        Set<Map.Entry<Integer, String>> entries = hashMap.entrySet();
+
+        hashMap.put(1, "one");
+        hashMap.put(2, "two");
+        hashMap.put(3, null);
+
+        assertEquals(Set.of(1, 2, 3), keys);
+        assertEquals(3, values.size());
+        assertTrue(values.contains(null));
+        assertTrue(keys.contains(3));
+        assertTrue(entries.contains(new AbstractMap.SimpleEntry<>(2, "two")));
+        assertFalse(entries.contains(new AbstractMap.SimpleEntry<>(2, "three")));
+
+        assertTrue(keys.remove(3));
+        assertFalse(keys.remove(3));
+        assertTrue(values.remove("two"));
+        assertEquals(Set.of(1), keys);
+
+        for (Map.Entry<Integer, String> entry : entries) {
+            entry.setValue("ONE");
+        }
+        assertEquals("ONE", hashMap.get(1));
+
+        entries.clear();
+        assertTrue(hashMap.isEmpty());
+    }
+
+    @Test
+    public void viewIteratorsRemoveAndFailFast() {
+        for (int i = 0; i < 1000; i++) {
+            hashMap.put(i, "value" + i);
+        }
+
+        for (Iterator<Integer> it = hashMap.keySet().iterator(); it.hasNext();) {
+            if (it.next() % 2 == 0) {
+                it.remove();
+            }
+        }
+        assertEquals(500, hashMap.size());
+        assertNull(hashMap.get(0));
+        assertEquals("value1", hashMap.get(1));
+
+        Iterator<String> values = hashMap.values().iterator();
+        values.next();
+        hashMap.put(-1, "new");
+        assertThrows(ConcurrentModificationException.class, values::next);
+
+        Iterator<Map.Entry<Integer, String>> entries = hashMap.entrySet().iterator();
+        assertThrows(IllegalStateException.class, entries::remove);
+    }
+
+    @Test
+    public void iteratorRemovesFromTreeBuckets() {
+        HashMap<Object, Integer> colliding = new HashMap<>();
+        for (int i = 0; i < 200; i++) {
+            colliding.put(new ComparableKey(i), i);
+        }
+
+        int seen = 0;
+        for (Iterator<Map.Entry<Object, Integer>> it = colliding.entrySet().iterator(); it.hasNext();) {
+            Map.Entry<Object, Integer> entry = it.next();
+            seen++;
+            if (entry.getValue() % 3 != 0) {
+                it.remove();
+            }
+        }
+
+        assertEquals(200, seen);
+        assertEquals(67, colliding.size());
+        for (int i = 0; i < 200; i++) {
+            assertEquals(i % 3 == 0 ? (Integer) i : null, colliding.get(new ComparableKey(i)));
+        }
+    }
+
+    @Test
+    public void forEachWalksAllMappings() {
+        for (int i = 0; i < 100; i++) {
+            hashMap.put(i, "value" + i);
+        }
+
+        int[] sum = new int[1];
+        hashMap.forEach((key, value) -> {
+            assertEquals("value" + key, value);
+            sum[0] += key;
+        });
+        assertEquals(4950, sum[0]);
+
+        assertThrows(ConcurrentModificationException.class, () -> hashMap.forEach((key, value) -> hashMap.remove(key)));
+    }
+
+    @Test
+    public void putAllPresizes() {
+        HashMap<Integer, String> source = new HashMap<>();
+        Map<Integer, String> jdkSource = new java.util.HashMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            source.put(i, "value" + i);
+            jdkSource.put(i + 5_000, "jdk" + i);
+        }
+
+        hashMap.putAll(source);
+        assertEquals(10_000, hashMap.size());
+        assertEquals("value9999", hashMap.get(9_999));
+
+        HashMap<Integer, String> incremental = new HashMap<>(16, 0.75f, true);
+        incremental.put(-1, "existing");
+        incremental.putAll(source);
+        incremental.putAll(jdkSource);
+
+        assertEquals(15_001, incremental.size());
+        assertEquals("existing", incremental.get(-1));
+        assertEquals("value4999", incremental.get(4_999));
+        assertEquals("jdk0", incremental.get(5_000));
+        assertEquals("jdk9999", incremental.get(14_999));
+    }
+
+    @Test
+    public void computeMethodsFollowTheMapContract() {
+        assertNull(hashMap.putIfAbsent(1, "one"));
+        assertEquals("one", hashMap.putIfAbsent(1, "uno"));
+        hashMap.put(2, null);
+        assertNull(hashMap.putIfAbsent(2, "two"));
+        assertEquals("two", hashMap.get(2));
+
+        assertEquals("one", hashMap.computeIfAbsent(1, key -> "never"));
+        assertEquals("3", hashMap.computeIfAbsent(3, String::valueOf));
+        assertNull(hashMap.computeIfAbsent(4, key -> null));
+        assertFalse(hashMap.containsKey(4));
+
+        assertEquals("one!", hashMap.computeIfPresent(1, (key, value) -> value + "!"));
+        assertNull(hashMap.computeIfPresent(4, (key, value) -> "never"));
+        assertNull(hashMap.computeIfPresent(3, (key, value) -> null));
+        assertFalse(hashMap.containsKey(3));
+
+        assertEquals("5null", hashMap.compute(5, (key, value) -> key + "" + value));
+        assertNull(hashMap.compute(5, (key, value) -> null));
+        assertNull(hashMap.compute(6, (key, value) -> null));
+        assertEquals(2, hashMap.size());
+
+        assertEquals("two", hashMap.merge(7, "two", String::concat));
+        assertEquals("twotwo", hashMap.merge(7, "two", String::concat));
+        assertNull(hashMap.merge(7, "x", (a, b) -> null));
+        assertThrows(NullPointerException.class, () -> hashMap.merge(7, null, String::concat));
+        assertEquals(2, hashMap.size());
+
+        assertThrows(ConcurrentModificationException.class,
+                () -> hashMap.computeIfAbsent(8, key -> hashMap.put(9, "nine")));
+    }
+
+    @Test
+    public void computeMethodsWorkInTreeBucketsAndDuringResize() {
+        HashMap<ComparableKey, Integer> colliding = new HashMap<>();
+        HashMap<Integer, Integer> counters = new HashMap<>(16, 0.75f, true);
+
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 100; i++) {
+                colliding.merge(new ComparableKey(i), 1, Integer::sum);
+                counters.merge(i % 50, 1, Integer::sum);
+                counters.computeIfAbsent(1_000 + i, key -> counters.getOrDefault(key - 1_000, 0));
+            }
+        }
+
+        assertEquals(100, colliding.size());
+        assertEquals(150, counters.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(3, colliding.get(new ComparableKey(i)));
+            assertEquals(i < 50 ? 1 : 0, counters.get(1_000 + i));
+        }
+        for (int i = 0; i < 50; i++) {
+            assertEquals(6, counters.get(i));
+        }
+
+        for (int i = 0; i < 95; i++) {
+            colliding.computeIfPresent(new ComparableKey(i), (key, value) -> null);
+        }
+        assertEquals(5, colliding.size());
+        assertEquals(3, colliding.get(new ComparableKey(99)));
+    }
+
+    @Test
+    public void cachedHashesSpareHashCodeAndEquals() {
+        for (boolean incremental : new boolean[] {false, true}) {
+            int[] calls = new int[2];
+            HashMap<CountingKey, Integer> counted = new HashMap<>(16, 0.75f, incremental);
+            for (int i = 0; i < 10_000; i++) {
+                counted.put(new CountingKey(i, calls), i);
+            }
+
+            assertEquals(10_000, calls[0]);
+            assertEquals(0, calls[1]);
+
+            assertEquals(1234, counted.get(new CountingKey(1234, calls)));
+            assertEquals(1, calls[1]);
+            for (int i = 0; i < 10_000; i++) {
+                assertEquals(i, counted.remove(new CountingKey(i, calls)));
+            }
+            assertTrue(counted.isEmpty());
+        }
+    }
+
+    /**
+     * A key counting the calls of its hashCode and equals methods.
+     */
+    private static final class CountingKey {
+        private final int id;
+        private final int[] calls;
+
+        CountingKey(int id, int[] calls) {
+            this.id = id;
+            this.calls = calls;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            calls[1]++;
+            return o instanceof CountingKey other && other.id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            calls[0]++;
+            return id;
+        }
+    }
+
+    /**
+     * A colliding comparable key counting the calls of its compareTo method.
+     */
+    private static final class RankedKey implements Comparable<RankedKey> {
+        private final int id;
+        private final int[] comparisons;
+
+        RankedKey(int id, int[] comparisons) {
+            this.id = id;
+            this.comparisons = comparisons;
+        }
+
+        int id() {
+            return id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof RankedKey other && other.id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+
+        @Override
+        public int compareTo(RankedKey o) {
+            comparisons[0]++;
+            return Integer.compare(id, o.id);
+        }
+    }
+
+    /**
+     * A key which is not comparable, so a tree bucket has to search both subtrees for it.
+     * All the keys of this class and of {@link ComparableKey} share the hash code 42.
+     */
+    private static class NonComparableKey {
+        private final int id;
+
+        NonComparableKey(int id) {
+            this.id = id;
+        }
+
+        int id() {
+            return id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o != null && o.getClass() == getClass() && ((NonComparableKey) o).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+    }
+
+    /**
+     * A colliding key ordered by its id, so a tree bucket finds it by comparison.
+     */
+    private static final class ComparableKey extends NonComparableKey
+            implements Comparable<ComparableKey> {
+
+        ComparableKey(int id) {
+            super(id);
+        }
+
+        @Override
+        public int compareTo(ComparableKey o) {
+            return Integer.compare(id(), o.id());
+        }
+    }
 }
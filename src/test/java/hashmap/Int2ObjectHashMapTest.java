@@ -0,0 +1,100 @@
+package hashmap;
+
+import org.arraylistandhashmap.hashmap.Int2ObjectHashMap;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+public class Int2ObjectHashMapTest {
+
+    private Int2ObjectHashMap<String> hashMap;
+
+    @BeforeEach
+    public void setUp() {
+        hashMap = new Int2ObjectHashMap<>();
+    }
+
+    @Test
+    public void testEmptyHashMap() {
+        assertTrue(hashMap.isEmpty());
+        assertEquals(0, hashMap.size());
+        assertNull(hashMap.get(1));
+        assertNull(hashMap.get(0));
+    }
+
+    @Test
+    public void testPutAndGet() {
+        assertNull(hashMap.put(1, "one"));
+        hashMap.put(-2, "minus two");
+        hashMap.put(Integer.MIN_VALUE, "min");
+
+        assertEquals(3, hashMap.size());
+        assertEquals("one", hashMap.get(1));
+        assertEquals("minus two", hashMap.get(-2));
+        assertEquals("min", hashMap.get(Integer.MIN_VALUE));
+        assertEquals("one", hashMap.put(1, "uno"));
+        assertEquals(3, hashMap.size());
+    }
+
+    @Test
+    public void testZeroKey() {
+        assertFalse(hashMap.containsKey(0));
+        assertNull(hashMap.put(0, "zero"));
+
+        assertTrue(hashMap.containsKey(0));
+        assertEquals("zero", hashMap.get(0));
+        assertEquals(1, hashMap.size());
+        assertTrue(hashMap.containsValue("zero"));
+
+        assertEquals("zero", hashMap.remove(0));
+        assertFalse(hashMap.containsKey(0));
+        assertTrue(hashMap.isEmpty());
+    }
+
+    @Test
+    public void testGetOrDefault() {
+        hashMap.put(1, null);
+
+        assertNull(hashMap.getOrDefault(1, "default"));
+        assertEquals("default", hashMap.getOrDefault(2, "default"));
+        assertEquals("default", hashMap.getOrDefault(0, "default"));
+    }
+
+    @Test
+    public void testRemoveKeepsCollidingKeysReachable() {
+        for (int i = 1; i <= 1000; i++) {
+            hashMap.put(i * 1024, String.valueOf(i));
+        }
+
+        for (int i = 1; i <= 1000; i += 3) {
+            assertEquals(String.valueOf(i), hashMap.remove(i * 1024));
+        }
+
+        for (int i = 1; i <= 1000; i++) {
+            assertEquals((i - 1) % 3 == 0 ? null : String.valueOf(i), hashMap.get(i * 1024));
+        }
+    }
+
+    @Test
+    public void testClearAndKeys() {
+        hashMap.put(0, "zero");
+        hashMap.put(5, "five");
+        hashMap.put(7, "seven");
+
+        int[] keys = hashMap.keys();
+        Arrays.sort(keys);
+        assertArrayEquals(new int[] {0, 5, 7}, keys);
+
+        hashMap.clear();
+
+        assertTrue(hashMap.isEmpty());
+        assertNull(hashMap.get(5));
+        assertFalse(hashMap.containsKey(0));
+    }
+}
@@ -0,0 +1,88 @@
+package hashmap;
+
+import org.arraylistandhashmap.hashmap.Long2LongHashMap;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+public class Long2LongHashMapTest {
+
+    private static final long MISSING = -1L;
+
+    private Long2LongHashMap hashMap;
+
+    @BeforeEach
+    public void setUp() {
+        hashMap = new Long2LongHashMap(16, 0.75f, MISSING);
+    }
+
+    @Test
+    public void testEmptyHashMap() {
+        assertTrue(hashMap.isEmpty());
+        assertEquals(MISSING, hashMap.missingValue());
+        assertEquals(MISSING, hashMap.get(1L));
+        assertEquals(MISSING, hashMap.get(0L));
+    }
+
+    @Test
+    public void testPutAndGet() {
+        assertEquals(MISSING, hashMap.put(1L, 10L));
+        hashMap.put(Long.MAX_VALUE, 20L);
+        hashMap.put(-3L, 30L);
+
+        assertEquals(3, hashMap.size());
+        assertEquals(10L, hashMap.get(1L));
+        assertEquals(20L, hashMap.get(Long.MAX_VALUE));
+        assertEquals(30L, hashMap.get(-3L));
+        assertEquals(10L, hashMap.put(1L, 11L));
+        assertEquals(11L, hashMap.get(1L));
+    }
+
+    @Test
+    public void testZeroKey() {
+        assertEquals(MISSING, hashMap.put(0L, 5L));
+        assertTrue(hashMap.containsKey(0L));
+        assertEquals(5L, hashMap.get(0L));
+        assertTrue(hashMap.containsValue(5L));
+
+        assertEquals(5L, hashMap.remove(0L));
+        assertEquals(MISSING, hashMap.remove(0L));
+        assertFalse(hashMap.containsKey(0L));
+    }
+
+    @Test
+    public void testRemoveAndResize() {
+        for (long i = 1; i <= 10000; i++) {
+            hashMap.put(i << 32, i);
+        }
+
+        for (long i = 1; i <= 10000; i += 2) {
+            assertEquals(i, hashMap.remove(i << 32));
+        }
+
+        assertEquals(5000, hashMap.size());
+        for (long i = 1; i <= 10000; i++) {
+            assertEquals(i % 2 == 1 ? MISSING : i, hashMap.get(i << 32));
+        }
+        assertEquals(7L, hashMap.getOrDefault(1L << 32, 7L));
+    }
+
+    @Test
+    public void testClearAndKeys() {
+        hashMap.put(0L, 1L);
+        hashMap.put(9L, 2L);
+
+        long[] keys = hashMap.keys();
+        Arrays.sort(keys);
+        assertArrayEquals(new long[] {0L, 9L}, keys);
+
+        hashMap.clear();
+        assertTrue(hashMap.isEmpty());
+        assertEquals(MISSING, hashMap.get(9L));
+    }
+}
@@ -0,0 +1,139 @@
+package hashmap;
+
+import org.arraylistandhashmap.hashmap.OffHeapHashMap;
+import org.arraylistandhashmap.hashmap.Serializer;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+public class OffHeapHashMapTest {
+
+    private OffHeapHashMap<String, String> hashMap;
+
+    @BeforeEach
+    public void setUp() {
+        hashMap = new OffHeapHashMap<>(Serializer.ofString(), Serializer.ofString(), 16, 256);
+    }
+
+    @Test
+    public void testEmptyHashMap() {
+        assertTrue(hashMap.isEmpty());
+        assertEquals(0, hashMap.size());
+        assertNull(hashMap.get("one"));
+        assertEquals(0L, hashMap.offHeapCapacity());
+    }
+
+    @Test
+    public void testPutAndGet() {
+        assertNull(hashMap.put("one", "1"));
+        hashMap.put("two", "2");
+        hashMap.put("über", "ünïcödé 😀");
+
+        assertEquals(3, hashMap.size());
+        assertEquals("1", hashMap.get("one"));
+        assertEquals("2", hashMap.get("two"));
+        assertEquals("ünïcödé 😀", hashMap.get("über"));
+        assertTrue(hashMap.containsKey("two"));
+        assertFalse(hashMap.containsKey("three"));
+        assertTrue(hashMap.containsValue("2"));
+        assertFalse(hashMap.containsValue("3"));
+    }
+
+    @Test
+    public void testReplaceAndRemove() {
+        hashMap.put("key", "old");
+        assertEquals("old", hashMap.put("key", "new"));
+        assertEquals(1, hashMap.size());
+        assertEquals("new", hashMap.get("key"));
+
+        assertEquals("new", hashMap.remove("key"));
+        assertNull(hashMap.remove("key"));
+        assertTrue(hashMap.isEmpty());
+    }
+
+    @Test
+    public void testNullKeysAndValuesAreRejected() {
+        assertThrows(NullPointerException.class, () -> hashMap.put(null, "value"));
+        assertThrows(NullPointerException.class, () -> hashMap.put("key", null));
+        assertNull(hashMap.get(null));
+    }
+
+    @Test
+    public void testManyMappingsAcrossSlabs() {
+        OffHeapHashMap<Integer, Long> map = new OffHeapHashMap<>(Serializer.ofInteger(), Serializer.ofLong(), 0, 64);
+        for (int i = 0; i < 10_000; i++) {
+            map.put(i, (long) i * i);
+        }
+        for (int i = 0; i < 10_000; i += 2) {
+            map.remove(i);
+        }
+
+        assertEquals(5_000, map.size());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i % 2 == 0 ? null : (Long) ((long) i * i), map.get(i));
+        }
+    }
+
+    @Test
+    public void testRecordBiggerThanSlab() {
+        String big = "x".repeat(1_000);
+        hashMap.put("big", big);
+        hashMap.put("small", "s");
+
+        assertEquals(big, hashMap.get("big"));
+        assertEquals("s", hashMap.get("small"));
+    }
+
+    @Test
+    public void testCompactReclaimsGarbage() {
+        for (int i = 0; i < 1_000; i++) {
+            hashMap.put("key", "value" + i);
+        }
+        hashMap.put("other", "value");
+        hashMap.compact();
+
+        assertEquals(256L, hashMap.offHeapCapacity());
+        assertEquals("value999", hashMap.get("key"));
+        assertEquals("value", hashMap.get("other"));
+    }
+
+    @Test
+    public void testClearAndKeySet() {
+        hashMap.put("a", "1");
+        hashMap.put("b", "2");
+        assertEquals(Set.of("a", "b"), hashMap.keySet());
+
+        hashMap.clear();
+        assertTrue(hashMap.isEmpty());
+        assertNull(hashMap.get("a"));
+        assertEquals(0L, hashMap.offHeapCapacity());
+    }
+
+    @Test
+    public void testByteArrayKeysAreComparedByContent() {
+        OffHeapHashMap<byte[], String> bytes = new OffHeapHashMap<>(Serializer.ofByteArray(), Serializer.ofString());
+        for (int i = 0; i < 1000; i++) {
+            bytes.put(new byte[] {(byte) i, (byte) (i >> 8)}, "value" + i);
+        }
+
+        assertEquals("value1", bytes.put(new byte[] {1, 0}, "one"));
+        assertEquals(1000, bytes.size());
+        assertEquals("one", bytes.get(new byte[] {1, 0}));
+        assertTrue(bytes.containsKey(new byte[] {(byte) 999, (byte) (999 >> 8)}));
+        assertFalse(bytes.containsKey(new byte[] {1, 2, 3}));
+
+        for (int i = 0; i < 1000; i += 2) {
+            assertEquals("value" + i, bytes.remove(new byte[] {(byte) i, (byte) (i >> 8)}));
+        }
+        assertEquals(500, bytes.size());
+        assertNull(bytes.get(new byte[] {2, 0}));
+        assertEquals("value3", bytes.get(new byte[] {3, 0}));
+    }
+
+}
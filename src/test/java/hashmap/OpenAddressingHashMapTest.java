@@ -0,0 +1,141 @@
+package hashmap;
+
+import org.arraylistandhashmap.hashmap.OpenAddressingHashMap;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+public class OpenAddressingHashMapTest {
+
+    private OpenAddressingHashMap<Integer, String> hashMap;
+
+    @BeforeEach
+    public void setUp() {
+        hashMap = new OpenAddressingHashMap<>();
+    }
+
+    @Test
+    public void testEmptyHashMap() {
+        assertTrue(hashMap.isEmpty());
+        assertEquals(0, hashMap.size());
+        assertNull(hashMap.get(1));
+    }
+
+    @Test
+    public void testIllegalArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new OpenAddressingHashMap<>(-1));
+        assertThrows(IllegalArgumentException.class, () -> new OpenAddressingHashMap<>(16, 1.0f));
+        assertThrows(IllegalArgumentException.class, () -> new OpenAddressingHashMap<>(16, Float.NaN));
+    }
+
+    @Test
+    public void testPutAndGet() {
+        assertNull(hashMap.put(1, "one"));
+        hashMap.put(2, "two");
+        hashMap.put(3, "three");
+
+        assertEquals(3, hashMap.size());
+        assertEquals("one", hashMap.get(1));
+        assertEquals("two", hashMap.get(2));
+        assertEquals("three", hashMap.get(3));
+        assertNull(hashMap.get(4));
+
+        assertEquals("one", hashMap.put(1, "uno"));
+        assertEquals("uno", hashMap.get(1));
+        assertEquals(3, hashMap.size());
+    }
+
+    @Test
+    public void testNullKeyAndNegativeHashes() {
+        hashMap.put(null, "null");
+        hashMap.put(-7, "minus seven");
+
+        assertEquals("null", hashMap.get(null));
+        assertEquals("minus seven", hashMap.get(-7));
+        assertTrue(hashMap.containsKey(null));
+        assertTrue(hashMap.keySet().contains(null));
+
+        assertEquals("null", hashMap.remove(null));
+        assertFalse(hashMap.containsKey(null));
+    }
+
+    @Test
+    public void testGetOrDefault() {
+        hashMap.put(1, "one");
+        hashMap.put(2, null);
+
+        assertEquals("default", hashMap.getOrDefault(3, "default"));
+        assertNull(hashMap.getOrDefault(2, "default"));
+    }
+
+    @Test
+    public void testContainsKeyAndValue() {
+        hashMap.put(1, "one");
+
+        assertTrue(hashMap.containsKey(1));
+        assertFalse(hashMap.containsKey(2));
+        assertTrue(hashMap.containsValue("one"));
+        assertFalse(hashMap.containsValue("two"));
+    }
+
+    @Test
+    public void testRemoveShiftsCollidingKeysBack() {
+        // all the keys share the same home slot in a table of 32 slots
+        for (int i = 0; i < 8; i++) {
+            hashMap.put(i << 16 ^ i, String.valueOf(i));
+        }
+
+        assertEquals("3", hashMap.remove(3 << 16 ^ 3));
+        assertNull(hashMap.remove(3 << 16 ^ 3));
+        assertEquals(7, hashMap.size());
+
+        for (int i = 0; i < 8; i++) {
+            if (i != 3) {
+                assertEquals(String.valueOf(i), hashMap.get(i << 16 ^ i));
+            }
+        }
+    }
+
+    @Test
+    public void testClear() {
+        hashMap.put(1, "one");
+        hashMap.put(2, "two");
+
+        hashMap.clear();
+
+        assertTrue(hashMap.isEmpty());
+        assertNull(hashMap.get(1));
+    }
+
+    @Test
+    public void testKeySet() {
+        hashMap.put(1, "one");
+        hashMap.put(2, "two");
+        hashMap.put(3, "three");
+
+        assertEquals(Set.of(1, 2, 3), hashMap.keySet());
+    }
+
+    @Test
+    public void resize() {
+        for (int i = 0; i < 10000; i++) {
+            hashMap.put(i * 31, String.valueOf(i));
+        }
+
+        for (int i = 0; i < 10000; i += 2) {
+            hashMap.remove(i * 31);
+        }
+
+        assertEquals(5000, hashMap.size());
+
+        for (int i = 0; i < 10000; i++) {
+            assertEquals(i % 2 == 0 ? null : String.valueOf(i), hashMap.get(i * 31));
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package hashmap;
+
+import org.arraylistandhashmap.hashmap.SwissHashMap;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+public class SwissHashMapTest {
+
+    private SwissHashMap<Integer, String> hashMap;
+
+    @BeforeEach
+    public void setUp() {
+        hashMap = new SwissHashMap<>();
+    }
+
+    @Test
+    public void testEmptyHashMap() {
+        assertTrue(hashMap.isEmpty());
+        assertEquals(0, hashMap.size());
+        assertNull(hashMap.get(1));
+        assertThrows(IllegalArgumentException.class, () -> new SwissHashMap<>(-1));
+    }
+
+    @Test
+    public void testPutAndGet() {
+        assertNull(hashMap.put(1, "one"));
+        hashMap.put(2, "two");
+        hashMap.put(3, "three");
+
+        assertEquals(3, hashMap.size());
+        assertEquals("one", hashMap.get(1));
+        assertEquals("two", hashMap.get(2));
+        assertEquals("three", hashMap.get(3));
+        assertNull(hashMap.get(4));
+
+        assertEquals("one", hashMap.put(1, "uno"));
+        assertEquals("uno", hashMap.get(1));
+        assertEquals(3, hashMap.size());
+    }
+
+    @Test
+    public void testNullKeyAndValue() {
+        hashMap.put(null, "null");
+        hashMap.put(-7, null);
+
+        assertEquals("null", hashMap.get(null));
+        assertNull(hashMap.getOrDefault(-7, "default"));
+        assertEquals("default", hashMap.getOrDefault(7, "default"));
+        assertTrue(hashMap.containsKey(null));
+        assertTrue(hashMap.keySet().contains(null));
+
+        assertEquals("null", hashMap.remove(null));
+        assertFalse(hashMap.containsKey(null));
+        assertTrue(hashMap.containsKey(-7));
+    }
+
+    @Test
+    public void testContainsKeyAndValue() {
+        hashMap.put(1, "one");
+
+        assertTrue(hashMap.containsKey(1));
+        assertFalse(hashMap.containsKey(2));
+        assertTrue(hashMap.containsValue("one"));
+        assertFalse(hashMap.containsValue("two"));
+    }
+
+    @Test
+    public void testCollidingKeysSurviveRemovals() {
+        SwissHashMap<CollidingKey, Integer> colliding = new SwissHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            colliding.put(new CollidingKey(i), i);
+        }
+        for (int i = 0; i < 100; i += 3) {
+            assertEquals(i, colliding.remove(new CollidingKey(i)));
+        }
+
+        assertEquals(66, colliding.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i % 3 == 0 ? null : (Integer) i, colliding.get(new CollidingKey(i)));
+        }
+    }
+
+    @Test
+    public void testChurnReusesTheTombstones() {
+        for (int round = 0; round < 100; round++) {
+            for (int i = 0; i < 10; i++) {
+                hashMap.put(round * 10 + i, "value");
+            }
+            for (int i = 0; i < 10; i++) {
+                hashMap.remove(round * 10 + i);
+            }
+        }
+
+        assertTrue(hashMap.isEmpty());
+        hashMap.put(1, "one");
+        assertEquals("one", hashMap.get(1));
+    }
+
+    @Test
+    public void testClear() {
+        hashMap.put(1, "one");
+        hashMap.put(2, "two");
+
+        hashMap.clear();
+
+        assertTrue(hashMap.isEmpty());
+        assertNull(hashMap.get(1));
+    }
+
+    @Test
+    public void testKeySet() {
+        hashMap.put(1, "one");
+        hashMap.put(2, "two");
+        hashMap.put(3, "three");
+
+        assertEquals(Set.of(1, 2, 3), hashMap.keySet());
+    }
+
+    @Test
+    public void resize() {
+        for (int i = 0; i < 10000; i++) {
+            hashMap.put(i * 31, String.valueOf(i));
+        }
+
+        for (int i = 0; i < 10000; i += 2) {
+            hashMap.remove(i * 31);
+        }
+
+        assertEquals(5000, hashMap.size());
+
+        for (int i = 0; i < 10000; i++) {
+            assertEquals(i % 2 == 0 ? null : String.valueOf(i), hashMap.get(i * 31));
+        }
+    }
+}